@@ -0,0 +1,56 @@
+package com.eckertpreisser.apigateway.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * CORS Configuration for API Gateway
+ *
+ * Allows cross-origin requests from:
+ * - localhost:3000 (local development)
+ * - eckertpreisser.de (production)
+ * - becker.limited (custom domain)
+ */
+@Configuration
+public class CorsConfig {
+
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration corsConfig = new CorsConfiguration();
+
+        // Allowed origins
+        corsConfig.setAllowedOrigins(Arrays.asList(
+                "http://localhost:3000",
+                "http://localhost:8090",
+                "https://eckertpreisser.de",
+                "https://www.eckertpreisser.de",
+                "https://becker.limited"
+        ));
+
+        // Allowed methods
+        corsConfig.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
+
+        // Allowed headers
+        corsConfig.setAllowedHeaders(List.of("*"));
+
+        // Exposed headers (config editor reads the version for If-Match)
+        corsConfig.setExposedHeaders(List.of("ETag"));
+
+        // Allow credentials (cookies, auth headers)
+        corsConfig.setAllowCredentials(true);
+
+        // Max age
+        corsConfig.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfig);
+
+        return new CorsWebFilter(source);
+    }
+}
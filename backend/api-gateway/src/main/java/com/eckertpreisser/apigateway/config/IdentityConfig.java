@@ -0,0 +1,36 @@
+package com.eckertpreisser.apigateway.config;
+
+import com.eckertpreisser.common.security.IdentityHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * IdentityConfig - Signed identity header and service-to-service calls
+ *
+ * Properties:
+ * - eckert.security.identity.secret (required, at least 32 bytes, same
+ *   value as the downstream services; startup fails without it)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Configuration
+public class IdentityConfig {
+
+    @Bean
+    public IdentityHeader identityHeader(@Value("${eckert.security.identity.secret}") String secret) {
+        return new IdentityHeader(secret);
+    }
+
+    /**
+     * WebClient resolving service names through Eureka (e.g. http://auth-service)
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
@@ -0,0 +1,94 @@
+package com.eckertpreisser.apigateway.filter;
+
+import com.eckertpreisser.common.security.IdentityHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * ClientAddressFilter - Forwards the end user's IP as a signed header
+ *
+ * Downstream services (e.g. the login rate limiter in auth-service) must
+ * not read X-Forwarded-For themselves: they are also reachable directly,
+ * and the header is whatever the caller sends. The gateway resolves the
+ * address once and forwards it as X-Client-Address, signed like
+ * X-Auth-Identity; any incoming copy is replaced.
+ *
+ * Resolution: X-Forwarded-For is only used if the peer is a proxy of our
+ * own (loopback or private network address, e.g. the frontend nginx
+ * container). Then the entry appended by the outermost of
+ * gateway.client-ip.trusted-proxies proxies is taken (default 1 = the
+ * frontend nginx; entries before it are client supplied). Any other peer
+ * is the client itself.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class ClientAddressFilter implements GlobalFilter, Ordered {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final String UNKNOWN = "unknown";
+
+    private final IdentityHeader identityHeader;
+    private final int trustedProxies;
+    private final long ttlMillis;
+
+    public ClientAddressFilter(
+            IdentityHeader identityHeader,
+            @Value("${gateway.client-ip.trusted-proxies:1}") int trustedProxies,
+            @Value("${gateway.auth.identity-ttl:60s}") Duration ttl) {
+        this.identityHeader = identityHeader;
+        this.trustedProxies = trustedProxies;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String address = identityHeader.encodeClientAddress(
+                clientAddress(request), System.currentTimeMillis() + ttlMillis);
+
+        ServerHttpRequest forwarded = request.mutate()
+                .headers(headers -> headers.set(IdentityHeader.CLIENT_ADDRESS_HEADER, address))
+                .build();
+        return chain.filter(exchange.mutate().request(forwarded).build());
+    }
+
+    /**
+     * Before JwtAuthenticationFilter (which may answer without routing)
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 5;
+    }
+
+    // Private helpers
+
+    private String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        InetAddress peer = remote != null ? remote.getAddress() : null;
+        if (peer == null) {
+            return UNKNOWN;
+        }
+
+        String forwardedFor = request.getHeaders().getFirst(FORWARDED_FOR);
+        boolean fromOwnProxy = peer.isLoopbackAddress() || peer.isSiteLocalAddress();
+        if (!fromOwnProxy || forwardedFor == null || forwardedFor.isBlank() || trustedProxies < 1) {
+            return peer.getHostAddress();
+        }
+
+        String[] hops = forwardedFor.split(",");
+        String address = hops[Math.max(0, hops.length - trustedProxies)].trim();
+        return address.isEmpty() ? peer.getHostAddress() : address;
+    }
+}
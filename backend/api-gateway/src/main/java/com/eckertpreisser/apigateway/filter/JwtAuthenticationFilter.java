@@ -0,0 +1,196 @@
+package com.eckertpreisser.apigateway.filter;
+
+import com.eckertpreisser.common.security.IdentityHeader;
+import com.eckertpreisser.common.security.JwtTokenVerifier;
+import com.eckertpreisser.common.security.JwtUtils;
+import com.eckertpreisser.common.security.VerifiedToken;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * JwtAuthenticationFilter - Verifies JWTs once at the edge
+ *
+ * For every routed request:
+ * 1. Incoming identity headers are removed (clients cannot spoof them)
+ * 2. A Bearer token is verified with the shared, cached JwtTokenVerifier
+ *    (no parsing for tokens seen before) - invalid tokens get 401 before
+ *    routing
+ * 3. Valid tokens are forwarded as a signed X-Auth-Identity header, which
+ *    downstream services check instead of parsing the JWT again
+ *
+ * Tokens without a subject, or with a service subject ("service:..."),
+ * are rejected. So are tokens revoked by logout (RevocationPoller keeps
+ * auth-service's revocations in memory, up to one poll interval behind).
+ *
+ * Requests without token pass through unless the path is in
+ * gateway.auth.required-paths. Paths in gateway.auth.excluded-paths are
+ * not verified here (Config Editor tokens use the Config Server's own
+ * secret).
+ *
+ * Service-to-service endpoints (gateway.internal-paths, e.g. the login
+ * credentials lookup in user-service) are answered with 404 and never routed.
+ * This is defense in depth - those endpoints require a service credential
+ * themselves.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final Pattern MATRIX_PARAMETERS = Pattern.compile(";[^/]*");
+
+    // Legacy unsigned header - never trusted, always removed
+    private static final String LEGACY_USER_ID_HEADER = "X-User-Id";
+
+    private final JwtTokenVerifier verifier = JwtUtils.getVerifier();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final IdentityHeader identityHeader;
+    private final RevocationPoller revocations;
+    private final long identityTtlMillis;
+    private final List<String> requiredPaths;
+    private final List<String> excludedPaths;
+    private final List<String> internalPaths;
+
+    public JwtAuthenticationFilter(
+            IdentityHeader identityHeader,
+            RevocationPoller revocations,
+            @Value("${gateway.auth.identity-ttl:60s}") Duration identityTtl,
+            @Value("${gateway.auth.required-paths:/api/medicallix/conversations/**,/api/medicallix/patients/**}") List<String> requiredPaths,
+            @Value("${gateway.auth.excluded-paths:/api/config/**}") List<String> excludedPaths,
+            @Value("${gateway.internal-paths:/api/*/internal/**}") List<String> internalPaths) {
+        this.identityHeader = identityHeader;
+        this.revocations = revocations;
+        this.identityTtlMillis = identityTtl.toMillis();
+        this.requiredPaths = requiredPaths;
+        this.excludedPaths = excludedPaths;
+        this.internalPaths = internalPaths;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+
+        // Decoded and without matrix parameters, as downstream services map it
+        // (%69nternal == internal, internal;x == internal)
+        String mappedPath = MATRIX_PARAMETERS.matcher(StringUtils.uriDecode(path, StandardCharsets.UTF_8)).replaceAll("");
+        if (matches(internalPaths, mappedPath)) {
+            LoggerUtil.warn(logger, "GATEWAY_AUTH_003", "Internal path requested from outside", "path", path);
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return exchange.getResponse().setComplete();
+        }
+
+        if (matches(excludedPaths, path)) {
+            return chain.filter(exchange.mutate().request(stripIdentity(request)).build());
+        }
+
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            if (matches(requiredPaths, path)) {
+                LoggerUtil.debug(logger, "GATEWAY_AUTH_001", "Missing token", "path", path);
+                return reject(exchange);
+            }
+            return chain.filter(exchange.mutate().request(stripIdentity(request)).build());
+        }
+
+        String token = authHeader.substring(BEARER_PREFIX.length());
+        VerifiedToken verified;
+        try {
+            verified = verifier.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            LoggerUtil.debug(logger, "GATEWAY_AUTH_002", "Invalid token", "path", path);
+            return reject(exchange);
+        }
+
+        String subject = verified.getSubject();
+        if (subject == null || subject.isBlank() || subject.startsWith(IdentityHeader.SERVICE_PREFIX)) {
+            LoggerUtil.debug(logger, "GATEWAY_AUTH_004", "Token without user subject", "path", path);
+            return reject(exchange);
+        }
+
+        // Same revocation key as auth-service: jti, or the full token if it has none
+        if (revocations.isRevoked(verified.getId() != null ? verified.getId() : token)) {
+            LoggerUtil.debug(logger, "GATEWAY_AUTH_005", "Revoked token", "path", path);
+            return reject(exchange);
+        }
+
+        long now = System.currentTimeMillis();
+        Number userId = verified.getClaim(USER_ID_CLAIM, Number.class);
+        String identity = identityHeader.encode(
+                userId != null ? userId.longValue() : null,
+                subject,
+                Math.min(verified.getExpiresAtMillis(), now + identityTtlMillis));
+
+        ServerHttpRequest authenticated = request.mutate()
+                .headers(headers -> {
+                    headers.remove(LEGACY_USER_ID_HEADER);
+                    headers.set(IdentityHeader.HEADER, identity);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(authenticated).build());
+    }
+
+    /**
+     * Run before routing (and before the load balancer resolves instances)
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    // Private helpers
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ServerHttpRequest stripIdentity(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(IdentityHeader.HEADER) && !headers.containsKey(LEGACY_USER_ID_HEADER)) {
+            return request;
+        }
+        return request.mutate()
+                .headers(mutable -> {
+                    mutable.remove(IdentityHeader.HEADER);
+                    mutable.remove(LEGACY_USER_ID_HEADER);
+                })
+                .build();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,146 @@
+package com.eckertpreisser.apigateway.filter;
+
+import com.eckertpreisser.common.security.IdentityHeader;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RevocationPoller - Local copy of auth-service's revoked token IDs
+ *
+ * Polls GET /api/auth/internal/revocations every
+ * gateway.auth.revocation.poll-interval (default 2s) with a signed service
+ * credential and keeps jti -> expiry in memory, so JwtAuthenticationFilter
+ * can reject logged-out tokens without a call per request. Entries are
+ * dropped once the token has expired anyway.
+ *
+ * A logout takes effect at the gateway within one poll interval. If
+ * auth-service is unreachable, the revocations known so far stay in force
+ * and the failure is logged (GATEWAY_WARN_001).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class RevocationPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationPoller.class);
+
+    private static final String SERVICE_NAME = "api-gateway";
+
+    private final WebClient webClient;
+    private final IdentityHeader identityHeader;
+    private final String url;
+    private final Duration interval;
+
+    // Token ID (jti) -> token expiry
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Position in auth-service's feed (changes of epoch = auth-service restarted)
+    private volatile String epoch;
+    private volatile long sequence;
+    private Disposable polling;
+
+    public RevocationPoller(
+            WebClient.Builder loadBalancedWebClientBuilder,
+            IdentityHeader identityHeader,
+            @Value("${gateway.auth.revocation.url:http://auth-service/api/auth/internal/revocations}") String url,
+            @Value("${gateway.auth.revocation.poll-interval:2s}") Duration interval) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.identityHeader = identityHeader;
+        this.url = url;
+        this.interval = interval;
+    }
+
+    @PostConstruct
+    void start() {
+        polling = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Whether auth-service reported the token as revoked
+     *
+     * @param tokenId Token ID (jti, or the full token if it has none)
+     */
+    public boolean isRevoked(String tokenId) {
+        Long expiresAtMillis = revoked.get(tokenId);
+        return expiresAtMillis != null && expiresAtMillis > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Private helpers
+
+    private Mono<Void> poll() {
+        URI uri = UriComponentsBuilder.fromUriString(url)
+                .queryParam("since", sequence)
+                .queryParamIfPresent("epoch", Optional.ofNullable(epoch))
+                .build()
+                .toUri();
+
+        return webClient.get()
+                .uri(uri)
+                .header(IdentityHeader.HEADER, identityHeader.encodeService(SERVICE_NAME,
+                        System.currentTimeMillis() + interval.toMillis() + 30_000))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(interval.plusSeconds(5))
+                .doOnNext(this::apply)
+                .onErrorResume(e -> {
+                    LoggerUtil.warn(logger, "GATEWAY_WARN_001", "Revocation poll failed - using known revocations",
+                            "error", String.valueOf(e.getMessage()), "known", revoked.size());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void apply(JsonNode response) {
+        JsonNode page = response.path("data");
+        long now = System.currentTimeMillis();
+
+        // Merged even for snapshots: a restarted auth-service without journal
+        // must not make tokens valid again that the gateway already knows
+        for (JsonNode entry : page.path("entries")) {
+            long expiresAtMillis = entry.path("expiresAtMillis").asLong();
+            if (expiresAtMillis > now) {
+                revoked.put(entry.path("tokenId").asText(), expiresAtMillis);
+            }
+        }
+        revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+
+        if (page.path("snapshot").asBoolean()) {
+            LoggerUtil.info(logger, "GATEWAY_AUTH_006", "Revocation snapshot loaded",
+                    "entries", page.path("entries").size(), "known", revoked.size());
+        }
+        epoch = page.path("epoch").asText(null);
+        sequence = page.path("sequence").asLong();
+    }
+}
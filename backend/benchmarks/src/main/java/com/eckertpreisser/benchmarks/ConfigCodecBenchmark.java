@@ -0,0 +1,275 @@
+package com.eckertpreisser.benchmarks;
+
+import com.eckertpreisser.configserver.repository.PropertiesCodec;
+import com.eckertpreisser.configserver.repository.YamlFlattener;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * ConfigCodecBenchmark - Compare config file codecs against the legacy implementation
+ *
+ * Usage: Run this main method (optional argument: config root directory,
+ * default "config" relative to the working directory), e.g.
+ *   mvn -pl benchmarks -am compile exec:java -Dexec.mainClass=com.eckertpreisser.benchmarks.ConfigCodecBenchmark -Dexec.args=../config-server/config
+ *
+ * Benchmarks YAML flatten/unflatten of all files in config/app and
+ * config/features (or a generated sample if none exist) and .properties
+ * parsing/writing of all files in config/i18n/{language}, and checks that
+ * each file round-trips losslessly.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class ConfigCodecBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int MEASURE_ROUNDS = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        Path configDir = Paths.get(args.length > 0 ? args[0] : "config");
+
+        List<String> yamlFiles = readFiles(configDir.resolve("app"), configDir.resolve("features"));
+        if (yamlFiles.isEmpty()) {
+            yamlFiles.add(generateYaml(20, 25));
+        }
+
+        List<String> propertiesFiles = new ArrayList<>();
+        Path i18nDir = configDir.resolve("i18n");
+        if (Files.isDirectory(i18nDir)) {
+            try (Stream<Path> languages = Files.list(i18nDir)) {
+                for (Path language : languages.filter(Files::isDirectory).toList()) {
+                    propertiesFiles.addAll(readFiles(language));
+                }
+            }
+        }
+
+        System.out.println("=====================================");
+        System.out.println("Config Codec Benchmark");
+        System.out.println("=====================================");
+        System.out.println("YAML files:       " + yamlFiles.size());
+        System.out.println("Properties files: " + propertiesFiles.size());
+        System.out.println();
+
+        benchmarkYaml(yamlFiles);
+        if (!propertiesFiles.isEmpty()) {
+            System.out.println();
+            benchmarkProperties(propertiesFiles);
+        }
+    }
+
+    // ========================================
+    // YAML
+    // ========================================
+
+    private static void benchmarkYaml(List<String> files) throws IOException {
+        Yaml yaml = new Yaml();
+        YamlFlattener flattener = new YamlFlattener();
+
+        // Correctness: new codec must round-trip every file
+        int lossless = 0;
+        for (String content : files) {
+            YamlFlattener.Document document = flattener.parse(content);
+            StringWriter writer = new StringWriter();
+            flattener.write(writer, document.getValues(), document);
+            if (flattener.parse(writer.toString()).getValues().equals(document.getValues())) {
+                lossless++;
+            }
+        }
+        System.out.println("YAML round-trip lossless: " + lossless + "/" + files.size());
+
+        run("YAML load  (legacy)", files, content -> legacyFlatten(yaml.load(content)));
+        run("YAML load  (events)", files, content -> flattener.parse(content).getValues());
+        run("YAML save  (legacy)", files, content -> yaml.dump(legacyUnflatten(legacyFlatten(yaml.load(content)))));
+        run("YAML save  (events)", files, content -> {
+            YamlFlattener.Document document = flattener.parse(content);
+            StringWriter writer = new StringWriter(content.length());
+            try {
+                flattener.write(writer, document.getValues(), document);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return writer.toString();
+        });
+    }
+
+    // ========================================
+    // Properties
+    // ========================================
+
+    private static void benchmarkProperties(List<String> files) throws IOException {
+        PropertiesCodec codec = new PropertiesCodec();
+
+        // Correctness: same values as java.util.Properties, and stable round-trip
+        int compatible = 0;
+        int lossless = 0;
+        for (String content : files) {
+            PropertiesCodec.Document document = codec.parse(new StringReader(content));
+            if (document.getValues().equals(legacyLoadProperties(content))) {
+                compatible++;
+            }
+            StringWriter writer = new StringWriter();
+            codec.write(writer, document.getValues(), document, List.of());
+            if (codec.parse(new StringReader(writer.toString())).getValues().equals(document.getValues())) {
+                lossless++;
+            }
+        }
+        System.out.println("Properties compatible with java.util.Properties: " + compatible + "/" + files.size());
+        System.out.println("Properties round-trip lossless: " + lossless + "/" + files.size());
+
+        run("Properties load (legacy)", files, ConfigCodecBenchmark::legacyLoadProperties);
+        run("Properties load (codec)", files, content -> {
+            try {
+                return codec.parse(new StringReader(content)).getValues();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        run("Properties save (legacy)", files, content -> legacySaveProperties(legacyLoadProperties(content)));
+        run("Properties save (codec)", files, content -> {
+            try {
+                PropertiesCodec.Document document = codec.parse(new StringReader(content));
+                StringWriter writer = new StringWriter(content.length());
+                codec.write(writer, document.getValues(), document, List.of());
+                return writer.toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ========================================
+    // Helpers
+    // ========================================
+
+    private interface Codec {
+        Object apply(String content);
+    }
+
+    private static void run(String name, List<String> files, Codec codec) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink = codec.apply(files.get(i % files.size()));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            sink = codec.apply(files.get(i % files.size()));
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("%-26s %10.1f us/op  (%d)%n", name, nanos / 1000.0 / MEASURE_ROUNDS,
+                sink != null ? sink.hashCode() & 0xff : 0);
+    }
+
+    private static List<String> readFiles(Path... dirs) throws IOException {
+        List<String> files = new ArrayList<>();
+        for (Path dir : dirs) {
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> paths = Files.list(dir)) {
+                for (Path path : paths.filter(Files::isRegularFile).toList()) {
+                    files.add(Files.readString(path, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String generateYaml(int sections, int keysPerSection) {
+        StringBuilder yaml = new StringBuilder();
+        for (int s = 0; s < sections; s++) {
+            yaml.append("# Section ").append(s).append('\n');
+            yaml.append("section").append(s).append(":\n");
+            yaml.append("  nested:\n");
+            for (int k = 0; k < keysPerSection; k++) {
+                yaml.append("    key").append(k).append(": value ").append(k).append('\n');
+            }
+            yaml.append("  port: ").append(8000 + s).append('\n');
+            yaml.append("  hosts: [a, b, c]\n");
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Previous ConfigRepository implementation (baseline)
+     */
+    private static Map<String, String> legacyLoadProperties(String content) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(content));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, String> result = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            result.put(key, properties.getProperty(key));
+        }
+        return result;
+    }
+
+    private static String legacySaveProperties(Map<String, String> values) {
+        Properties properties = new Properties();
+        properties.putAll(values);
+
+        StringWriter writer = new StringWriter();
+        properties.stringPropertyNames().stream()
+                .sorted()
+                .forEach(key -> writer.write(key + "=" + properties.getProperty(key) + "\n"));
+        return writer.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> legacyFlatten(Object data) {
+        Map<String, String> result = new HashMap<>();
+        legacyFlattenRecursive("", (Map<String, Object>) data, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void legacyFlattenRecursive(String prefix, Map<String, Object> map, Map<String, String> result) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
+            Object value = entry.getValue();
+
+            if (value instanceof Map) {
+                legacyFlattenRecursive(key, (Map<String, Object>) value, result);
+            } else {
+                result.put(key, value != null ? value.toString() : "");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> legacyUnflatten(Map<String, String> flatMap) {
+        Map<String, Object> result = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : flatMap.entrySet()) {
+            String[] keys = entry.getKey().split("\\.");
+            Map<String, Object> current = result;
+
+            for (int i = 0; i < keys.length - 1; i++) {
+                current = (Map<String, Object>) current.computeIfAbsent(keys[i], k -> new HashMap<>());
+            }
+
+            current.put(keys[keys.length - 1], entry.getValue());
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.eckertpreisser.benchmarks;
+
+import com.eckertpreisser.common.security.JwtTokenVerifier;
+import com.eckertpreisser.common.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * JwtBenchmark - Token validation throughput before/after JwtTokenVerifier
+ *
+ * Usage: Run this main method (optional argument: number of threads), e.g.
+ *   mvn -pl benchmarks -am compile exec:java -Dexec.mainClass=com.eckertpreisser.benchmarks.JwtBenchmark -Dexec.args=4
+ *
+ * Legacy: key derived and parser built per call, token parsed three
+ * times per validation (username, username again, expiration) - the
+ * previous JwtUtils.extractUsername() + isTokenValid() sequence.
+ * Verifier: cached key/parser, one verify() per validation.
+ * Cached verifier: same, but repeated tokens come from VerifiedTokenCache.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class JwtBenchmark {
+
+    private static final String SECRET = "Eckert-Preisser-Enterprise-Secret-Key-For-JWT-Token-Generation-2024";
+    private static final int TOKENS = 1_000;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+
+        JwtTokenVerifier verifier = new JwtTokenVerifier(SECRET);
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = verifier.generateToken("user" + i + "@example.com", Map.of("uid", i), 3_600_000);
+        }
+
+        System.out.println("=====================================");
+        System.out.println("JWT Validation Benchmark (" + threads + " thread(s))");
+        System.out.println("=====================================");
+
+        run("legacy (3 parses, no cache)", threads, tokens, JwtBenchmark::legacyValidate);
+        run("JwtTokenVerifier.verify", threads, tokens, token -> {
+            VerifiedToken verified = verifier.verify(token);
+            return verified.getSubject() != null && !verified.isExpired(System.currentTimeMillis());
+        });
+
+        JwtTokenVerifier cachedVerifier = new JwtTokenVerifier(SECRET, TOKENS);
+        run("JwtTokenVerifier.verify (cache)", threads, tokens, token -> {
+            VerifiedToken verified = cachedVerifier.verify(token);
+            return verified.getSubject() != null && !verified.isExpired(System.currentTimeMillis());
+        });
+    }
+
+    private interface Validation {
+        boolean validate(String token);
+    }
+
+    private static void run(String name, int threads, String[] tokens, Validation validation)
+            throws InterruptedException {
+        measure(threads, tokens, validation, WARMUP_MILLIS);
+        long operations = measure(threads, tokens, validation, MEASURE_MILLIS);
+
+        System.out.printf("%-30s %12.0f tokens/sec%n", name, operations * 1000.0 / MEASURE_MILLIS);
+    }
+
+    private static long measure(int threads, String[] tokens, Validation validation, long millis)
+            throws InterruptedException {
+        long[] counts = new long[threads];
+        long deadline = System.currentTimeMillis() + millis;
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            workers[t] = new Thread(() -> {
+                long count = 0;
+                int i = worker;
+                while (System.currentTimeMillis() < deadline) {
+                    if (!validation.validate(tokens[i++ % tokens.length])) {
+                        throw new IllegalStateException("Token rejected");
+                    }
+                    count++;
+                }
+                counts[worker] = count;
+            });
+            workers[t].start();
+        }
+
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            total += counts[t];
+        }
+        return total;
+    }
+
+    /**
+     * Previous JwtUtils implementation (baseline)
+     */
+    private static boolean legacyValidate(String token) {
+        String username = legacyClaims(token).getSubject();
+        String extractedUsername = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return extractedUsername.equals(username) && !expiration.before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
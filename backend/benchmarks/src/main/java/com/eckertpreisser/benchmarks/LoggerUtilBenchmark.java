@@ -0,0 +1,83 @@
+package com.eckertpreisser.benchmarks;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * LoggerUtilBenchmark - Cost of LoggerUtil calls for a disabled level
+ *
+ * Usage: Run this main method (no arguments), e.g.
+ *   mvn -pl benchmarks -am compile exec:java -Dexec.mainClass=com.eckertpreisser.benchmarks.LoggerUtilBenchmark
+ *
+ * Sets the benchmark logger to INFO and measures DEBUG calls the way hot
+ * paths make them (e.g. UserServiceClient.findByEmail on every login):
+ * time per call and bytes allocated per call by the calling thread.
+ * Key/value overloads must report 0 bytes/op; the Map.of(...) variant
+ * shows what the call site itself still allocates.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class LoggerUtilBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggerUtilBenchmark.class);
+
+    private static final int WARMUP_ROUNDS = 2_000_000;
+    private static final int MEASURE_ROUNDS = 10_000_000;
+
+    public static void main(String[] args) {
+        if (logger instanceof ch.qos.logback.classic.Logger logbackLogger) {
+            logbackLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        }
+        if (logger.isDebugEnabled()) {
+            System.out.println("DEBUG is enabled for " + logger.getName() + " - nothing to measure");
+            return;
+        }
+
+        String email = "max.mustermann@example.com";
+        Long userId = 4711L;
+
+        System.out.println("=====================================");
+        System.out.println("LoggerUtil Benchmark (DEBUG disabled)");
+        System.out.println("=====================================");
+
+        run("debug(code, msg)", i ->
+                LoggerUtil.debug(logger, "BENCH_001", "Finding user by email"));
+        run("debug(code, msg, k, v)", i ->
+                LoggerUtil.debug(logger, "BENCH_001", "Finding user by email", "email", email));
+        run("debug(code, msg, k, v, k, v)", i ->
+                LoggerUtil.debug(logger, "BENCH_001", "Finding user by email", "email", email, "userId", userId));
+        run("debug(code, msg, k, v x3)", i ->
+                LoggerUtil.debug(logger, "BENCH_001", "Finding user by email",
+                        "email", email, "userId", userId, "attempt", 1));
+        run("debug(code, msg, Map.of)", i ->
+                LoggerUtil.debug(logger, "BENCH_001", "Finding user by email",
+                        Map.of("email", email, "userId", userId)));
+    }
+
+    private interface Call {
+        void apply(int i);
+    }
+
+    private static void run(String name, Call call) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            call.apply(i);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            call.apply(i);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-30s %8.2f ns/op %10.2f bytes/op%n", name,
+                (double) nanos / MEASURE_ROUNDS, (double) allocated / MEASURE_ROUNDS);
+    }
+}
@@ -1,14 +1,24 @@
 package com.eckertpreisser.configserver.controller;
 
 import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.configserver.model.Config;
+import com.eckertpreisser.configserver.model.ConfigDelta;
 import com.eckertpreisser.configserver.model.ConfigType;
+import com.eckertpreisser.configserver.model.CustomDocument;
+import com.eckertpreisser.configserver.repository.YamlFlattener;
 import com.eckertpreisser.configserver.service.ConfigService;
+import com.eckertpreisser.configserver.service.CustomConfigService;
+import com.eckertpreisser.configserver.service.FeatureFlagService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +32,7 @@ import java.util.Map;
  * - POST   /api/config/i18n/{category}/{language}        - Get or register i18n config
  * - GET    /api/config/i18n/{category}/{language}        - Get i18n config (read-only)
  * - PUT    /api/config/i18n/{category}/{language}/{key}  - Update single key
+ * - PATCH  /api/config/i18n/{category}/{language}        - Update several keys at once
  * - DELETE /api/config/i18n/{category}/{language}/{key}  - Delete single key
  * - DELETE /api/config/i18n/{category}/{language}        - Delete entire config
  * - GET    /api/config/i18n/categories/{language}        - List all categories
@@ -29,9 +40,36 @@ import java.util.Map;
  * - POST   /api/config/app/{category}                    - Get or register app config
  * - GET    /api/config/app/{category}                    - Get app config
  * - PUT    /api/config/app/{category}/{key}              - Update app config key
+ * - PATCH  /api/config/app/{category}                    - Update several app config keys
  * - DELETE /api/config/app/{category}                    - Delete app config
  *
+ * - POST   /api/config/features/{category}               - Get or register feature flags (admin)
+ * - GET    /api/config/features/{category}               - Get feature flags
+ * - GET    /api/config/features/{category}/watch?version - Long-poll for flag changes
+ * - PUT    /api/config/features/{category}/{key}         - Update flag key
+ * - DELETE /api/config/features/{category}               - Delete flag category
+ *
+ * - GET    /api/config/custom                            - List custom documents
+ * - GET    /api/config/custom/{name}                     - Get structured document
+ * - PUT    /api/config/custom/{name}                     - Replace document (schema-validated)
+ * - DELETE /api/config/custom/{name}                     - Delete document
+ * - GET    /api/config/custom/{name}/schema              - Get document schema
+ * - PUT    /api/config/custom/{name}/schema              - Replace document schema
+ *
+ * - GET    /api/config/i18n/{category}/{language}/history                    - List versions
+ * - GET    /api/config/i18n/{category}/{language}/history/{version}          - Read past version
+ * - POST   /api/config/i18n/{category}/{language}/history/{version}/rollback - Roll back
+ * - GET    /api/config/app/{category}/history                                - List versions
+ * - GET    /api/config/app/{category}/history/{version}                      - Read past version
+ * - POST   /api/config/app/{category}/history/{version}/rollback             - Roll back
+ *
  * - GET    /api/config/cache/clear                       - Clear cache
+ * - POST   /api/config/reload                            - Reload all configs in-process
+ *
+ * Optimistic concurrency: read endpoints return the config version as ETag.
+ * Write endpoints accept If-Match with that version and answer 412 with
+ * { currentVersion, conflicts: { key: currentValue } } if a written key was
+ * changed in the meantime. Without If-Match writes are unconditional.
  *
  * @author Moritz F. Becker
  * @version 2.0.0
@@ -39,11 +77,13 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/config")
 @RequiredArgsConstructor
-@CrossOrigin(origins = "*") // Allow frontend access
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG) // Allow frontend access
 public class ConfigApiController {
 
     private static final Logger logger = LoggerFactory.getLogger(ConfigApiController.class);
     private final ConfigService configService;
+    private final FeatureFlagService featureFlagService;
+    private final CustomConfigService customConfigService;
 
     // ========================================
     // I18N Endpoints
@@ -69,9 +109,8 @@ public class ConfigApiController {
             @PathVariable String language,
             @RequestBody(required = false) Map<String, String> defaults
     ) {
-        LoggerUtil.info(logger, "CONFIG_API_001", "I18n config requested",
-                Map.of("category", category, "language", language,
-                        "hasDefaults", String.valueOf(defaults != null && !defaults.isEmpty())));
+        LoggerUtil.debug(logger, "CONFIG_API_001", "I18n config requested",
+                "category", category, "language", language, "hasDefaults", defaults != null && !defaults.isEmpty());
 
         Map<String, String> config = configService.getOrCreate(
                 category,
@@ -97,11 +136,13 @@ public class ConfigApiController {
             @PathVariable String category,
             @PathVariable String language
     ) {
-        LoggerUtil.info(logger, "CONFIG_API_002", "I18n config read request",
-                Map.of("category", category, "language", language));
+        LoggerUtil.debug(logger, "CONFIG_API_002", "I18n config read request",
+                "category", category, "language", language);
 
-        Map<String, String> config = configService.load(category, language, ConfigType.I18N).getAll();
-        return ResponseEntity.ok(config);
+        Config config = configService.load(category, language, ConfigType.I18N);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(config.getVersion()))
+                .body(config.getAll());
     }
 
     /**
@@ -114,22 +155,61 @@ public class ConfigApiController {
      * @param language Language code
      * @param key Configuration key
      * @param body Request body with new value
-     * @return Success response
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
      */
     @PutMapping("/i18n/{category}/{language}/{key}")
-    public ResponseEntity<Void> updateI18nKey(
+    public ResponseEntity<Map<String, Object>> updateI18nKey(
             @PathVariable String category,
             @PathVariable String language,
             @PathVariable String key,
-            @RequestBody Map<String, String> body
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         String value = body.get("value");
 
         LoggerUtil.info(logger, "CONFIG_API_003", "I18n key update request",
                 Map.of("category", category, "language", language, "key", key));
 
-        configService.update(category, language, ConfigType.I18N, key, value);
-        return ResponseEntity.ok().build();
+        try {
+            long version = configService.update(category, language, ConfigType.I18N, key, value, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
+    }
+
+    /**
+     * Update several i18n keys in one write
+     *
+     * PATCH /api/config/i18n/{category}/{language}
+     * Header: If-Match: "12"
+     * Body: { "home.title": "New title", "home.old": null }
+     *
+     * Null values delete the key. All changes are applied atomically.
+     *
+     * @param category Config category
+     * @param language Language code
+     * @param changes Key -> new value
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
+     */
+    @PatchMapping("/i18n/{category}/{language}")
+    public ResponseEntity<Map<String, Object>> updateI18nKeys(
+            @PathVariable String category,
+            @PathVariable String language,
+            @RequestBody Map<String, String> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_032", "I18n bulk update request",
+                Map.of("category", category, "language", language, "keys", changes.size()));
+
+        try {
+            long version = configService.updateAll(category, language, ConfigType.I18N, changes, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
     }
 
     /**
@@ -140,19 +220,25 @@ public class ConfigApiController {
      * @param category Config category
      * @param language Language code
      * @param key Configuration key
-     * @return Success response
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
      */
     @DeleteMapping("/i18n/{category}/{language}/{key}")
-    public ResponseEntity<Void> deleteI18nKey(
+    public ResponseEntity<Map<String, Object>> deleteI18nKey(
             @PathVariable String category,
             @PathVariable String language,
-            @PathVariable String key
+            @PathVariable String key,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         LoggerUtil.info(logger, "CONFIG_API_004", "I18n key delete request",
                 Map.of("category", category, "language", language, "key", key));
 
-        configService.deleteKey(category, language, ConfigType.I18N, key);
-        return ResponseEntity.ok().build();
+        try {
+            long version = configService.deleteKey(category, language, ConfigType.I18N, key, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
     }
 
     /**
@@ -162,18 +248,24 @@ public class ConfigApiController {
      *
      * @param category Config category
      * @param language Language code
-     * @return Success response
+     * @param ifMatch Expected version (optional)
+     * @return Success response, 412 on conflict
      */
     @DeleteMapping("/i18n/{category}/{language}")
-    public ResponseEntity<Void> deleteI18n(
+    public ResponseEntity<Map<String, Object>> deleteI18n(
             @PathVariable String category,
-            @PathVariable String language
+            @PathVariable String language,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         LoggerUtil.info(logger, "CONFIG_API_005", "I18n config delete request",
                 Map.of("category", category, "language", language));
 
-        boolean deleted = configService.delete(category, language, ConfigType.I18N);
-        return deleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        try {
+            boolean deleted = configService.delete(category, language, ConfigType.I18N, parseIfMatch(ifMatch));
+            return deleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
     }
 
     /**
@@ -186,8 +278,8 @@ public class ConfigApiController {
      */
     @GetMapping("/i18n/categories/{language}")
     public ResponseEntity<List<String>> listI18nCategories(@PathVariable String language) {
-        LoggerUtil.info(logger, "CONFIG_API_006", "List i18n categories request",
-                Map.of("language", language));
+        LoggerUtil.debug(logger, "CONFIG_API_006", "List i18n categories request",
+                "language", language);
 
         List<String> categories = configService.listCategories(ConfigType.I18N, language);
         return ResponseEntity.ok(categories);
@@ -204,7 +296,7 @@ public class ConfigApiController {
      */
     @GetMapping("/i18n/languages")
     public ResponseEntity<List<String>> listLanguages() {
-        LoggerUtil.info(logger, "CONFIG_API_013", "List languages request", Map.of());
+        LoggerUtil.debug(logger, "CONFIG_API_013", "List languages request");
 
         List<String> languages = configService.listLanguages();
         return ResponseEntity.ok(languages);
@@ -229,9 +321,8 @@ public class ConfigApiController {
             @PathVariable String category,
             @RequestBody(required = false) Map<String, String> defaults
     ) {
-        LoggerUtil.info(logger, "CONFIG_API_007", "App config requested",
-                Map.of("category", category,
-                        "hasDefaults", String.valueOf(defaults != null && !defaults.isEmpty())));
+        LoggerUtil.debug(logger, "CONFIG_API_007", "App config requested",
+                "category", category, "hasDefaults", defaults != null && !defaults.isEmpty());
 
         Map<String, String> config = configService.getOrCreate(
                 category,
@@ -253,11 +344,13 @@ public class ConfigApiController {
      */
     @GetMapping("/app/{category}")
     public ResponseEntity<Map<String, String>> getApp(@PathVariable String category) {
-        LoggerUtil.info(logger, "CONFIG_API_008", "App config read request",
-                Map.of("category", category));
+        LoggerUtil.debug(logger, "CONFIG_API_008", "App config read request",
+                "category", category);
 
-        Map<String, String> config = configService.load(category, null, ConfigType.APP).getAll();
-        return ResponseEntity.ok(config);
+        Config config = configService.load(category, null, ConfigType.APP);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(config.getVersion()))
+                .body(config.getAll());
     }
 
     /**
@@ -269,21 +362,56 @@ public class ConfigApiController {
      * @param category Config category
      * @param key Configuration key
      * @param body Request body with new value
-     * @return Success response
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
      */
     @PutMapping("/app/{category}/{key}")
-    public ResponseEntity<Void> updateAppKey(
+    public ResponseEntity<Map<String, Object>> updateAppKey(
             @PathVariable String category,
             @PathVariable String key,
-            @RequestBody Map<String, String> body
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
         String value = body.get("value");
 
         LoggerUtil.info(logger, "CONFIG_API_009", "App config key update request",
                 Map.of("category", category, "key", key));
 
-        configService.update(category, null, ConfigType.APP, key, value);
-        return ResponseEntity.ok().build();
+        try {
+            long version = configService.update(category, null, ConfigType.APP, key, value, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
+    }
+
+    /**
+     * Update several app config keys in one write
+     *
+     * PATCH /api/config/app/{category}
+     * Header: If-Match: "12"
+     * Body: { "server.port": "8081", "legacy.flag": null }
+     *
+     * @param category Config category
+     * @param changes Key -> new value (null deletes the key)
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
+     */
+    @PatchMapping("/app/{category}")
+    public ResponseEntity<Map<String, Object>> updateAppKeys(
+            @PathVariable String category,
+            @RequestBody Map<String, String> changes,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_033", "App config bulk update request",
+                Map.of("category", category, "keys", changes.size()));
+
+        try {
+            long version = configService.updateAll(category, null, ConfigType.APP, changes, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
     }
 
     /**
@@ -292,15 +420,23 @@ public class ConfigApiController {
      * DELETE /api/config/app/{category}
      *
      * @param category Config category
-     * @return Success response
+     * @param ifMatch Expected version (optional)
+     * @return Success response, 412 on conflict
      */
     @DeleteMapping("/app/{category}")
-    public ResponseEntity<Void> deleteApp(@PathVariable String category) {
+    public ResponseEntity<Map<String, Object>> deleteApp(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
         LoggerUtil.info(logger, "CONFIG_API_010", "App config delete request",
                 Map.of("category", category));
 
-        boolean deleted = configService.delete(category, null, ConfigType.APP);
-        return deleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        try {
+            boolean deleted = configService.delete(category, null, ConfigType.APP, parseIfMatch(ifMatch));
+            return deleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
     }
 
     /**
@@ -312,12 +448,405 @@ public class ConfigApiController {
      */
     @GetMapping("/app/categories")
     public ResponseEntity<List<String>> listAppCategories() {
-        LoggerUtil.info(logger, "CONFIG_API_011", "List app categories request", Map.of());
+        LoggerUtil.debug(logger, "CONFIG_API_011", "List app categories request");
 
         List<String> categories = configService.listCategories(ConfigType.APP, null);
         return ResponseEntity.ok(categories);
     }
 
+    // ========================================
+    // Feature Flag Endpoints
+    // ========================================
+
+    /**
+     * Get or register feature flags (admin only - creates/extends the category)
+     *
+     * POST /api/config/features/{category}
+     * Body: { "checkout.enabled": "true", "checkout.rollout": "25" }
+     *
+     * @param category Flag category (e.g., "flags")
+     * @param defaults Default flag definitions
+     * @return Merged flag definitions
+     */
+    @PostMapping("/features/{category}")
+    public ResponseEntity<Map<String, String>> getOrRegisterFeatures(
+            @PathVariable String category,
+            @RequestBody(required = false) Map<String, String> defaults
+    ) {
+        LoggerUtil.debug(logger, "CONFIG_API_021", "Feature flags requested",
+                "category", category, "hasDefaults", defaults != null && !defaults.isEmpty());
+
+        Map<String, String> config = configService.getOrCreate(category, null, ConfigType.FEATURE_FLAG, defaults);
+        return ResponseEntity.ok(config);
+    }
+
+    /**
+     * Get feature flags (read-only)
+     *
+     * GET /api/config/features/{category}
+     *
+     * @param category Flag category
+     * @return Flag definitions
+     */
+    @GetMapping("/features/{category}")
+    public ResponseEntity<Map<String, String>> getFeatures(@PathVariable String category) {
+        LoggerUtil.debug(logger, "CONFIG_API_022", "Feature flags read request",
+                "category", category);
+
+        Config config = configService.load(category, null, ConfigType.FEATURE_FLAG);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(config.getVersion()))
+                .body(config.getAll());
+    }
+
+    /**
+     * Watch feature flags for changes (long-poll)
+     *
+     * GET /api/config/features/{category}/watch?version=3
+     *
+     * Returns { "version": 4, "flags": {...} } as soon as the category is
+     * newer than the given version, or 304 after 30 seconds without change.
+     *
+     * @param category Flag category
+     * @param version Version the client already has (-1 for initial load)
+     * @return Deferred snapshot response
+     */
+    @GetMapping("/features/{category}/watch")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> watchFeatures(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "-1") long version
+    ) {
+        LoggerUtil.debug(logger, "CONFIG_API_023", "Feature flag watch request",
+                "category", category, "version", version);
+
+        return featureFlagService.watch(category, version);
+    }
+
+    /**
+     * Update single feature flag key
+     *
+     * PUT /api/config/features/{category}/{key}
+     * Body: { "value": "50" }
+     *
+     * @param category Flag category
+     * @param key Flag key (e.g., "checkout.rollout")
+     * @param body Request body with new value
+     * @param ifMatch Expected version (optional)
+     * @return Success response with new version as ETag, 412 on conflict
+     */
+    @PutMapping("/features/{category}/{key}")
+    public ResponseEntity<Map<String, Object>> updateFeatureKey(
+            @PathVariable String category,
+            @PathVariable String key,
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_024", "Feature flag update request",
+                Map.of("category", category, "key", key));
+
+        try {
+            long version = configService.update(category, null, ConfigType.FEATURE_FLAG, key, body.get("value"),
+                    parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
+    }
+
+    /**
+     * Delete feature flag category
+     *
+     * DELETE /api/config/features/{category}
+     *
+     * @param category Flag category
+     * @param ifMatch Expected version (optional)
+     * @return Success response, 412 on conflict
+     */
+    @DeleteMapping("/features/{category}")
+    public ResponseEntity<Map<String, Object>> deleteFeatures(
+            @PathVariable String category,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_025", "Feature flags delete request",
+                Map.of("category", category));
+
+        try {
+            boolean deleted = configService.delete(category, null, ConfigType.FEATURE_FLAG, parseIfMatch(ifMatch));
+            return deleted ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        }
+    }
+
+    // ========================================
+    // Custom Document Endpoints
+    // ========================================
+
+    /**
+     * List custom documents
+     *
+     * GET /api/config/custom
+     *
+     * @return Document names
+     */
+    @GetMapping("/custom")
+    public ResponseEntity<List<String>> listCustom() {
+        LoggerUtil.debug(logger, "CONFIG_API_026", "Custom documents list request");
+
+        return ResponseEntity.ok(customConfigService.list());
+    }
+
+    /**
+     * Get structured custom document
+     *
+     * GET /api/config/custom/{name}
+     * Response: { "name": "routing", "version": 3, "content": { "endpoints": ["a", "b"], "retries": 3 } }
+     *
+     * @param name Document name
+     * @return Document with version and typed content
+     */
+    @GetMapping("/custom/{name}")
+    public ResponseEntity<Map<String, Object>> getCustom(@PathVariable String name) {
+        LoggerUtil.debug(logger, "CONFIG_API_027", "Custom document read request",
+                "name", name);
+
+        CustomDocument document = customConfigService.load(name);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(document.getVersion()))
+                .body(toResponse(document));
+    }
+
+    /**
+     * Replace custom document
+     *
+     * PUT /api/config/custom/{name}
+     * Body: { "endpoints": ["a", "b"], "retries": 3 }
+     *
+     * @param name Document name
+     * @param content New document content
+     * @param ifMatch Expected version (optional, whole document must be unchanged)
+     * @return Saved document, 400 with validation errors or 412 on conflict
+     */
+    @PutMapping("/custom/{name}")
+    public ResponseEntity<Map<String, Object>> updateCustom(
+            @PathVariable String name,
+            @RequestBody Map<String, Object> content,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_028", "Custom document update request",
+                Map.of("name", name));
+
+        try {
+            CustomDocument document = customConfigService.save(name, content, parseIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(document.getVersion()))
+                    .body(toResponse(document));
+        } catch (ConfigService.VersionConflictException e) {
+            return conflict(e);
+        } catch (CustomConfigService.CustomConfigValidationException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Validation failed",
+                    "errors", e.getErrors()
+            ));
+        }
+    }
+
+    /**
+     * Delete custom document
+     *
+     * DELETE /api/config/custom/{name}
+     *
+     * @param name Document name
+     * @return Success response
+     */
+    @DeleteMapping("/custom/{name}")
+    public ResponseEntity<Void> deleteCustom(@PathVariable String name) {
+        LoggerUtil.info(logger, "CONFIG_API_029", "Custom document delete request",
+                Map.of("name", name));
+
+        return customConfigService.delete(name) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Get custom document schema
+     *
+     * GET /api/config/custom/{name}/schema
+     *
+     * @param name Document name
+     * @return Schema definition, 404 if the document has no schema
+     */
+    @GetMapping("/custom/{name}/schema")
+    public ResponseEntity<Map<String, Object>> getCustomSchema(@PathVariable String name) {
+        LoggerUtil.debug(logger, "CONFIG_API_030", "Custom schema read request",
+                "name", name);
+
+        return customConfigService.loadSchema(name)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Replace custom document schema
+     *
+     * PUT /api/config/custom/{name}/schema
+     * Body: { "type": "object", "required": ["endpoints"], "properties": { ... } }
+     *
+     * @param name Document name
+     * @param schema Schema definition
+     * @return Success response, or 400 if the schema is malformed or the
+     *         current document does not satisfy it
+     */
+    @PutMapping("/custom/{name}/schema")
+    public ResponseEntity<Map<String, Object>> updateCustomSchema(
+            @PathVariable String name,
+            @RequestBody Map<String, Object> schema
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_031", "Custom schema update request",
+                Map.of("name", name));
+
+        try {
+            customConfigService.saveSchema(name, schema);
+            return ResponseEntity.ok().build();
+        } catch (CustomConfigService.CustomConfigValidationException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Validation failed",
+                    "errors", e.getErrors()
+            ));
+        }
+    }
+
+    // ========================================
+    // History Endpoints
+    // ========================================
+
+    /**
+     * List i18n config versions
+     *
+     * GET /api/config/i18n/{category}/{language}/history
+     *
+     * @param category Config category
+     * @param language Language code
+     * @return Key-level deltas, oldest first
+     */
+    @GetMapping("/i18n/{category}/{language}/history")
+    public ResponseEntity<List<ConfigDelta>> getI18nHistory(
+            @PathVariable String category,
+            @PathVariable String language
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_015", "I18n history request",
+                Map.of("category", category, "language", language));
+
+        return ResponseEntity.ok(configService.history(category, language, ConfigType.I18N));
+    }
+
+    /**
+     * Read i18n config at a past version
+     *
+     * GET /api/config/i18n/{category}/{language}/history/{version}
+     *
+     * @param category Config category
+     * @param language Language code
+     * @param version Version number (0 = before first recorded write)
+     * @return Configuration map at that version
+     */
+    @GetMapping("/i18n/{category}/{language}/history/{version}")
+    public ResponseEntity<Map<String, String>> getI18nVersion(
+            @PathVariable String category,
+            @PathVariable String language,
+            @PathVariable long version
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_016", "I18n version read request",
+                Map.of("category", category, "language", language, "version", version));
+
+        return configService.loadVersion(category, language, ConfigType.I18N, version)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Roll i18n config back to a past version
+     *
+     * POST /api/config/i18n/{category}/{language}/history/{version}/rollback
+     *
+     * @param category Config category
+     * @param language Language code
+     * @param version Version to roll back to
+     * @return Configuration map after rollback
+     */
+    @PostMapping("/i18n/{category}/{language}/history/{version}/rollback")
+    public ResponseEntity<Map<String, String>> rollbackI18n(
+            @PathVariable String category,
+            @PathVariable String language,
+            @PathVariable long version
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_017", "I18n rollback request",
+                Map.of("category", category, "language", language, "version", version));
+
+        return configService.rollback(category, language, ConfigType.I18N, version)
+                .map(config -> ResponseEntity.ok(config.getAll()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * List app config versions
+     *
+     * GET /api/config/app/{category}/history
+     *
+     * @param category Config category
+     * @return Key-level deltas, oldest first
+     */
+    @GetMapping("/app/{category}/history")
+    public ResponseEntity<List<ConfigDelta>> getAppHistory(@PathVariable String category) {
+        LoggerUtil.info(logger, "CONFIG_API_018", "App history request",
+                Map.of("category", category));
+
+        return ResponseEntity.ok(configService.history(category, null, ConfigType.APP));
+    }
+
+    /**
+     * Read app config at a past version
+     *
+     * GET /api/config/app/{category}/history/{version}
+     *
+     * @param category Config category
+     * @param version Version number (0 = before first recorded write)
+     * @return Configuration map at that version
+     */
+    @GetMapping("/app/{category}/history/{version}")
+    public ResponseEntity<Map<String, String>> getAppVersion(
+            @PathVariable String category,
+            @PathVariable long version
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_019", "App version read request",
+                Map.of("category", category, "version", version));
+
+        return configService.loadVersion(category, null, ConfigType.APP, version)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Roll app config back to a past version
+     *
+     * POST /api/config/app/{category}/history/{version}/rollback
+     *
+     * @param category Config category
+     * @param version Version to roll back to
+     * @return Configuration map after rollback
+     */
+    @PostMapping("/app/{category}/history/{version}/rollback")
+    public ResponseEntity<Map<String, String>> rollbackApp(
+            @PathVariable String category,
+            @PathVariable long version
+    ) {
+        LoggerUtil.info(logger, "CONFIG_API_020", "App rollback request",
+                Map.of("category", category, "version", version));
+
+        return configService.rollback(category, null, ConfigType.APP, version)
+                .map(config -> ResponseEntity.ok(config.getAll()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     // ========================================
     // Cache Management
     // ========================================
@@ -344,33 +873,26 @@ public class ConfigApiController {
     }
 
     /**
-     * Restart Config Server
+     * Reload Config Server (in-process)
      *
-     * POST /api/config/restart
+     * POST /api/config/reload
+     * POST /api/config/restart (kept for existing Config Editor clients)
      *
-     * Restarts the Config Server to ensure all changes are loaded.
-     * Docker will automatically restart the container.
+     * Re-reads templates and config files into fresh snapshots and swaps
+     * them in atomically. No process restart, no dropped requests.
      *
-     * @return Success response
+     * @return Success response with reload statistics
      */
-    @PostMapping("/restart")
+    @PostMapping({"/reload", "/restart"})
     public ResponseEntity<Map<String, String>> restartServer() {
-        LoggerUtil.info(logger, "CONFIG_API_014", "Config Server restart requested", Map.of());
-
-        // Spawn new thread to allow response to be sent before shutdown
-        new Thread(() -> {
-            try {
-                Thread.sleep(1000); // Wait 1 second to send response
-                LoggerUtil.info(logger, "CONFIG_API_015", "Initiating Config Server shutdown", Map.of());
-                System.exit(0); // Docker will restart the container
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
+        LoggerUtil.info(logger, "CONFIG_API_014", "Config Server reload requested", Map.of());
+
+        int snapshots = configService.reloadAll();
 
         return ResponseEntity.ok(Map.of(
                 "status", "success",
-                "message", "Config Server restarting..."
+                "message", "Config Server reloaded",
+                "snapshots", String.valueOf(snapshots)
         ));
     }
 
@@ -389,4 +911,63 @@ public class ConfigApiController {
                 "version", "2.0.0"
         ));
     }
+
+    // Private helpers
+
+    /**
+     * Parse If-Match header into expected version
+     *
+     * Accepts "12", W/"12" and 12. Missing or "*" means unconditional (null).
+     * An unparsable tag can never match, so it is mapped to -1 (conflict).
+     */
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * 400 response for writes that would make a key both a value and a section
+     */
+    @ExceptionHandler(YamlFlattener.KeyConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleKeyConflict(YamlFlattener.KeyConflictException e) {
+        LoggerUtil.warn(logger, "CONFIG_API_034", "Key conflicts with a section", "conflicts", e.getConflicts());
+
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", "Key conflicts with a section",
+                "conflicts", e.getConflicts()
+        ));
+    }
+
+    /**
+     * 412 response with current version and conflicting keys
+     */
+    private ResponseEntity<Map<String, Object>> conflict(ConfigService.VersionConflictException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "Version conflict");
+        body.put("currentVersion", e.getCurrentVersion());
+        body.put("conflicts", e.getConflicts()); // may contain null values (removed keys)
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(String.valueOf(e.getCurrentVersion()))
+                .body(body);
+    }
+
+    private Map<String, Object> toResponse(CustomDocument document) {
+        return Map.of(
+                "name", document.getName(),
+                "version", document.getVersion(),
+                "content", document.getContent()
+        );
+    }
 }
@@ -0,0 +1,45 @@
+package com.eckertpreisser.configserver.event;
+
+import com.eckertpreisser.configserver.model.ConfigType;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * ConfigChangedEvent - Published after a config was written or deleted
+ *
+ * Fired by ConfigService after the new snapshot is cached, so listeners
+ * (e.g. feature flag watchers) can push the change to subscribers.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class ConfigChangedEvent extends ApplicationEvent {
+
+    private final String category;
+    private final String language;
+    private final ConfigType type;
+    private final long version;
+
+    public ConfigChangedEvent(Object source, String category, String language, ConfigType type, long version) {
+        super(source);
+        this.category = category;
+        this.language = language;
+        this.type = type;
+        this.version = version;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public ConfigType getType() {
+        return type;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,39 @@
+package com.eckertpreisser.configserver.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * ConfigReloadedEvent - Published after an in-process config reload
+ *
+ * Fired by ConfigService once fresh snapshots have been swapped in.
+ * Listen with @EventListener to refresh derived state (e.g. feature
+ * flag trees) without restarting the Config Server.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class ConfigReloadedEvent extends ApplicationEvent {
+
+    private final int snapshots;
+    private final long durationMillis;
+
+    public ConfigReloadedEvent(Object source, int snapshots, long durationMillis) {
+        super(source);
+        this.snapshots = snapshots;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Number of config snapshots that were re-read from disk
+     */
+    public int getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Wall-clock duration of the reload in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
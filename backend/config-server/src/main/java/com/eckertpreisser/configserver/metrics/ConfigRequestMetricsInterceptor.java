@@ -0,0 +1,98 @@
+package com.eckertpreisser.configserver.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConfigRequestMetricsInterceptor - Latency per config endpoint and category
+ *
+ * Records every /api/config request as config.api.requests with the
+ * handler method (endpoint), config category, HTTP method and status as
+ * tags. Percentile histograms are published, so p50/p95/p99 per endpoint
+ * and category can be read from /actuator/metrics.
+ *
+ * Categories come from the request path, so the number of distinct
+ * category tags is capped; anything beyond falls back to "other".
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ConfigRequestMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConfigRequestMetricsInterceptor.class.getName() + ".start";
+    private static final int MAX_CATEGORIES = 200;
+
+    private final MeterRegistry meterRegistry;
+
+    // Categories already used as tag value
+    private final Set<String> knownCategories = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // Async requests (feature flag watch) are dispatched twice, time from the first dispatch
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        Timer.builder("config.api.requests")
+                .description("Config API request latency per endpoint and category")
+                .tag("endpoint", handlerMethod.getMethod().getName())
+                .tag("category", category(request))
+                .tag("method", request.getMethod())
+                .tag("status", String.valueOf(response.getStatus()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Private helpers
+
+    @SuppressWarnings("unchecked")
+    private String category(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?> map)) {
+            return "none";
+        }
+
+        Map<String, String> pathVariables = (Map<String, String>) map;
+        String category = pathVariables.getOrDefault("category", pathVariables.get("name"));
+        if (category == null) {
+            return "none";
+        }
+
+        if (knownCategories.contains(category)) {
+            return category;
+        }
+        if (knownCategories.size() >= MAX_CATEGORIES) {
+            return "other";
+        }
+        knownCategories.add(category);
+        return category;
+    }
+}
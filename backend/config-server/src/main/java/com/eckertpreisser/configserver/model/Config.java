@@ -25,6 +25,7 @@ public class Config {
     private final Map<String, String> values;
     private final Map<String, String> defaults;
     private boolean modified;
+    private long version;
 
     /**
      * Constructor for Config
@@ -147,6 +148,15 @@ public class Config {
         return new HashMap<>(values);
     }
 
+    /**
+     * Get number of configuration values (without copying them)
+     *
+     * @return Number of key-value pairs
+     */
+    public int size() {
+        return values.size();
+    }
+
     /**
      * Get all registered defaults
      *
@@ -199,6 +209,19 @@ public class Config {
         this.modified = modified;
     }
 
+    /**
+     * Get snapshot version (latest history version this snapshot reflects)
+     *
+     * @return Version number (0 = before any recorded write)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     /**
      * Get display name for logging
      *
@@ -219,6 +242,7 @@ public class Config {
                 ", type=" + type +
                 ", entries=" + values.size() +
                 ", modified=" + modified +
+                ", version=" + version +
                 '}';
     }
 }
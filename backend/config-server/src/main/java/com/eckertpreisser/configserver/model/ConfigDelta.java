@@ -0,0 +1,80 @@
+package com.eckertpreisser.configserver.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ConfigDelta - Key-level change set of one config version
+ *
+ * Stored append-only in the history log instead of full file copies.
+ * Each change keeps the value before and after the write, so a delta
+ * can be applied forwards or reverted backwards (null = key absent).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigDelta {
+
+    private long version;
+    private long timestamp;
+    private Map<String, Change> changes = new LinkedHashMap<>();
+
+    /**
+     * Compute the delta between two snapshots
+     *
+     * @param before Values before the write
+     * @param after Values after the write
+     * @return Changed keys only (empty if nothing changed)
+     */
+    public static Map<String, Change> diff(Map<String, String> before, Map<String, String> after) {
+        Map<String, Change> changes = new LinkedHashMap<>();
+
+        after.forEach((key, value) -> {
+            String previous = before.get(key);
+            if (previous == null || !previous.equals(value)) {
+                changes.put(key, new Change(previous, value));
+            }
+        });
+
+        before.forEach((key, value) -> {
+            if (!after.containsKey(key)) {
+                changes.put(key, new Change(value, null));
+            }
+        });
+
+        return changes;
+    }
+
+    /**
+     * Revert this delta on a snapshot (newer -> older)
+     *
+     * @param values Mutable snapshot at this delta's version
+     */
+    public void revert(Map<String, String> values) {
+        changes.forEach((key, change) -> {
+            if (change.getBefore() == null) {
+                values.remove(key);
+            } else {
+                values.put(key, change.getBefore());
+            }
+        });
+    }
+
+    /**
+     * Single key change
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private String before;
+        private String after;
+    }
+}
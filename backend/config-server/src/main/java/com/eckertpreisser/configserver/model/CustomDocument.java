@@ -0,0 +1,113 @@
+package com.eckertpreisser.configserver.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CustomDocument - Parsed, immutable CUSTOM config document
+ *
+ * Unlike app configs, CUSTOM configs (config/custom/{name}.yml) keep their
+ * structure: lists stay lists, numbers and booleans keep their type.
+ * The tree is parsed once per version and shared read-only afterwards.
+ *
+ * Usage:
+ * CustomDocument doc = customConfigService.load("routing");
+ * List<?> endpoints = doc.get("routing.endpoints", List.class);
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class CustomDocument {
+
+    private final String name;
+    private final long version;
+    private final Map<String, Object> content;
+    private final CustomSchema schema;
+
+    public CustomDocument(String name, long version, Map<String, Object> content, CustomSchema schema) {
+        this.name = name;
+        this.version = version;
+        this.content = freezeMap(content);
+        this.schema = schema;
+    }
+
+    /**
+     * Get value by dot path (list elements by index, e.g. "endpoints.0")
+     *
+     * @param path Dot-separated path
+     * @return Value or null if the path does not exist
+     */
+    public Object get(String path) {
+        Object current = content;
+        for (String segment : path.split("\\.")) {
+            if (current instanceof Map<?, ?> map) {
+                current = map.get(segment);
+            } else if (current instanceof List<?> list && segment.chars().allMatch(Character::isDigit)) {
+                int index = Integer.parseInt(segment);
+                current = index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Get typed value by dot path
+     *
+     * @param path Dot-separated path
+     * @param type Expected type
+     * @return Value or null if absent or of a different type
+     */
+    public <T> T get(String path, Class<T> type) {
+        Object value = get(path);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Read-only document tree
+     */
+    public Map<String, Object> getContent() {
+        return content;
+    }
+
+    /**
+     * Compiled schema (null if the document has none)
+     */
+    public CustomSchema getSchema() {
+        return schema;
+    }
+
+    // Private helpers
+
+    private static Map<String, Object> freezeMap(Map<?, ?> map) {
+        Map<String, Object> frozen = new LinkedHashMap<>();
+        if (map != null) {
+            map.forEach((key, value) -> frozen.put(String.valueOf(key), freeze(value)));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return freezeMap(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> frozen = new ArrayList<>(list.size());
+            list.forEach(item -> frozen.add(freeze(item)));
+            return Collections.unmodifiableList(frozen);
+        }
+        return value;
+    }
+}
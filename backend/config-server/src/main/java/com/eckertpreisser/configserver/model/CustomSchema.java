@@ -0,0 +1,178 @@
+package com.eckertpreisser.configserver.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CustomSchema - Compiled schema for CUSTOM config documents
+ *
+ * Supports a small JSON-Schema-like subset written as YAML
+ * (config/custom/{name}.schema.yml):
+ *
+ *   type: object
+ *   required: [endpoints]
+ *   properties:
+ *     endpoints:
+ *       type: array
+ *       items: { type: string }
+ *     retries: { type: integer, minimum: 0, maximum: 10 }
+ *     mode: { type: string, enum: [fast, safe] }
+ *
+ * Types: object, array, string, integer, number, boolean.
+ * Compiled once per schema version, validation walks the document once.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class CustomSchema {
+
+    private final String type;
+    private final Map<String, CustomSchema> properties;
+    private final Set<String> required;
+    private final CustomSchema items;
+    private final List<Object> enumValues;
+    private final Double minimum;
+    private final Double maximum;
+
+    private CustomSchema(String type, Map<String, CustomSchema> properties, Set<String> required,
+                         CustomSchema items, List<Object> enumValues, Double minimum, Double maximum) {
+        this.type = type;
+        this.properties = properties;
+        this.required = required;
+        this.items = items;
+        this.enumValues = enumValues;
+        this.minimum = minimum;
+        this.maximum = maximum;
+    }
+
+    /**
+     * Compile schema definition
+     *
+     * @param definition Parsed schema YAML
+     * @return Compiled schema
+     * @throws IllegalArgumentException if the definition is malformed
+     */
+    @SuppressWarnings("unchecked")
+    public static CustomSchema compile(Map<String, Object> definition) {
+        Object type = definition.get("type");
+        if (type != null && !(type instanceof String)) {
+            throw new IllegalArgumentException("Schema 'type' must be a string");
+        }
+        if (type != null && !Set.of("object", "array", "string", "integer", "number", "boolean").contains(type)) {
+            throw new IllegalArgumentException("Unsupported schema type: " + type);
+        }
+
+        Map<String, CustomSchema> properties = new LinkedHashMap<>();
+        if (definition.get("properties") instanceof Map<?, ?> propertyDefinitions) {
+            propertyDefinitions.forEach((name, property) -> {
+                if (!(property instanceof Map)) {
+                    throw new IllegalArgumentException("Schema property '" + name + "' must be a map");
+                }
+                properties.put(String.valueOf(name), compile((Map<String, Object>) property));
+            });
+        }
+
+        Set<String> required = new HashSet<>();
+        if (definition.get("required") instanceof Collection<?> requiredNames) {
+            requiredNames.forEach(name -> required.add(String.valueOf(name)));
+        }
+
+        CustomSchema items = definition.get("items") instanceof Map<?, ?> itemDefinition
+                ? compile((Map<String, Object>) itemDefinition)
+                : null;
+
+        List<Object> enumValues = definition.get("enum") instanceof Collection<?> values
+                ? new ArrayList<>(values)
+                : null;
+
+        return new CustomSchema((String) type, properties, required, items, enumValues,
+                toDouble(definition.get("minimum")), toDouble(definition.get("maximum")));
+    }
+
+    /**
+     * Validate document against this schema
+     *
+     * @param value Parsed document (or sub-tree)
+     * @return Validation errors with paths (empty if valid)
+     */
+    public List<String> validate(Object value) {
+        List<String> errors = new ArrayList<>();
+        validate("$", value, errors);
+        return errors;
+    }
+
+    // Private helpers
+
+    private void validate(String path, Object value, List<String> errors) {
+        if (type != null && !matchesType(value)) {
+            errors.add(path + ": expected " + type + " but was " + describe(value));
+            return;
+        }
+
+        if (enumValues != null && !enumValues.contains(value)) {
+            errors.add(path + ": value " + value + " not in " + enumValues);
+        }
+
+        if (value instanceof Number number) {
+            if (minimum != null && number.doubleValue() < minimum) {
+                errors.add(path + ": " + number + " is below minimum " + minimum);
+            }
+            if (maximum != null && number.doubleValue() > maximum) {
+                errors.add(path + ": " + number + " is above maximum " + maximum);
+            }
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            for (String name : required) {
+                if (!map.containsKey(name)) {
+                    errors.add(path + "." + name + ": required");
+                }
+            }
+            properties.forEach((name, schema) -> {
+                if (map.containsKey(name)) {
+                    schema.validate(path + "." + name, map.get(name), errors);
+                }
+            });
+        }
+
+        if (value instanceof List<?> list && items != null) {
+            for (int i = 0; i < list.size(); i++) {
+                items.validate(path + "[" + i + "]", list.get(i), errors);
+            }
+        }
+    }
+
+    private boolean matchesType(Object value) {
+        return switch (type) {
+            case "object" -> value instanceof Map;
+            case "array" -> value instanceof List;
+            case "string" -> value instanceof String;
+            case "integer" -> value instanceof Integer || value instanceof Long;
+            case "number" -> value instanceof Number;
+            case "boolean" -> value instanceof Boolean;
+            default -> true;
+        };
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Map) {
+            return "object";
+        }
+        if (value instanceof List) {
+            return "array";
+        }
+        return value.getClass().getSimpleName().toLowerCase();
+    }
+
+    private static Double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.eckertpreisser.configserver.repository;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.configserver.model.ConfigDelta;
+import com.eckertpreisser.configserver.model.ConfigType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConfigHistoryRepository - Versioned delta history for config files
+ *
+ * Every write appends one ConfigDelta (changed keys only) as a JSON line to
+ * config/.history/{type}/[{language}/]{category}.jsonl. Version 0 is the
+ * state before the first recorded write. Deltas are kept in memory after
+ * the first access, so version lookups never touch the disk.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConfigHistoryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigHistoryRepository.class);
+    private static final String HISTORY_DIR = "config/.history";
+
+    private final ObjectMapper objectMapper;
+
+    // History key -> deltas in version order (index i holds version i + 1)
+    private final Map<String, List<ConfigDelta>> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Record a write as a new version
+     *
+     * @param category Config category
+     * @param language Language code (null for non-i18n)
+     * @param type Config type
+     * @param changes Key-level changes of this write
+     * @return New version number (unchanged if changes are empty)
+     */
+    public long append(String category, String language, ConfigType type, Map<String, ConfigDelta.Change> changes) {
+        List<ConfigDelta> history = history(category, language, type);
+
+        synchronized (history) {
+            if (changes.isEmpty()) {
+                return history.size();
+            }
+
+            ConfigDelta delta = new ConfigDelta(history.size() + 1, System.currentTimeMillis(), changes);
+            Path filePath = getFilePath(category, language, type);
+
+            try {
+                Files.createDirectories(filePath.getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(objectMapper.writeValueAsString(delta));
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                LoggerUtil.error(logger, "CONFIG_HIST_ERR_001", "Failed to append config history", e,
+                        Map.of("path", filePath.toString()));
+                return history.size();
+            }
+
+            history.add(delta);
+            return delta.getVersion();
+        }
+    }
+
+    /**
+     * Get latest recorded version
+     *
+     * @return Latest version (0 if no history exists)
+     */
+    public long latestVersion(String category, String language, ConfigType type) {
+        List<ConfigDelta> history = history(category, language, type);
+        synchronized (history) {
+            return history.size();
+        }
+    }
+
+    /**
+     * Get all deltas newer than the given version, oldest first
+     *
+     * @param sinceVersion Exclusive lower bound (0 for full history)
+     * @return Deltas with version greater than sinceVersion
+     */
+    public List<ConfigDelta> deltasSince(String category, String language, ConfigType type, long sinceVersion) {
+        List<ConfigDelta> history = history(category, language, type);
+        synchronized (history) {
+            int from = (int) Math.max(0, Math.min(sinceVersion, history.size()));
+            return new ArrayList<>(history.subList(from, history.size()));
+        }
+    }
+
+    /**
+     * Reconstruct a past version from a newer snapshot
+     *
+     * Reverts deltas from the snapshot's version back to the target, so the
+     * cost is proportional to the number of changes in between.
+     *
+     * @param current Snapshot values at currentVersion
+     * @param currentVersion Version of the snapshot
+     * @param targetVersion Version to reconstruct
+     * @return Values at targetVersion
+     */
+    public Map<String, String> valuesAt(String category, String language, ConfigType type,
+                                        Map<String, String> current, long currentVersion, long targetVersion) {
+        List<ConfigDelta> deltas = deltasSince(category, language, type, targetVersion);
+        Collections.reverse(deltas);
+
+        Map<String, String> values = new HashMap<>(current);
+        for (ConfigDelta delta : deltas) {
+            if (delta.getVersion() <= currentVersion) {
+                delta.revert(values);
+            }
+        }
+        return values;
+    }
+
+    // Private helpers
+
+    private List<ConfigDelta> history(String category, String language, ConfigType type) {
+        return histories.computeIfAbsent(getHistoryKey(category, language, type),
+                key -> readHistory(getFilePath(category, language, type)));
+    }
+
+    private List<ConfigDelta> readHistory(Path filePath) {
+        List<ConfigDelta> history = new ArrayList<>();
+        if (!Files.exists(filePath)) {
+            return history;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    history.add(objectMapper.readValue(line, ConfigDelta.class));
+                }
+            }
+        } catch (IOException e) {
+            LoggerUtil.error(logger, "CONFIG_HIST_ERR_002", "Failed to read config history", e,
+                    Map.of("path", filePath.toString()));
+        }
+        return history;
+    }
+
+    /**
+     * Get history file path (mirrors ConfigRepository layout)
+     */
+    private Path getFilePath(String category, String language, ConfigType type) {
+        return switch (type) {
+            case I18N -> Paths.get(HISTORY_DIR, "i18n", language, category + ".jsonl");
+            case APP -> Paths.get(HISTORY_DIR, "app", category + ".jsonl");
+            case FEATURE_FLAG -> Paths.get(HISTORY_DIR, "features", category + ".jsonl");
+            case CUSTOM -> Paths.get(HISTORY_DIR, "custom", category + ".jsonl");
+        };
+    }
+
+    private String getHistoryKey(String category, String language, ConfigType type) {
+        if (type == ConfigType.I18N && language != null) {
+            return type + "_" + category + "_" + language;
+        }
+        return type + "_" + category;
+    }
+}
@@ -2,9 +2,13 @@ package com.eckertpreisser.configserver.repository;
 
 import com.eckertpreisser.common.utils.LoggerUtil;
 import com.eckertpreisser.configserver.model.ConfigType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.*;
@@ -20,16 +24,26 @@ import java.util.stream.Collectors;
  *
  * Handles reading and writing configuration files in modular structure.
  * Supports .properties (i18n) and .yml (app configs, feature flags).
+ * CUSTOM configs can also be read and written as structured documents
+ * with an optional {name}.schema.yml next to them.
+ *
+ * File reads (including parsing) and writes are timed per config type
+ * (config.repository.load / config.repository.save).
  *
  * @author Moritz F. Becker
  * @version 2.0.0
  */
 @Repository
+@RequiredArgsConstructor
 public class ConfigRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(ConfigRepository.class);
     private static final String CONFIG_DIR = "config";
-    private final Yaml yaml = new Yaml();
+    private static final String SCHEMA_SUFFIX = ".schema";
+    private final YamlFlattener yamlFlattener = new YamlFlattener();
+    private final PropertiesCodec propertiesCodec = new PropertiesCodec();
+    private final Yaml documentYaml = createDocumentYaml();
+    private final MeterRegistry meterRegistry;
 
     /**
      * Load configuration from file
@@ -48,6 +62,8 @@ public class ConfigRepository {
             return new HashMap<>();
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
             if (type == ConfigType.I18N) {
                 return loadProperties(filePath);
@@ -55,9 +71,12 @@ public class ConfigRepository {
                 return loadYaml(filePath);
             }
         } catch (IOException e) {
+            outcome = "error";
             LoggerUtil.error(logger, "CONFIG_REPO_ERR_001", "Failed to load config", e,
                     Map.of("path", filePath.toString()));
             return new HashMap<>();
+        } finally {
+            sample.stop(fileTimer("config.repository.load", "Config file read and parse duration", type, outcome));
         }
     }
 
@@ -68,9 +87,12 @@ public class ConfigRepository {
      * @param language Language code (null for non-i18n)
      * @param type Config type
      * @param values Configuration key-value pairs
+     * @throws UncheckedIOException if the file could not be written (callers must not record the change)
      */
     public void save(String category, String language, ConfigType type, Map<String, String> values) {
         Path filePath = getFilePath(category, language, type);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
 
         try {
             // Ensure parent directory exists
@@ -86,8 +108,12 @@ public class ConfigRepository {
                     Map.of("path", filePath.toString(), "entries", values.size()));
 
         } catch (IOException e) {
+            outcome = "error";
             LoggerUtil.error(logger, "CONFIG_REPO_ERR_002", "Failed to save config", e,
                     Map.of("path", filePath.toString()));
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(fileTimer("config.repository.save", "Config file write duration", type, outcome));
         }
     }
 
@@ -124,6 +150,7 @@ public class ConfigRepository {
                     .map(Path::getFileName)
                     .map(Path::toString)
                     .map(name -> name.replaceFirst("\\.(properties|yml|yaml)$", ""))
+                    .filter(name -> !name.endsWith(SCHEMA_SUFFIX))
                     .collect(Collectors.toList());
         } catch (IOException e) {
             LoggerUtil.error(logger, "CONFIG_REPO_ERR_003", "Failed to list categories", e,
@@ -185,6 +212,51 @@ public class ConfigRepository {
         }
     }
 
+    /**
+     * Load CUSTOM config as structured document
+     *
+     * Keeps lists, numbers and booleans as parsed by YAML.
+     *
+     * @param name Document name
+     * @return Document tree (empty if the file does not exist)
+     */
+    public Map<String, Object> loadDocument(String name) {
+        Map<String, Object> document = loadYamlDocument(getFilePath(name, null, ConfigType.CUSTOM));
+        return document != null ? document : new LinkedHashMap<>();
+    }
+
+    /**
+     * Save CUSTOM config as structured document
+     *
+     * @param name Document name
+     * @param content Document tree
+     * @throws UncheckedIOException if the file could not be written (callers must not record the change)
+     */
+    public void saveDocument(String name, Map<String, Object> content) {
+        saveYamlDocument(getFilePath(name, null, ConfigType.CUSTOM), content, name);
+    }
+
+    /**
+     * Load schema of a CUSTOM config
+     *
+     * @param name Document name
+     * @return Schema definition or null if the document has no schema
+     */
+    public Map<String, Object> loadSchema(String name) {
+        return loadYamlDocument(getFilePath(name + SCHEMA_SUFFIX, null, ConfigType.CUSTOM));
+    }
+
+    /**
+     * Save schema of a CUSTOM config
+     *
+     * @param name Document name
+     * @param schema Schema definition
+     * @throws UncheckedIOException if the file could not be written
+     */
+    public void saveSchema(String name, Map<String, Object> schema) {
+        saveYamlDocument(getFilePath(name + SCHEMA_SUFFIX, null, ConfigType.CUSTOM), schema, name + SCHEMA_SUFFIX);
+    }
+
     // Private helper methods
 
     /**
@@ -217,121 +289,143 @@ public class ConfigRepository {
      * Load .properties file
      */
     private Map<String, String> loadProperties(Path filePath) throws IOException {
-        Properties properties = new Properties();
-        try (InputStream input = Files.newInputStream(filePath);
-             InputStreamReader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
-            properties.load(reader);
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            return propertiesCodec.parse(reader).getValues();
         }
-
-        Map<String, String> result = new HashMap<>();
-        for (String key : properties.stringPropertyNames()) {
-            result.put(key, properties.getProperty(key));
-        }
-        return result;
     }
 
     /**
      * Save .properties file
+     *
+     * Keeps header, comments and key order of the existing file, new keys
+     * are appended sorted at the end.
      */
     private void saveProperties(Path filePath, Map<String, String> values, String category, String language) throws IOException {
-        Properties properties = new Properties();
-        properties.putAll(values);
+        PropertiesCodec.Document previous = null;
+        if (Files.exists(filePath)) {
+            try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+                previous = propertiesCodec.parse(reader);
+            }
+        }
+
+        List<String> header = List.of(
+                "# Eckert Preisser Enterprise - i18n Configuration",
+                "# Category: " + category,
+                "# Language: " + language.toUpperCase(),
+                "# Generated: " + new Date(),
+                "#",
+                "# DO NOT EDIT MANUALLY - Managed by Config Server"
+        );
 
         try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            // Write header
-            writer.write("# Eckert Preisser Enterprise - i18n Configuration\n");
-            writer.write("# Category: " + category + "\n");
-            writer.write("# Language: " + language.toUpperCase() + "\n");
-            writer.write("# Generated: " + new Date() + "\n");
-            writer.write("#\n");
-            writer.write("# DO NOT EDIT MANUALLY - Managed by Config Server\n");
-            writer.write("\n");
-
-            // Write sorted properties
-            properties.stringPropertyNames().stream()
-                    .sorted()
-                    .forEach(key -> {
-                        try {
-                            writer.write(key + "=" + properties.getProperty(key) + "\n");
-                        } catch (IOException e) {
-                            throw new UncheckedIOException(e);
-                        }
-                    });
+            propertiesCodec.write(writer, values, previous, header);
         }
     }
 
     /**
      * Load .yml file
      */
-    @SuppressWarnings("unchecked")
     private Map<String, String> loadYaml(Path filePath) throws IOException {
-        try (InputStream input = Files.newInputStream(filePath)) {
-            Map<String, Object> yamlData = yaml.load(input);
-            return flattenYaml(yamlData);
-        }
+        return yamlFlattener.parse(Files.readString(filePath, StandardCharsets.UTF_8)).getValues();
     }
 
     /**
      * Save .yml file
+     *
+     * Keeps key order and comments of the existing file, new keys are
+     * appended sorted below their parent section.
+     *
+     * @throws YamlFlattener.KeyConflictException if a key is also a section (file left untouched)
      */
     private void saveYaml(Path filePath, Map<String, String> values, String category) throws IOException {
-        Map<String, Object> nestedMap = unflattenYaml(values);
+        yamlFlattener.checkKeys(values.keySet());
+
+        YamlFlattener.Document previous = Files.exists(filePath)
+                ? yamlFlattener.parse(Files.readString(filePath, StandardCharsets.UTF_8))
+                : null;
 
         try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-            // Write header
-            writer.write("# Eckert Preisser Enterprise - Configuration\n");
-            writer.write("# Category: " + category + "\n");
-            writer.write("# Generated: " + new Date() + "\n");
-            writer.write("#\n");
-            writer.write("# DO NOT EDIT MANUALLY - Managed by Config Server\n");
-            writer.write("\n");
-
-            // Write YAML
-            yaml.dump(nestedMap, writer);
+            yamlFlattener.writeHeader(writer, category);
+            yamlFlattener.write(writer, values, previous);
         }
     }
 
     /**
-     * Flatten nested YAML map to dot notation
+     * Load .yml file as document tree (null if missing or unreadable)
      */
-    private Map<String, String> flattenYaml(Map<String, Object> map) {
-        Map<String, String> result = new HashMap<>();
-        flattenYamlRecursive("", map, result);
-        return result;
-    }
-
     @SuppressWarnings("unchecked")
-    private void flattenYamlRecursive(String prefix, Map<String, Object> map, Map<String, String> result) {
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
-            Object value = entry.getValue();
+    private Map<String, Object> loadYamlDocument(Path filePath) {
+        if (!Files.exists(filePath)) {
+            return null;
+        }
 
-            if (value instanceof Map) {
-                flattenYamlRecursive(key, (Map<String, Object>) value, result);
-            } else {
-                result.put(key, value != null ? value.toString() : "");
-            }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try (InputStream input = Files.newInputStream(filePath)) {
+            Object document = documentYaml.load(input);
+            return document instanceof Map ? (Map<String, Object>) document : new LinkedHashMap<>();
+        } catch (IOException e) {
+            outcome = "error";
+            LoggerUtil.error(logger, "CONFIG_REPO_ERR_001", "Failed to load config", e,
+                    Map.of("path", filePath.toString()));
+            return null;
+        } finally {
+            sample.stop(fileTimer("config.repository.load", "Config file read and parse duration",
+                    ConfigType.CUSTOM, outcome));
         }
     }
 
     /**
-     * Unflatten dot notation to nested map for YAML
+     * Save document tree as block-style .yml file
      */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> unflattenYaml(Map<String, String> flatMap) {
-        Map<String, Object> result = new HashMap<>();
+    private void saveYamlDocument(Path filePath, Map<String, Object> document, String name) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            Files.createDirectories(filePath.getParent());
 
-        for (Map.Entry<String, String> entry : flatMap.entrySet()) {
-            String[] keys = entry.getKey().split("\\.");
-            Map<String, Object> current = result;
+            try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+                // Write header
+                writer.write("# Eckert Preisser Enterprise - Custom Configuration\n");
+                writer.write("# Name: " + name + "\n");
+                writer.write("# Generated: " + new Date() + "\n");
+                writer.write("#\n");
+                writer.write("# DO NOT EDIT MANUALLY - Managed by Config Server\n");
+                writer.write("\n");
 
-            for (int i = 0; i < keys.length - 1; i++) {
-                current = (Map<String, Object>) current.computeIfAbsent(keys[i], k -> new HashMap<>());
+                documentYaml.dump(document, writer);
             }
 
-            current.put(keys[keys.length - 1], entry.getValue());
+            LoggerUtil.info(logger, "CONFIG_REPO_002", "Config saved successfully",
+                    Map.of("path", filePath.toString(), "entries", document.size()));
+
+        } catch (IOException e) {
+            outcome = "error";
+            LoggerUtil.error(logger, "CONFIG_REPO_ERR_002", "Failed to save config", e,
+                    Map.of("path", filePath.toString()));
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(fileTimer("config.repository.save", "Config file write duration",
+                    ConfigType.CUSTOM, outcome));
         }
+    }
+
+    /**
+     * Timer for file operations, tagged by config type and outcome
+     */
+    private Timer fileTimer(String name, String description, ConfigType type, String outcome) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
-        return result;
+    private static Yaml createDocumentYaml() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setIndent(2);
+        return new Yaml(options);
     }
 }
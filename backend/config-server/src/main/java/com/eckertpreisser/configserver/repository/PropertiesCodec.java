@@ -0,0 +1,326 @@
+package com.eckertpreisser.configserver.repository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PropertiesCodec - Streaming .properties parser/writer for i18n files
+ *
+ * Parses line by line straight into an insertion-ordered map (no
+ * synchronized Properties/Hashtable in between) and follows the
+ * java.util.Properties syntax: continuation lines, '=', ':' or whitespace
+ * separators, escapes and unicode escapes. Comment blocks are kept with
+ * the key below them, so write() reproduces the file layout: existing keys
+ * keep position and comments, new keys are appended sorted. Values are
+ * escaped on write, so multi-line values survive a save.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class PropertiesCodec {
+
+    private static final String GENERATED_PREFIX = "# Generated:";
+
+    /**
+     * Parsed .properties file: values plus the layout needed to write it back
+     */
+    public static final class Document {
+
+        private final Map<String, String> values = new LinkedHashMap<>();
+        private final Map<String, List<String>> comments = new HashMap<>();
+        private final List<String> header = new ArrayList<>();
+        private final List<String> trailer = new ArrayList<>();
+
+        /**
+         * Values in file order
+         */
+        public Map<String, String> getValues() {
+            return values;
+        }
+
+        /**
+         * Leading comment block of the file (up to the first blank line)
+         */
+        public List<String> getHeader() {
+            return Collections.unmodifiableList(header);
+        }
+    }
+
+    /**
+     * Parse .properties content
+     *
+     * @param reader Source reader (UTF-8)
+     * @return Parsed document
+     * @throws IOException if reading fails
+     */
+    public Document parse(Reader reader) throws IOException {
+        Document document = new Document();
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        StringBuilder logical = new StringBuilder(256);
+        List<String> pendingComments = new ArrayList<>();
+        boolean inHeader = true;
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            int start = skipWhitespace(line, 0);
+
+            if (start == line.length()) {
+                if (inHeader && pendingComments.isEmpty()) {
+                    continue; // leading blank lines
+                }
+                if (inHeader) {
+                    document.header.addAll(pendingComments);
+                    pendingComments.clear();
+                    inHeader = false;
+                } else {
+                    pendingComments.add("");
+                }
+                continue;
+            }
+
+            char first = line.charAt(start);
+            if (first == '#' || first == '!') {
+                pendingComments.add(line);
+                continue;
+            }
+            inHeader = false;
+
+            // Join continuation lines (odd number of trailing backslashes), single lines are parsed in place
+            CharSequence entry = start == 0 ? line : line.substring(start);
+            if (endsWithContinuation(entry)) {
+                logical.setLength(0);
+                logical.append(entry);
+                while (endsWithContinuation(logical) && (line = lines.readLine()) != null) {
+                    logical.setLength(logical.length() - 1);
+                    logical.append(line, skipWhitespace(line, 0), line.length());
+                }
+                entry = logical;
+            }
+
+            String key = parseEntry(entry, document.values);
+            if (!pendingComments.isEmpty()) {
+                document.comments.put(key, new ArrayList<>(pendingComments));
+                pendingComments.clear();
+            }
+        }
+
+        document.trailer.addAll(pendingComments);
+        return document;
+    }
+
+    /**
+     * Write values in a single buffered pass
+     *
+     * @param writer Target writer (UTF-8)
+     * @param values Values to write
+     * @param previous Previous parse of the same file for layout (may be null)
+     * @param defaultHeader Header lines used if the file has none yet
+     * @throws IOException if writing fails
+     */
+    public void write(Writer writer, Map<String, String> values, Document previous,
+                      List<String> defaultHeader) throws IOException {
+        List<String> header = previous != null && !previous.header.isEmpty() ? previous.header : defaultHeader;
+        for (String line : header) {
+            writer.write(line.startsWith(GENERATED_PREFIX) ? GENERATED_PREFIX + " " + new Date() : line);
+            writer.write('\n');
+        }
+        writer.write('\n');
+
+        StringBuilder escaped = new StringBuilder(256);
+        List<String> carriedComments = new ArrayList<>();
+
+        // Existing keys first in file order; comments of removed keys move to the next key
+        if (previous != null) {
+            for (String key : previous.values.keySet()) {
+                carriedComments.addAll(previous.comments.getOrDefault(key, Collections.emptyList()));
+                if (values.containsKey(key)) {
+                    writeComments(writer, carriedComments);
+                    carriedComments.clear();
+                    writeEntry(writer, escaped, key, values.get(key));
+                }
+            }
+        }
+
+        // New keys sorted at the end
+        List<String> newKeys = new ArrayList<>();
+        for (String key : values.keySet()) {
+            if (previous == null || !previous.values.containsKey(key)) {
+                newKeys.add(key);
+            }
+        }
+        Collections.sort(newKeys);
+
+        for (String key : newKeys) {
+            writeComments(writer, carriedComments);
+            carriedComments.clear();
+            writeEntry(writer, escaped, key, values.get(key));
+        }
+
+        writeComments(writer, carriedComments);
+        if (previous != null) {
+            writeComments(writer, previous.trailer);
+        }
+    }
+
+    // ========================================
+    // Parsing
+    // ========================================
+
+    /**
+     * Split logical line into key and value, unescape both
+     *
+     * @return Parsed key
+     */
+    private String parseEntry(CharSequence line, Map<String, String> values) {
+        int length = line.length();
+        int keyEnd = 0;
+        boolean escape = false;
+
+        while (keyEnd < length) {
+            char c = line.charAt(keyEnd);
+            if (escape) {
+                escape = false;
+            } else if (c == '\\') {
+                escape = true;
+            } else if (c == '=' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            keyEnd++;
+        }
+
+        int valueStart = skipWhitespace(line, keyEnd);
+        if (valueStart < length && (line.charAt(valueStart) == '=' || line.charAt(valueStart) == ':')) {
+            valueStart = skipWhitespace(line, valueStart + 1);
+        }
+
+        String key = unescape(line, 0, keyEnd);
+        values.put(key, unescape(line, valueStart, length));
+        return key;
+    }
+
+    private static String unescape(CharSequence line, int start, int end) {
+        int firstEscape = -1;
+        for (int i = start; i < end; i++) {
+            if (line.charAt(i) == '\\') {
+                firstEscape = i;
+                break;
+            }
+        }
+        if (firstEscape < 0) {
+            return line.subSequence(start, end).toString();
+        }
+
+        StringBuilder result = new StringBuilder(end - start);
+        result.append(line, start, firstEscape);
+        for (int i = firstEscape; i < end; i++) {
+            char c = line.charAt(i);
+            if (c != '\\' || i + 1 >= end) {
+                result.append(c);
+                continue;
+            }
+
+            char next = line.charAt(++i);
+            switch (next) {
+                case 't' -> result.append('\t');
+                case 'n' -> result.append('\n');
+                case 'r' -> result.append('\r');
+                case 'f' -> result.append('\f');
+                case 'u' -> {
+                    if (i + 4 < end) {
+                        result.append((char) Integer.parseInt(line.subSequence(i + 1, i + 5).toString(), 16));
+                        i += 4;
+                    } else {
+                        result.append(next);
+                    }
+                }
+                default -> result.append(next);
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean endsWithContinuation(CharSequence line) {
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    private static int skipWhitespace(CharSequence line, int index) {
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    // ========================================
+    // Writing
+    // ========================================
+
+    private static void writeComments(Writer writer, List<String> comments) throws IOException {
+        for (String comment : comments) {
+            writer.write(comment);
+            writer.write('\n');
+        }
+    }
+
+    private static void writeEntry(Writer writer, StringBuilder escaped, String key, String value) throws IOException {
+        escaped.setLength(0);
+        escape(escaped, key, true);
+        escaped.append('=');
+        escape(escaped, value != null ? value : "", false);
+        escaped.append('\n');
+        writer.append(escaped);
+    }
+
+    /**
+     * Escape for .properties (UTF-8 file, so non-ASCII stays readable)
+     */
+    private static void escape(StringBuilder out, String text, boolean isKey) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\f' -> out.append("\\f");
+                case ' ' -> {
+                    if (isKey || i == 0) {
+                        out.append('\\');
+                    }
+                    out.append(' ');
+                }
+                case '=', ':' -> {
+                    if (isKey) {
+                        out.append('\\');
+                    }
+                    out.append(c);
+                }
+                case '#', '!' -> {
+                    if (isKey && i == 0) {
+                        out.append('\\');
+                    }
+                    out.append(c);
+                }
+                default -> {
+                    if (c < 0x20 || c == 0x7f) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
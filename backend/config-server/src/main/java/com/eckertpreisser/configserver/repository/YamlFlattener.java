@@ -0,0 +1,628 @@
+package com.eckertpreisser.configserver.repository;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.comments.CommentType;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.CommentEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * YamlFlattener - Order- and comment-preserving YAML flatten/unflatten
+ *
+ * Flattens nested YAML to dot notation directly from the SnakeYAML event
+ * stream (no intermediate object tree) into an insertion-ordered map,
+ * reusing one prefix buffer for all keys. The parse result remembers key
+ * order, comments and scalar style, so write() can emit the file again
+ * with the same layout: existing keys keep their position, new keys are
+ * appended in sorted order below their parent.
+ *
+ * Sequences keep the legacy flat form (List.toString(), e.g. "[a, b]").
+ * Documents using anchors/aliases fall back to the object-model flatten.
+ * Plain scalars read the same either way: booleans, numbers and
+ * timestamps are rendered like the constructed object (yes -> true,
+ * 0x1F -> 31), as the object-model loader always did.
+ *
+ * A key cannot be both a value and a section (a=1 and a.b=2): write()
+ * rejects such key sets with KeyConflictException instead of dropping a value.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class YamlFlattener {
+
+    private static final String INDENT = "  ";
+
+    // Generated header (writeHeader) - comment text after '#'
+    private static final String HEADER_TITLE = " Eckert Preisser Enterprise - Configuration";
+    private static final String HEADER_CATEGORY = " Category: ";
+    private static final String HEADER_GENERATED = " Generated: ";
+    private static final String HEADER_NOTICE = " DO NOT EDIT MANUALLY - Managed by Config Server";
+    private static final String PLAIN_UNSAFE_START = "-?:,[]{}#&*!|>'\"%@`";
+    private static final Pattern CANONICAL_INT = Pattern.compile("0|-?[1-9][0-9]*");
+
+    private final Resolver resolver = new Resolver();
+
+    /**
+     * Parsed YAML file: flat values plus the layout needed to write it back
+     */
+    public static final class Document {
+
+        private final Map<String, String> values = new LinkedHashMap<>();
+        private final Map<String, List<String>> comments = new HashMap<>();
+        private final Map<String, String> inlineComments = new HashMap<>();
+        private final Set<String> plainScalars = new HashSet<>();
+        private final Set<String> flowSequences = new HashSet<>(); // written back as [a, b]
+
+        /**
+         * Flat values in file order
+         */
+        public Map<String, String> getValues() {
+            return values;
+        }
+
+        /**
+         * Comment lines directly above a key or section ("" = blank line)
+         */
+        public List<String> getComments(String path) {
+            return comments.getOrDefault(path, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Parse YAML content into flat values with layout information
+     *
+     * A leading comment block that is exactly the header written by
+     * writeHeader() is dropped (the next write emits a fresh one). Any
+     * other comments, including hand-written file headers, are kept.
+     *
+     * @param content YAML content
+     * @return Parsed document
+     */
+    public Document parse(String content) {
+        try {
+            return parseEvents(content);
+        } catch (UnsupportedStructureException e) {
+            return parseObjectModel(content);
+        }
+    }
+
+    /**
+     * Write the generated file header (followed by a blank line)
+     *
+     * @param writer Target writer
+     * @param category Config category
+     * @throws IOException if writing fails
+     */
+    public void writeHeader(Writer writer, String category) throws IOException {
+        writer.write("#" + HEADER_TITLE + "\n");
+        writer.write("#" + HEADER_CATEGORY + category + "\n");
+        writer.write("#" + HEADER_GENERATED + new Date() + "\n");
+        writer.write("#\n");
+        writer.write("#" + HEADER_NOTICE + "\n");
+        writer.write("\n");
+    }
+
+    /**
+     * Write flat values as nested YAML
+     *
+     * @param writer Target writer
+     * @param values Flat values to write
+     * @param previous Previous parse of the same file for layout (may be null)
+     * @throws KeyConflictException if a key is also a section (checked before anything is written)
+     * @throws IOException if writing fails
+     */
+    public void write(Writer writer, Map<String, String> values, Document previous) throws IOException {
+        checkKeys(values.keySet());
+        Node root = new Node();
+
+        // Existing keys first in file order, then new keys sorted
+        if (previous != null) {
+            for (String key : previous.values.keySet()) {
+                if (values.containsKey(key)) {
+                    root.insert(key, values.get(key));
+                }
+            }
+        }
+        values.keySet().stream()
+                .filter(key -> previous == null || !previous.values.containsKey(key))
+                .sorted()
+                .forEach(key -> root.insert(key, values.get(key)));
+
+        StringBuilder path = new StringBuilder(64);
+        writeNode(writer, root, 0, path, previous);
+    }
+
+    /**
+     * Reject key sets that cannot be written as YAML
+     *
+     * Call before truncating the target file.
+     *
+     * @throws KeyConflictException if a key is also the prefix of another key (a and a.b)
+     */
+    public void checkKeys(Set<String> keys) {
+        List<String> conflicts = new ArrayList<>();
+        for (String key : keys) {
+            int dot = key.indexOf('.');
+            while (dot >= 0) {
+                String section = key.substring(0, dot);
+                if (keys.contains(section)) {
+                    conflicts.add(section + " / " + key);
+                    break;
+                }
+                dot = key.indexOf('.', dot + 1);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            Collections.sort(conflicts);
+            throw new KeyConflictException(conflicts);
+        }
+    }
+
+    // ========================================
+    // Parsing
+    // ========================================
+
+    private Document parseEvents(String content) {
+        Document document = new Document();
+        LoaderOptions options = new LoaderOptions();
+        options.setProcessComments(true);
+        Iterator<Event> events = new Yaml(options).parse(new StringReader(content)).iterator();
+
+        // Base prefix length per open mapping; prefix buffer is shared by all keys
+        Deque<Integer> mappings = new ArrayDeque<>();
+        StringBuilder path = new StringBuilder(64);
+        List<String> pendingComments = new ArrayList<>();
+        boolean expectingKey = false;
+        boolean headerDone = false;
+        String lastValuePath = null;
+
+        while (events.hasNext()) {
+            Event event = events.next();
+
+            if (event instanceof CommentEvent comment) {
+                if (comment.getCommentType() == CommentType.IN_LINE && lastValuePath != null) {
+                    document.inlineComments.put(lastValuePath, comment.getValue());
+                } else if (comment.getCommentType() == CommentType.BLANK_LINE) {
+                    boolean headerDropped = !headerDone && dropGeneratedHeader(pendingComments);
+                    headerDone = true;
+                    if (!headerDropped) {
+                        pendingComments.add(""); // the blank line after the header belongs to it
+                    }
+                } else {
+                    pendingComments.add(comment.getValue());
+                }
+                continue;
+            }
+
+            if (event instanceof AliasEvent) {
+                throw new UnsupportedStructureException();
+            }
+
+            if (event instanceof MappingStartEvent) {
+                if (!mappings.isEmpty() && expectingKey) {
+                    throw new UnsupportedStructureException(); // complex key
+                }
+                mappings.push(path.length());
+                expectingKey = true;
+                lastValuePath = null;
+            } else if (event instanceof MappingEndEvent) {
+                mappings.pop();
+                expectingKey = true;
+            } else if (event instanceof ScalarEvent scalar && !mappings.isEmpty()) {
+                if (expectingKey) {
+                    int base = mappings.peek();
+                    path.setLength(base);
+                    if (base > 0) {
+                        path.append('.');
+                    }
+                    path.append(scalar.getValue());
+
+                    if (!headerDone) {
+                        dropGeneratedHeader(pendingComments);
+                        headerDone = true;
+                    }
+                    if (!pendingComments.isEmpty()) {
+                        document.comments.put(path.toString(), new ArrayList<>(pendingComments));
+                        pendingComments.clear();
+                    }
+                    expectingKey = false;
+                    lastValuePath = null;
+                } else {
+                    String key = path.toString();
+                    String value = scalarValue(scalar);
+                    document.values.put(key, value != null ? value : "");
+                    if (scalar.isPlain()) {
+                        document.plainScalars.add(key);
+                    }
+                    lastValuePath = key;
+                    expectingKey = true;
+                }
+            } else if (event instanceof SequenceStartEvent && !mappings.isEmpty()) {
+                if (expectingKey) {
+                    throw new UnsupportedStructureException(); // complex key
+                }
+                String key = path.toString();
+                List<Object> items = new ArrayList<>();
+                boolean simple = collectSequence(events, items);
+                document.values.put(key, items.toString());
+                if (simple) {
+                    document.flowSequences.add(key);
+                }
+                lastValuePath = key;
+                expectingKey = true;
+            }
+        }
+
+        return document;
+    }
+
+    /**
+     * Remove the leading comments if they are exactly the writeHeader() block
+     *
+     * @return true if removed
+     */
+    private static boolean dropGeneratedHeader(List<String> comments) {
+        if (comments.size() == 5
+                && comments.get(0).equals(HEADER_TITLE)
+                && comments.get(1).startsWith(HEADER_CATEGORY)
+                && comments.get(2).startsWith(HEADER_GENERATED)
+                && comments.get(3).isEmpty()
+                && comments.get(4).equals(HEADER_NOTICE)) {
+            comments.clear();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Collect sequence items (legacy List.toString() form)
+     *
+     * @return true if all items are scalars that can be written back as a flow sequence
+     */
+    private boolean collectSequence(Iterator<Event> events, List<Object> items) {
+        boolean simple = true;
+        while (events.hasNext()) {
+            Event event = events.next();
+            if (event instanceof SequenceEndEvent) {
+                return simple;
+            } else if (event instanceof ScalarEvent scalar) {
+                String value = scalarValue(scalar);
+                items.add(value);
+                simple &= value != null && isFlowSafe(value);
+            } else if (event instanceof SequenceStartEvent) {
+                List<Object> nested = new ArrayList<>();
+                collectSequence(events, nested);
+                items.add(nested);
+                simple = false;
+            } else if (event instanceof MappingStartEvent) {
+                items.add(collectMapping(events));
+                simple = false;
+            } else if (event instanceof AliasEvent) {
+                throw new UnsupportedStructureException();
+            }
+        }
+        return simple;
+    }
+
+    private Map<String, Object> collectMapping(Iterator<Event> events) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        String key = null;
+        while (events.hasNext()) {
+            Event event = events.next();
+            Object value;
+            if (event instanceof MappingEndEvent) {
+                return map;
+            } else if (event instanceof ScalarEvent scalar) {
+                if (key == null) {
+                    key = scalar.getValue();
+                    continue;
+                }
+                value = scalarValue(scalar);
+            } else if (event instanceof SequenceStartEvent) {
+                List<Object> nested = new ArrayList<>();
+                collectSequence(events, nested);
+                value = nested;
+            } else if (event instanceof MappingStartEvent) {
+                value = collectMapping(events);
+            } else if (event instanceof AliasEvent) {
+                throw new UnsupportedStructureException();
+            } else {
+                continue;
+            }
+            if (key == null) {
+                throw new UnsupportedStructureException(); // complex key
+            }
+            map.put(key, value);
+            key = null;
+        }
+        return map;
+    }
+
+    /**
+     * Scalar text as the object model renders it (null for YAML null)
+     *
+     * Canonical forms (true, 8080, 0.5) are returned as they are; only
+     * other spellings of typed values are constructed and rendered.
+     */
+    private String scalarValue(ScalarEvent scalar) {
+        String value = scalar.getValue();
+        if (!scalar.isPlain()) {
+            return value;
+        }
+
+        Tag tag = resolver.resolve(NodeId.scalar, value, true);
+        if (tag == Tag.NULL) {
+            return null;
+        }
+        if (tag == Tag.STR || isCanonical(tag, value)) {
+            return value;
+        }
+        Object constructed = new Yaml(new LoaderOptions()).load(value);
+        return String.valueOf(constructed);
+    }
+
+    private static boolean isCanonical(Tag tag, String value) {
+        if (tag == Tag.BOOL) {
+            return value.equals("true") || value.equals("false");
+        }
+        if (tag == Tag.INT) {
+            return CANONICAL_INT.matcher(value).matches();
+        }
+        if (tag == Tag.FLOAT) {
+            try {
+                return Double.toString(Double.parseDouble(value)).equals(value);
+            } catch (NumberFormatException e) {
+                return false; // .inf, .nan, 1_000.5
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fallback for anchors, aliases and merge keys: resolve via object model
+     */
+    @SuppressWarnings("unchecked")
+    private Document parseObjectModel(String content) {
+        Document document = new Document();
+        Object data = new Yaml(new LoaderOptions()).load(content);
+        if (data instanceof Map) {
+            flattenObjects(new StringBuilder(64), (Map<String, Object>) data, document.values);
+        }
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flattenObjects(StringBuilder path, Map<String, Object> map, Map<String, String> result) {
+        int base = path.length();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            path.setLength(base);
+            if (base > 0) {
+                path.append('.');
+            }
+            path.append(entry.getKey());
+
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                flattenObjects(path, (Map<String, Object>) value, result);
+            } else {
+                result.put(path.toString(), value != null ? value.toString() : "");
+            }
+        }
+        path.setLength(base);
+    }
+
+    // ========================================
+    // Writing
+    // ========================================
+
+    private void writeNode(Writer writer, Node node, int depth, StringBuilder path, Document previous)
+            throws IOException {
+        int base = path.length();
+
+        for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+            path.setLength(base);
+            if (base > 0) {
+                path.append('.');
+            }
+            path.append(entry.getKey());
+            String key = path.toString();
+            Node child = entry.getValue();
+
+            if (previous != null) {
+                for (String comment : previous.getComments(key)) {
+                    if (comment.isEmpty()) {
+                        writer.write('\n');
+                    } else {
+                        indent(writer, depth);
+                        writer.write('#');
+                        writer.write(comment);
+                        writer.write('\n');
+                    }
+                }
+            }
+
+            indent(writer, depth);
+            writer.write(formatKey(entry.getKey()));
+            writer.write(':');
+
+            if (!child.children.isEmpty()) {
+                writer.write('\n');
+                writeNode(writer, child, depth + 1, path, previous);
+            } else {
+                writer.write(' ');
+                writer.write(formatValue(key, child.value, previous));
+                String inline = previous != null ? previous.inlineComments.get(key) : null;
+                if (inline != null) {
+                    writer.write(" #");
+                    writer.write(inline);
+                }
+                writer.write('\n');
+            }
+        }
+
+        path.setLength(base);
+    }
+
+    private void indent(Writer writer, int depth) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    private String formatKey(String key) {
+        return isPlainSafe(key) && resolvesToString(key) ? key : quote(key);
+    }
+
+    private String formatValue(String key, String value, Document previous) {
+        if (value == null || value.isEmpty()) {
+            return "\"\"";
+        }
+        if (previous != null && previous.flowSequences.contains(key)
+                && value.startsWith("[") && value.endsWith("]")) {
+            return value;
+        }
+        if (!isPlainSafe(value)) {
+            return quote(value);
+        }
+        // Untyped strings stay plain; numbers/booleans only if they were written plain before
+        if (resolvesToString(value) || (previous != null && previous.plainScalars.contains(key))) {
+            return value;
+        }
+        return quote(value);
+    }
+
+    private boolean resolvesToString(String value) {
+        return resolver.resolve(NodeId.scalar, value, true) == Tag.STR;
+    }
+
+    private static boolean isPlainSafe(String value) {
+        if (value.isEmpty()
+                || PLAIN_UNSAFE_START.indexOf(value.charAt(0)) >= 0
+                || Character.isWhitespace(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1))
+                || value.endsWith(":")) {
+            return false;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == 0x7f) {
+                return false;
+            }
+            if (c == ':' && i + 1 < value.length() && value.charAt(i + 1) == ' ') {
+                return false; // would start a mapping
+            }
+            if (c == '#' && value.charAt(i - 1) == ' ') {
+                return false; // would start a comment
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFlowSafe(String value) {
+        if (!isPlainSafe(value)) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (",[]{}".indexOf(value.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 8);
+        quoted.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20 || c == 0x7f) {
+                        quoted.append(String.format("\\x%02x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Nested key tree built from dot notation (no regex split)
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private String value;
+
+        private void insert(String key, String value) {
+            Node current = this;
+            int start = 0;
+            int dot;
+            while ((dot = key.indexOf('.', start)) >= 0) {
+                current = current.children.computeIfAbsent(key.substring(start, dot), segment -> new Node());
+                start = dot + 1;
+            }
+            current.children.computeIfAbsent(key.substring(start), segment -> new Node()).value = value;
+        }
+    }
+
+    /**
+     * Thrown when a key is both a value and a section (a=1 and a.b=2)
+     */
+    public static class KeyConflictException extends IllegalArgumentException {
+
+        private final List<String> conflicts;
+
+        public KeyConflictException(List<String> conflicts) {
+            super("Keys are both a value and a section: " + conflicts);
+            this.conflicts = conflicts;
+        }
+
+        /**
+         * Conflicting key pairs ("a / a.b")
+         */
+        public List<String> getConflicts() {
+            return conflicts;
+        }
+    }
+
+    private static final class UnsupportedStructureException extends RuntimeException {
+        private UnsupportedStructureException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -50,25 +50,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            // Extract username from token
-            username = jwtUtil.extractUsername(jwt);
+            // Verify token (signature + expiry) and extract username in one parse
+            username = jwtUtil.verify(jwt).getSubject();
 
             // If username exists and no authentication is set yet
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Validate token
-                if (jwtUtil.validateToken(jwt, username)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
-                            null,
-                            new ArrayList<>() // No roles needed for simple auth
-                    );
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        username,
+                        null,
+                        new ArrayList<>() // No roles needed for simple auth
+                );
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    // Set authentication in context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                // Set authentication in context
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Token invalid - continue without authentication
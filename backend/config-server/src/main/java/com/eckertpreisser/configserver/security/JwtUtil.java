@@ -1,20 +1,20 @@
 package com.eckertpreisser.configserver.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.eckertpreisser.common.security.JwtTokenVerifier;
+import com.eckertpreisser.common.security.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * JwtUtil - JWT token generation and validation
  *
  * Simple JWT utility for Config Editor authentication.
+ * Signing key and parser are built once and verified tokens are cached
+ * until they expire (JwtTokenVerifier).
  *
  * @author Moritz F. Becker
  * @version 2.0.0
@@ -28,64 +28,43 @@ public class JwtUtil {
     @Value("${config.auth.jwt.expiration:86400000}") // 24 hours
     private long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${config.auth.jwt.cache-size:1000}") // verified tokens kept until expiry
+    private int cacheSize;
+
+    private JwtTokenVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        verifier = new JwtTokenVerifier(secret, cacheSize);
     }
 
     /**
      * Generate JWT token for username
      */
     public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        return verifier.generateToken(username, Map.of(), expiration);
     }
 
     /**
-     * Create JWT token with claims
+     * Verify token (signature + expiry) and parse it once
+     *
+     * @throws JwtException if the token is invalid or expired
      */
-    private String createToken(Map<String, Object> claims, String subject) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
-
-        return Jwts.builder()
-                .claims(claims)
-                .subject(subject)
-                .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    public VerifiedToken verify(String token) {
+        return verifier.verify(token);
     }
 
     /**
      * Extract username from token
      */
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
-
-    /**
-     * Extract all claims from token
-     */
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    /**
-     * Check if token is expired
-     */
-    private Boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+        return verify(token).getSubject();
     }
 
     /**
      * Validate token
      */
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        return verifier.isValid(token, username);
     }
 }
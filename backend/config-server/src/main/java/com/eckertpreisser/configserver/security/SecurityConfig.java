@@ -3,6 +3,7 @@ package com.eckertpreisser.configserver.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -45,16 +46,30 @@ public class SecurityConfig {
                         .requestMatchers("/api/config/health").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Modifying methods are always protected (PUT/PATCH/DELETE on any config path)
+                        .requestMatchers(HttpMethod.PUT, "/api/config/**").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/api/config/**").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/config/**").authenticated()
+
+                        // Version history (protected - admin only!)
+                        .requestMatchers("/api/config/i18n/*/*/history/**").authenticated()
+                        .requestMatchers("/api/config/app/*/history/**").authenticated()
+
                         // Read endpoints (public - needed by frontend!)
                         .requestMatchers("/api/config/i18n/languages").permitAll()
                         .requestMatchers("/api/config/i18n/categories/*").permitAll()
                         .requestMatchers("/api/config/i18n/*/*").permitAll() // GET + POST (getOrCreate)
                         .requestMatchers("/api/config/app/*").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/config/features/*", "/api/config/features/*/watch").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/config/custom", "/api/config/custom/*", "/api/config/custom/*/schema").permitAll()
 
                         // Write endpoints (protected - admin only!)
                         .requestMatchers("/api/config/i18n/*/*/*").authenticated() // PUT/DELETE single keys
+                        .requestMatchers("/api/config/features/**").authenticated() // Flag writes + registration (POST)
+                        .requestMatchers("/api/config/custom/**").authenticated() // Document + schema writes
                         .requestMatchers("/api/config/cache/clear").authenticated()
-                        .requestMatchers("/api/config/restart").authenticated() // Server restart
+                        .requestMatchers("/api/config/reload").authenticated() // In-process reload
+                        .requestMatchers("/api/config/restart").authenticated() // Legacy alias of reload
 
                         .anyRequest().permitAll()
                 )
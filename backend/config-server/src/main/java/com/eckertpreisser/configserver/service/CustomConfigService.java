@@ -0,0 +1,263 @@
+package com.eckertpreisser.configserver.service;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.configserver.event.ConfigChangedEvent;
+import com.eckertpreisser.configserver.event.ConfigReloadedEvent;
+import com.eckertpreisser.configserver.model.ConfigDelta;
+import com.eckertpreisser.configserver.model.ConfigType;
+import com.eckertpreisser.configserver.model.CustomDocument;
+import com.eckertpreisser.configserver.model.CustomSchema;
+import com.eckertpreisser.configserver.repository.ConfigHistoryRepository;
+import com.eckertpreisser.configserver.repository.ConfigRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CustomConfigService - Structured CUSTOM config documents
+ *
+ * Serves config/custom/{name}.yml as typed trees instead of flattened
+ * strings. Each document is parsed (and its optional schema compiled)
+ * once per version and cached; writes are validated against the schema.
+ * Versions are recorded in the same delta history as other config types.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomConfigService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomConfigService.class);
+
+    private final ConfigRepository repository;
+    private final ConfigHistoryRepository historyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Name -> parsed document of the current version
+    private final Map<String, CustomDocument> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Load document
+     *
+     * @param name Document name (e.g., "routing")
+     * @return Parsed document (empty content if it does not exist yet)
+     */
+    public CustomDocument load(String name) {
+        CustomDocument document = documents.get(name);
+        if (document != null) {
+            return document;
+        }
+
+        return documents.computeIfAbsent(name, key -> {
+            CustomSchema schema = null;
+            try {
+                schema = compileSchema(repository.loadSchema(name));
+            } catch (CustomConfigValidationException e) {
+                LoggerUtil.warn(logger, "CONFIG_CUSTOM_WARN_001", "Ignoring malformed custom config schema",
+                        Map.of("name", name, "errors", e.getErrors().toString()));
+            }
+
+            CustomDocument parsed = new CustomDocument(name,
+                    historyRepository.latestVersion(name, null, ConfigType.CUSTOM),
+                    repository.loadDocument(name),
+                    schema);
+
+            LoggerUtil.info(logger, "CONFIG_CUSTOM_001", "Custom config parsed",
+                    Map.of("name", name, "version", parsed.getVersion()));
+            return parsed;
+        });
+    }
+
+    /**
+     * Get schema definition
+     *
+     * @param name Document name
+     * @return Raw schema definition, empty if the document has no schema
+     */
+    public Optional<Map<String, Object>> loadSchema(String name) {
+        return Optional.ofNullable(repository.loadSchema(name));
+    }
+
+    /**
+     * Validate and save document
+     *
+     * @param name Document name
+     * @param content New document tree
+     * @return Saved document with new version
+     * @throws CustomConfigValidationException if the content violates the schema
+     */
+    public CustomDocument save(String name, Map<String, Object> content) {
+        return save(name, content, null);
+    }
+
+    /**
+     * Validate and save document if it is still at expectedVersion
+     *
+     * Documents are replaced as a whole, so any newer version is a conflict.
+     *
+     * @param expectedVersion Version the client edited (null = unconditional)
+     * @return Saved document with new version
+     * @throws ConfigService.VersionConflictException if the document changed after expectedVersion
+     */
+    public synchronized CustomDocument save(String name, Map<String, Object> content, Long expectedVersion) {
+        CustomDocument current = load(name);
+        if (expectedVersion != null && expectedVersion != current.getVersion()) {
+            Map<String, String> conflicts = new LinkedHashMap<>();
+            if (expectedVersion >= 0 && expectedVersion < current.getVersion()) {
+                historyRepository.deltasSince(name, null, ConfigType.CUSTOM, expectedVersion)
+                        .forEach(delta -> delta.getChanges().forEach((key, change) ->
+                                conflicts.put(key, change.getAfter())));
+            }
+            throw new ConfigService.VersionConflictException(current.getVersion(), conflicts);
+        }
+        validate(current.getSchema(), content);
+
+        // Throws on a failed write - before the delta and the cached document
+        repository.saveDocument(name, content);
+        long version = historyRepository.append(name, null, ConfigType.CUSTOM,
+                ConfigDelta.diff(flatten(current.getContent()), flatten(content)));
+
+        CustomDocument saved = new CustomDocument(name, version, content, current.getSchema());
+        documents.put(name, saved);
+
+        eventPublisher.publishEvent(new ConfigChangedEvent(this, name, null, ConfigType.CUSTOM, version));
+
+        LoggerUtil.info(logger, "CONFIG_CUSTOM_002", "Custom config saved",
+                Map.of("name", name, "version", version));
+
+        return saved;
+    }
+
+    /**
+     * Save schema and re-validate the current document against it
+     *
+     * @param name Document name
+     * @param schema Schema definition
+     * @throws CustomConfigValidationException if the schema is malformed or
+     *         the current document does not satisfy it
+     */
+    public synchronized void saveSchema(String name, Map<String, Object> schema) {
+        CustomSchema compiled = compileSchema(schema);
+        CustomDocument current = load(name);
+        validate(compiled, current.getContent());
+
+        repository.saveSchema(name, schema);
+        documents.put(name, new CustomDocument(name, current.getVersion(), current.getContent(), compiled));
+
+        LoggerUtil.info(logger, "CONFIG_CUSTOM_003", "Custom config schema saved",
+                Map.of("name", name));
+    }
+
+    /**
+     * Delete document (schema is kept)
+     *
+     * @param name Document name
+     * @return true if deleted
+     */
+    public synchronized boolean delete(String name) {
+        CustomDocument current = load(name);
+        boolean deleted = repository.delete(name, null, ConfigType.CUSTOM);
+        documents.remove(name);
+
+        if (deleted) {
+            long version = historyRepository.append(name, null, ConfigType.CUSTOM,
+                    ConfigDelta.diff(flatten(current.getContent()), Map.of()));
+            eventPublisher.publishEvent(new ConfigChangedEvent(this, name, null, ConfigType.CUSTOM, version));
+
+            LoggerUtil.info(logger, "CONFIG_CUSTOM_004", "Custom config deleted",
+                    Map.of("name", name));
+        }
+
+        return deleted;
+    }
+
+    /**
+     * List all document names
+     */
+    public List<String> list() {
+        return repository.listCategories(ConfigType.CUSTOM, null);
+    }
+
+    /**
+     * Drop parsed documents after an in-process reload
+     */
+    @EventListener
+    public void onConfigReloaded(ConfigReloadedEvent event) {
+        documents.clear();
+    }
+
+    // Private helpers
+
+    private void validate(CustomSchema schema, Map<String, Object> content) {
+        if (schema == null) {
+            return;
+        }
+
+        List<String> errors = schema.validate(content);
+        if (!errors.isEmpty()) {
+            throw new CustomConfigValidationException(errors);
+        }
+    }
+
+    private CustomSchema compileSchema(Map<String, Object> schema) {
+        if (schema == null) {
+            return null;
+        }
+
+        try {
+            return CustomSchema.compile(schema);
+        } catch (IllegalArgumentException e) {
+            throw new CustomConfigValidationException(List.of("schema: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Flatten document for the key-level history log
+     */
+    private Map<String, String> flatten(Map<String, Object> content) {
+        Map<String, String> result = new HashMap<>();
+        flatten("", content, result);
+        return result;
+    }
+
+    private void flatten(String prefix, Object value, Map<String, String> result) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, child) -> flatten(prefix.isEmpty() ? String.valueOf(key) : prefix + "." + key,
+                    child, result));
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                flatten(prefix + "." + i, list.get(i), result);
+            }
+        } else {
+            result.put(prefix, value != null ? value.toString() : "");
+        }
+    }
+
+    /**
+     * Thrown when a document or schema fails validation
+     */
+    public static class CustomConfigValidationException extends RuntimeException {
+
+        private final List<String> errors;
+
+        public CustomConfigValidationException(List<String> errors) {
+            super("Custom config validation failed: " + errors);
+            this.errors = errors;
+        }
+
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.eckertpreisser.configserver.service;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.configserver.event.ConfigChangedEvent;
+import com.eckertpreisser.configserver.event.ConfigReloadedEvent;
+import com.eckertpreisser.configserver.model.Config;
+import com.eckertpreisser.configserver.model.ConfigType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FeatureFlagService - Feature flag distribution with change push
+ *
+ * Flags are stored as FEATURE_FLAG configs (config/features/{category}.yml)
+ * in flat notation that ConfigClient compiles into its evaluation tree:
+ *
+ *   checkout.enabled=true                 - master switch
+ *   checkout.rollout=25                   - percentage of users (0-100)
+ *   checkout.users=42,1337                - users that always get the flag
+ *   checkout.attributes.country=DE,AT     - required attribute values
+ *
+ * Clients keep a long-poll open on watch(); it completes as soon as the
+ * category changes, so flag updates reach services without polling delay.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class FeatureFlagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeatureFlagService.class);
+    private static final long WATCH_TIMEOUT_MS = 30_000;
+
+    private final ConfigService configService;
+
+    // Category -> open long-poll requests
+    private final Map<String, Set<Watch>> watches = new ConcurrentHashMap<>();
+
+    /**
+     * Get current flags with version
+     *
+     * @param category Flag category (e.g., "flags")
+     * @return Map with "version" and "flags"
+     */
+    public Map<String, Object> snapshot(String category) {
+        Config config = configService.load(category, null, ConfigType.FEATURE_FLAG);
+        return Map.of("version", config.getVersion(), "flags", config.getAll());
+    }
+
+    /**
+     * Long-poll for flag changes
+     *
+     * Completes immediately if the category is newer than knownVersion,
+     * otherwise on the next change or with 304 after the watch timeout.
+     *
+     * @param category Flag category
+     * @param knownVersion Version the client already has (-1 for none)
+     * @return Deferred snapshot response
+     */
+    public DeferredResult<ResponseEntity<Map<String, Object>>> watch(String category, long knownVersion) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> result =
+                new DeferredResult<>(WATCH_TIMEOUT_MS, ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        Watch watch = new Watch(category, knownVersion, result);
+
+        // Register before checking the version so a concurrent change is never missed
+        watches.compute(category, (key, categoryWatches) -> {
+            Set<Watch> registered = categoryWatches != null ? categoryWatches : ConcurrentHashMap.newKeySet();
+            registered.add(watch);
+            return registered;
+        });
+        result.onCompletion(() -> unregister(watch));
+
+        if (configService.load(category, null, ConfigType.FEATURE_FLAG).getVersion() > knownVersion) {
+            result.setResult(ResponseEntity.ok(snapshot(category)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Push flag changes to waiting clients
+     */
+    @EventListener
+    public void onConfigChanged(ConfigChangedEvent event) {
+        if (event.getType() == ConfigType.FEATURE_FLAG) {
+            notifyWatches(event.getCategory(), event.getVersion());
+        }
+    }
+
+    /**
+     * Push all categories after an in-process reload
+     */
+    @EventListener
+    public void onConfigReloaded(ConfigReloadedEvent event) {
+        watches.keySet().forEach(category -> notifyWatches(category,
+                configService.load(category, null, ConfigType.FEATURE_FLAG).getVersion()));
+    }
+
+    /**
+     * Remove a completed watch (and the category once nobody waits on it)
+     */
+    private void unregister(Watch watch) {
+        watches.computeIfPresent(watch.category(), (key, categoryWatches) -> {
+            categoryWatches.remove(watch);
+            return categoryWatches.isEmpty() ? null : categoryWatches;
+        });
+    }
+
+    private void notifyWatches(String category, long version) {
+        Set<Watch> categoryWatches = watches.get(category);
+        if (categoryWatches == null || categoryWatches.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> snapshot = snapshot(category);
+        int notified = 0;
+        for (Watch watch : categoryWatches) {
+            if (version > watch.knownVersion() && watch.result().setResult(ResponseEntity.ok(snapshot))) {
+                notified++;
+            }
+        }
+
+        LoggerUtil.debug(logger, "CONFIG_FF_001", "Feature flag change pushed",
+                "category", category, "version", version, "watchers", notified);
+    }
+
+    private record Watch(String category, long knownVersion,
+                         DeferredResult<ResponseEntity<Map<String, Object>>> result) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.eckertpreisser.configserver.service;
+
+import com.eckertpreisser.common.utils.LogThrottle;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.configserver.event.ConfigChangedEvent;
+import com.eckertpreisser.configserver.event.ConfigReloadedEvent;
+import com.eckertpreisser.configserver.model.ConfigType;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * LoggingPolicyService - Applies LoggerUtil sampling/rate limits in the Config Server
+ *
+ * Services pull the "logging" app config via ConfigClient; the Config
+ * Server reads its own copy directly and re-applies it on every change,
+ * so e.g. CONFIG_SRV_001 can be sampled without a restart.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class LoggingPolicyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingPolicyService.class);
+    private static final String CATEGORY = "logging";
+
+    private final ConfigService configService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        apply();
+    }
+
+    @EventListener
+    public void onConfigChanged(ConfigChangedEvent event) {
+        if (event.getType() == ConfigType.APP && CATEGORY.equals(event.getCategory())) {
+            apply();
+        }
+    }
+
+    @EventListener
+    public void onConfigReloaded(ConfigReloadedEvent event) {
+        apply();
+    }
+
+    private void apply() {
+        int policies = LogThrottle.configure(configService.load(CATEGORY, null, ConfigType.APP).getAll());
+
+        LoggerUtil.info(logger, "CONFIG_SRV_014", "Logging policies applied", "policies", policies);
+    }
+}
@@ -0,0 +1,160 @@
+package com.eckertpreisser.configserver.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * YamlFlattener round trips (parse -> write -> parse)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class YamlFlattenerTest {
+
+    private final YamlFlattener flattener = new YamlFlattener();
+
+    @Test
+    void roundTripKeepsValuesOrderAndComments() throws IOException {
+        String content = """
+                # Server section
+                server:
+                  port: 8080 # http
+                  host: localhost
+                feature:
+                  enabled: true
+                """;
+
+        String saved = save(content, Map.of());
+
+        YamlFlattener.Document reparsed = flattener.parse(saved);
+        assertEquals(List.of("server.port", "server.host", "feature.enabled"),
+                List.copyOf(reparsed.getValues().keySet()));
+        assertEquals("8080", reparsed.getValues().get("server.port"));
+        assertEquals(List.of(" Server section"), reparsed.getComments("server"));
+        assertTrue(saved.contains("port: 8080 # http"));
+        assertTrue(saved.contains("enabled: true\n"), "booleans written plain stay plain");
+    }
+
+    @Test
+    void handWrittenHeaderSurvivesRepeatedSaves() throws IOException {
+        String content = """
+                # Payment settings - owned by the checkout team
+                # Ask before changing limits
+
+                limits:
+                  daily: 500
+                """;
+
+        String first = save(content, Map.of());
+        String second = save(first, Map.of());
+
+        assertTrue(first.contains("# Payment settings - owned by the checkout team\n# Ask before changing limits\n"));
+        assertEquals(withoutTimestamp(first), withoutTimestamp(second), "saving twice is stable");
+        assertEquals(1, count(second, "# Payment settings"));
+    }
+
+    @Test
+    void generatedHeaderIsReplacedNotDuplicated() throws IOException {
+        String first = save("limits:\n  daily: 500\n", Map.of());
+        String second = save(first, Map.of("limits.weekly", "2000"));
+
+        assertEquals(1, count(second, "# Eckert Preisser Enterprise - Configuration"));
+        assertTrue(second.startsWith("# Eckert Preisser Enterprise - Configuration\n"));
+        assertTrue(second.contains("\n\nlimits:\n"), "exactly one blank line after the header");
+        assertEquals("2000", flattener.parse(second).getValues().get("limits.weekly"));
+    }
+
+    @Test
+    void keyThatIsAlsoASectionIsRejected() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("a", "1");
+        values.put("a.b", "2");
+        values.put("c.d", "3");
+        StringWriter writer = new StringWriter();
+
+        YamlFlattener.KeyConflictException conflict = assertThrows(YamlFlattener.KeyConflictException.class,
+                () -> flattener.write(writer, values, null));
+
+        assertEquals(List.of("a / a.b"), conflict.getConflicts());
+        assertEquals("", writer.toString(), "nothing written");
+    }
+
+    @Test
+    void conflictingKeysFromFileAreRejectedOnSave() {
+        // Literal dotted key next to a scalar with the same prefix
+        YamlFlattener.Document document = flattener.parse("a: 1\n\"a.b\": 2\n");
+        assertEquals(Map.of("a", "1", "a.b", "2"), document.getValues());
+
+        assertThrows(YamlFlattener.KeyConflictException.class,
+                () -> flattener.checkKeys(document.getValues().keySet()));
+    }
+
+    @Test
+    void plainScalarsReadLikeTheObjectModel() {
+        String content = """
+                flags:
+                  legacy: yes
+                  quoted: 'yes'
+                  mask: 0x1F
+                  port: 8080
+                  ratio: 1.50
+                  list: [on, 010]
+                """;
+
+        Map<String, String> values = flattener.parse(content).getValues();
+
+        assertEquals("true", values.get("flags.legacy"));
+        assertEquals("yes", values.get("flags.quoted"));
+        assertEquals("31", values.get("flags.mask"));
+        assertEquals("8080", values.get("flags.port"));
+        assertEquals("1.5", values.get("flags.ratio"));
+        assertEquals("[true, 8]", values.get("flags.list"));
+    }
+
+    @Test
+    void documentsWithAliasesReadTheSame() {
+        Map<String, String> events = flattener.parse("a: yes\nb: 0x1F\n").getValues();
+        Map<String, String> objects = flattener.parse("a: &flag yes\nb: 0x1F\nc: *flag\n").getValues();
+
+        assertEquals(events.get("a"), objects.get("a"));
+        assertEquals(events.get("b"), objects.get("b"));
+        assertEquals("true", objects.get("c"));
+    }
+
+    // Helpers
+
+    /**
+     * Same steps as ConfigRepository.saveYaml
+     */
+    private String save(String content, Map<String, String> changes) throws IOException {
+        YamlFlattener.Document previous = flattener.parse(content);
+        Map<String, String> values = new LinkedHashMap<>(previous.getValues());
+        values.putAll(changes);
+
+        StringWriter writer = new StringWriter();
+        flattener.writeHeader(writer, "test");
+        flattener.write(writer, values, previous);
+        return writer.toString();
+    }
+
+    private static String withoutTimestamp(String content) {
+        return content.replaceAll("# Generated: .*\n", "");
+    }
+
+    private static int count(String content, String needle) {
+        int count = 0;
+        for (int i = content.indexOf(needle); i >= 0; i = content.indexOf(needle, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,290 @@
+package com.eckertpreisser.configserver.service;
+
+import com.eckertpreisser.configserver.model.ConfigDelta;
+import com.eckertpreisser.configserver.model.ConfigType;
+import com.eckertpreisser.configserver.repository.ConfigHistoryRepository;
+import com.eckertpreisser.configserver.repository.ConfigRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConfigService writes: optimistic writes (If-Match) against the key-level
+ * version history, failed saves, reloads and cold reads racing a write
+ *
+ * Files and history are kept in memory, so the test never touches config/.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class ConfigServiceVersionTest {
+
+    private static final String CATEGORY = "homepage";
+    private static final String LANGUAGE = "de";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryConfigRepository repository = new InMemoryConfigRepository(meterRegistry);
+    private final ConfigService configService = new ConfigService(repository, new InMemoryHistoryRepository(),
+            new NoTemplatesConfigManager(), event -> { }, meterRegistry);
+
+    @Test
+    void writeAtCurrentVersionSucceeds() {
+        long v1 = update("home.title", "Willkommen", null);
+
+        long v2 = update("home.title", "Hallo", v1);
+
+        assertEquals(v1 + 1, v2);
+        assertEquals("Hallo", current().get("home.title"));
+    }
+
+    @Test
+    void staleWriteToUnrelatedKeyIsMerged() {
+        long v1 = update("home.title", "Willkommen", null);
+        update("home.subtitle", "Neu", v1); // Concurrent editor
+
+        long v3 = update("home.title", "Hallo", v1);
+
+        assertEquals(3, v3);
+        assertEquals("Hallo", current().get("home.title"));
+        assertEquals("Neu", current().get("home.subtitle"));
+    }
+
+    @Test
+    void staleWriteToChangedKeyIsRejected() {
+        long v1 = update("home.title", "Willkommen", null);
+        update("home.title", "Hallo", v1); // Concurrent editor wins
+
+        ConfigService.VersionConflictException conflict = assertThrows(ConfigService.VersionConflictException.class,
+                () -> update("home.title", "Servus", v1));
+
+        assertEquals(2, conflict.getCurrentVersion());
+        assertEquals(Map.of("home.title", "Hallo"), conflict.getConflicts());
+        assertEquals("Hallo", current().get("home.title"));
+    }
+
+    @Test
+    void bulkWriteReportsOnlyConflictingKeys() {
+        long v1 = update("home.title", "Willkommen", null);
+        update("home.footer", "Impressum", v1);
+
+        Map<String, String> changes = new LinkedHashMap<>();
+        changes.put("home.title", "Hallo");
+        changes.put("home.footer", "Kontakt");
+
+        ConfigService.VersionConflictException conflict = assertThrows(ConfigService.VersionConflictException.class,
+                () -> configService.updateAll(CATEGORY, LANGUAGE, ConfigType.I18N, changes, v1));
+
+        assertEquals(Map.of("home.footer", "Impressum"), conflict.getConflicts());
+        assertEquals("Willkommen", current().get("home.title")); // Rejected as a whole
+    }
+
+    @Test
+    void unknownVersionConflictsOnEveryKey() {
+        update("home.title", "Willkommen", null);
+
+        ConfigService.VersionConflictException conflict = assertThrows(ConfigService.VersionConflictException.class,
+                () -> update("home.title", "Hallo", 42L));
+
+        assertTrue(conflict.getConflicts().containsKey("home.title"));
+    }
+
+    @Test
+    void deletedKeyIsReportedWithNullValue() {
+        long v1 = update("home.title", "Willkommen", null);
+        configService.deleteKey(CATEGORY, LANGUAGE, ConfigType.I18N, "home.title", v1);
+
+        ConfigService.VersionConflictException conflict = assertThrows(ConfigService.VersionConflictException.class,
+                () -> update("home.title", "Hallo", v1));
+
+        assertTrue(conflict.getConflicts().containsKey("home.title"));
+        assertNull(conflict.getConflicts().get("home.title"));
+    }
+
+    @Test
+    void staleDeleteOfWholeConfigIsRejected() {
+        long v1 = update("home.title", "Willkommen", null);
+        update("home.title", "Hallo", v1);
+
+        assertThrows(ConfigService.VersionConflictException.class,
+                () -> configService.delete(CATEGORY, LANGUAGE, ConfigType.I18N, v1));
+        assertEquals("Hallo", current().get("home.title"));
+    }
+
+    @Test
+    void failedSaveRecordsNothing() {
+        long v1 = update("home.title", "Willkommen", null);
+        repository.failWrites = true;
+
+        assertThrows(UncheckedIOException.class, () -> update("home.title", "Hallo", v1));
+
+        assertEquals(v1, configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).getVersion());
+        assertEquals("Willkommen", configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).get("home.title"));
+        assertEquals(1, configService.history(CATEGORY, LANGUAGE, ConfigType.I18N).size());
+    }
+
+    @Test
+    void externalEditBecomesVersionOnReload() {
+        long v1 = update("home.title", "Willkommen", null);
+        repository.save(CATEGORY, LANGUAGE, ConfigType.I18N, Map.of("home.title", "Extern")); // Edited on disk
+
+        configService.reloadAll();
+
+        assertEquals(v1 + 1, configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).getVersion());
+        assertEquals("Extern", configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).get("home.title"));
+        assertThrows(ConfigService.VersionConflictException.class, () -> update("home.title", "Hallo", v1));
+    }
+
+    @Test
+    void reloadWithoutEditsKeepsVersion() {
+        long v1 = update("home.title", "Willkommen", null);
+
+        configService.reloadAll();
+
+        assertEquals(v1, configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).getVersion());
+    }
+
+    @Test
+    void coldReadRacingWriteNeverCachesStaleSnapshot() throws InterruptedException {
+        repository.save(CATEGORY, LANGUAGE, ConfigType.I18N, Map.of("home.title", "Willkommen"));
+        repository.blockNextLoad();
+
+        // Reader: cache miss, reads the old file and stalls before caching it
+        Thread reader = new Thread(() -> configService.load(CATEGORY, LANGUAGE, ConfigType.I18N));
+        reader.start();
+        assertTrue(repository.loadStarted.await(5, TimeUnit.SECONDS));
+
+        // Writer: must not overtake the stalled cold read of the same file
+        Thread writer = new Thread(() -> update("home.title", "Hallo", null));
+        writer.start();
+        writer.join(200);
+
+        repository.releaseLoad.countDown();
+        reader.join(5_000);
+        writer.join(5_000);
+
+        assertEquals("Hallo", configService.load(CATEGORY, LANGUAGE, ConfigType.I18N).get("home.title"));
+
+        // The next write builds on the cached snapshot - the first write must survive it
+        update("home.subtitle", "Neu", null);
+        assertEquals("Hallo", current().get("home.title"));
+    }
+
+    // Private helpers
+
+    private long update(String key, String value, Long expectedVersion) {
+        return configService.update(CATEGORY, LANGUAGE, ConfigType.I18N, key, value, expectedVersion);
+    }
+
+    private Map<String, String> current() {
+        return repository.load(CATEGORY, LANGUAGE, ConfigType.I18N);
+    }
+
+    /**
+     * Config files as an in-memory map (one test = one fresh "directory")
+     */
+    private static class InMemoryConfigRepository extends ConfigRepository {
+
+        private final Map<String, Map<String, String>> files = new ConcurrentHashMap<>();
+        volatile boolean failWrites;
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLoad = new CountDownLatch(1);
+        private volatile boolean blockNextLoad;
+
+        /**
+         * Let the next load() read the file, then wait for releaseLoad
+         */
+        void blockNextLoad() {
+            blockNextLoad = true;
+        }
+
+        InMemoryConfigRepository(MeterRegistry meterRegistry) {
+            super(meterRegistry);
+        }
+
+        @Override
+        public Map<String, String> load(String category, String language, ConfigType type) {
+            Map<String, String> values = new HashMap<>(files.getOrDefault(type + "_" + category + "_" + language,
+                    Map.of()));
+            if (blockNextLoad) {
+                blockNextLoad = false;
+                loadStarted.countDown();
+                try {
+                    releaseLoad.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public void save(String category, String language, ConfigType type, Map<String, String> values) {
+            if (failWrites) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+            files.put(type + "_" + category + "_" + language, new HashMap<>(values));
+        }
+
+        @Override
+        public boolean delete(String category, String language, ConfigType type) {
+            return files.remove(type + "_" + category + "_" + language) != null;
+        }
+    }
+
+    /**
+     * Reload without creating the template files in config/
+     */
+    private static class NoTemplatesConfigManager extends ConfigManager {
+
+        @Override
+        public void initializeConfigSystem() {
+        }
+    }
+
+    /**
+     * Delta history without the JSON lines file
+     */
+    private static class InMemoryHistoryRepository extends ConfigHistoryRepository {
+
+        private final List<ConfigDelta> deltas = new ArrayList<>();
+
+        InMemoryHistoryRepository() {
+            super(new ObjectMapper());
+        }
+
+        @Override
+        public long append(String category, String language, ConfigType type, Map<String, ConfigDelta.Change> changes) {
+            if (!changes.isEmpty()) {
+                deltas.add(new ConfigDelta(deltas.size() + 1, System.currentTimeMillis(), changes));
+            }
+            return deltas.size();
+        }
+
+        @Override
+        public long latestVersion(String category, String language, ConfigType type) {
+            return deltas.size();
+        }
+
+        @Override
+        public List<ConfigDelta> deltasSince(String category, String language, ConfigType type, long sinceVersion) {
+            return new ArrayList<>(deltas.subList((int) Math.min(sinceVersion, deltas.size()), deltas.size()));
+        }
+    }
+}
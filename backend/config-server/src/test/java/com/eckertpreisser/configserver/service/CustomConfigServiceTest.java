@@ -0,0 +1,120 @@
+package com.eckertpreisser.configserver.service;
+
+import com.eckertpreisser.configserver.model.ConfigDelta;
+import com.eckertpreisser.configserver.model.ConfigType;
+import com.eckertpreisser.configserver.repository.ConfigHistoryRepository;
+import com.eckertpreisser.configserver.repository.ConfigRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CUSTOM document writes: a failed file write must not be recorded
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class CustomConfigServiceTest {
+
+    private static final String NAME = "routing";
+
+    private final InMemoryConfigRepository repository = new InMemoryConfigRepository();
+    private final InMemoryHistoryRepository historyRepository = new InMemoryHistoryRepository();
+    private final CustomConfigService customConfigService =
+            new CustomConfigService(repository, historyRepository, event -> { });
+
+    @Test
+    void saveRecordsVersion() {
+        long version = customConfigService.save(NAME, document("primary")).getVersion();
+
+        assertEquals(1, version);
+        assertEquals("primary", customConfigService.load(NAME).getContent().get("target"));
+    }
+
+    @Test
+    void failedSaveRecordsNothing() {
+        customConfigService.save(NAME, document("primary"));
+        repository.failWrites = true;
+
+        assertThrows(UncheckedIOException.class, () -> customConfigService.save(NAME, document("fallback")));
+
+        assertEquals(1, customConfigService.load(NAME).getVersion());
+        assertEquals("primary", customConfigService.load(NAME).getContent().get("target"));
+        assertEquals(1, historyRepository.deltas.size());
+    }
+
+    // Private helpers
+
+    private static Map<String, Object> document(String target) {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("target", target);
+        return content;
+    }
+
+    /**
+     * Documents as an in-memory map
+     */
+    private static class InMemoryConfigRepository extends ConfigRepository {
+
+        private final Map<String, Map<String, Object>> documents = new HashMap<>();
+        volatile boolean failWrites;
+
+        InMemoryConfigRepository() {
+            super(new SimpleMeterRegistry());
+        }
+
+        @Override
+        public Map<String, Object> loadDocument(String name) {
+            return new LinkedHashMap<>(documents.getOrDefault(name, Map.of()));
+        }
+
+        @Override
+        public void saveDocument(String name, Map<String, Object> content) {
+            if (failWrites) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+            documents.put(name, new LinkedHashMap<>(content));
+        }
+
+        @Override
+        public Map<String, Object> loadSchema(String name) {
+            return null;
+        }
+    }
+
+    /**
+     * Delta history without the JSON lines file
+     */
+    private static class InMemoryHistoryRepository extends ConfigHistoryRepository {
+
+        private final List<ConfigDelta> deltas = new ArrayList<>();
+
+        InMemoryHistoryRepository() {
+            super(new ObjectMapper());
+        }
+
+        @Override
+        public long append(String category, String language, ConfigType type, Map<String, ConfigDelta.Change> changes) {
+            if (!changes.isEmpty()) {
+                deltas.add(new ConfigDelta(deltas.size() + 1, System.currentTimeMillis(), changes));
+            }
+            return deltas.size();
+        }
+
+        @Override
+        public long latestVersion(String category, String language, ConfigType type) {
+            return deltas.size();
+        }
+    }
+}
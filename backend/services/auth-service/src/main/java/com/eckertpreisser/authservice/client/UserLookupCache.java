@@ -0,0 +1,190 @@
+package com.eckertpreisser.authservice.client;
+
+import com.eckertpreisser.authservice.dto.UserDTO;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * UserLookupCache - Short-TTL, single-flight cache of users by email
+ *
+ * Login, refresh, /me, email verification and password reset all look the
+ * user up by email. Within the TTL repeated lookups are answered locally;
+ * concurrent misses for the same email share one user-service call
+ * (single-flight) instead of each making their own. Keys are the email
+ * exactly as given: user-service matches emails as stored (case
+ * included), so a differently cased email must not be answered with a
+ * user cached for another spelling.
+ *
+ * Only successful lookups are cached - failures (unknown email, user-service
+ * down) are passed to every waiting caller and then forgotten. Callers must
+ * invalidate after auth-service changes a user (password, verification,
+ * last login); changes made elsewhere show up after at most the TTL.
+ *
+ * Invalidation also covers loads still in flight: they are removed from
+ * the map, and every invalidation bumps a generation that a load checks
+ * when it completes - a load that started before the write hands its
+ * result to the callers already waiting but is not cached. The TTL counts
+ * from when a load completes.
+ *
+ * Bounded: when full, expired entries are dropped first, then an
+ * arbitrary tenth.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class UserLookupCache {
+
+    private record Loaded(UserDTO user, long loadedAtMillis) {
+    }
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, CompletableFuture<Loaded>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param ttlMillis Time a loaded user is served from the cache
+     * @param maxSize Maximum number of cached users
+     */
+    public UserLookupCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get cached user or load it (once, even for concurrent callers)
+     *
+     * @param email Email
+     * @param loader Loads the user from user-service (receives the caller's email)
+     * @return User
+     * @throws RuntimeException whatever the loader threw
+     */
+    public UserDTO get(String email, Function<String, UserDTO> loader) {
+        long now = System.currentTimeMillis();
+
+        CompletableFuture<Loaded> entry = entries.get(email);
+        if (entry != null && isFresh(entry, now)) {
+            hits.increment();
+            return join(entry);
+        }
+
+        // Single flight: only the thread that installs the entry loads
+        long loadGeneration = generation.get();
+        CompletableFuture<Loaded> created = new CompletableFuture<>();
+        CompletableFuture<Loaded> current = entries.compute(email, (k, existing) ->
+                existing != null && isFresh(existing, now) ? existing : created);
+
+        if (current != created) {
+            hits.increment();
+            return join(current);
+        }
+
+        misses.increment();
+        if (entries.size() > maxSize) {
+            evict(now);
+        }
+
+        UserDTO user;
+        try {
+            user = loader.apply(email);
+        } catch (RuntimeException e) {
+            entries.remove(email, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+
+        created.complete(new Loaded(user, System.currentTimeMillis()));
+        if (generation.get() != loadGeneration) {
+            // Invalidated while loading - may predate the write, so do not serve it to later callers
+            entries.remove(email, created);
+        }
+        return user;
+    }
+
+    /**
+     * Drop cached user by email
+     */
+    public void invalidate(String email) {
+        generation.incrementAndGet();
+        entries.remove(email);
+    }
+
+    /**
+     * Drop cached user by ID, and every load in flight (scans - only used on writes)
+     */
+    public void invalidateUser(Long userId) {
+        invalidateUsers(Set.of(userId));
+    }
+
+    /**
+     * Drop cached users by ID in one scan (batched writes), and every load in flight
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> {
+            if (!entry.isDone()) {
+                return true;
+            }
+            Loaded loaded = entry.isCompletedExceptionally() ? null : entry.getNow(null);
+            return loaded != null && loaded.user() != null && userIds.contains(loaded.user().getId());
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // Private helpers
+
+    /**
+     * Loading entries are always "fresh" (callers join the running load)
+     */
+    private boolean isFresh(CompletableFuture<Loaded> entry, long now) {
+        if (!entry.isDone()) {
+            return true;
+        }
+        return !entry.isCompletedExceptionally() && now - entry.getNow(null).loadedAtMillis() < ttlMillis;
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> !isFresh(entry, now));
+
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static UserDTO join(CompletableFuture<Loaded> entry) {
+        try {
+            return entry.join().user();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
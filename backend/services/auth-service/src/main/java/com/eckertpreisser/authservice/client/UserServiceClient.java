@@ -1,26 +1,32 @@
 package com.eckertpreisser.authservice.client;
 
+import com.eckertpreisser.authservice.dto.AuthCredentials;
 import com.eckertpreisser.authservice.dto.UserDTO;
 import com.eckertpreisser.common.models.exception.NotFoundException;
 import com.eckertpreisser.common.models.exception.ValidationException;
 import com.eckertpreisser.common.models.dto.ApiResponse;
+import com.eckertpreisser.common.security.IdentityHeader;
 import com.eckertpreisser.common.utils.LoggerUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
  * Client for user-service API
  *
  * auth-service does NOT have a database - it calls user-service for all user data.
+ * Lookups by email are cached briefly (UserLookupCache); every write below
+ * invalidates the affected user.
  *
  * @author Moritz F. Becker - Helped by Claude AI
  * @version 3.1.0
@@ -31,8 +37,12 @@ public class UserServiceClient {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceClient.class);
     private static final String USER_SERVICE_URL = "http://user-service:8081/api/users";
+    private static final String SERVICE_NAME = "auth-service";
+    private static final long SERVICE_CREDENTIAL_TTL_MILLIS = 60_000;
 
     private final RestTemplate restTemplate;
+    private final UserLookupCache userLookupCache;
+    private final IdentityHeader identityHeader;
 
     /**
      * Create user via user-service
@@ -56,6 +66,7 @@ public class UserServiceClient {
             );
 
             if (response.getBody() != null && response.getBody().isSuccess()) {
+                userLookupCache.invalidate(email);
                 LoggerUtil.info(logger, "AUTH_002", "User created successfully", Map.of("email", email));
                 return response.getBody().getData();
             }
@@ -69,10 +80,17 @@ public class UserServiceClient {
     }
 
     /**
-     * Find user by email
+     * Find user by email (cached, see UserLookupCache)
      */
     public UserDTO findByEmail(String email) {
-        LoggerUtil.debug(logger, "AUTH_003", "Finding user by email", Map.of("email", email));
+        return userLookupCache.get(email, this::loadByEmail);
+    }
+
+    /**
+     * Load user by email from user-service
+     */
+    private UserDTO loadByEmail(String email) {
+        LoggerUtil.debug(logger, "AUTH_003", "Finding user by email", "email", email);
 
         try {
             ResponseEntity<ApiResponse<UserDTO>> response = restTemplate.exchange(
@@ -89,25 +107,58 @@ public class UserServiceClient {
             throw new NotFoundException("AUTH_ERR_404_001", "User not found");
 
         } catch (Exception e) {
-            LoggerUtil.warn(logger, "AUTH_ERR_404_002", "User not found", Map.of("email", email));
+            LoggerUtil.warn(logger, "AUTH_ERR_404_002", "User not found", "email", email);
+            throw new NotFoundException("AUTH_ERR_404_003", "User not found with email: " + email);
+        }
+    }
+
+    /**
+     * Find login credentials by email (internal endpoint, not cached)
+     *
+     * Password hash and status flags only - the profile comes from
+     * findByEmail. Authenticated with a service credential.
+     */
+    public AuthCredentials findCredentials(String email) {
+        LoggerUtil.debug(logger, "AUTH_054", "Finding credentials by email", "email", email);
+
+        try {
+            ResponseEntity<ApiResponse<AuthCredentials>> response = restTemplate.exchange(
+                    USER_SERVICE_URL + "/internal/auth/" + email,
+                    HttpMethod.GET,
+                    new HttpEntity<>(serviceHeaders()),
+                    new ParameterizedTypeReference<>() {}
+            );
+
+            if (response.getBody() != null && response.getBody().isSuccess()) {
+                return response.getBody().getData();
+            }
+
+            throw new NotFoundException("AUTH_ERR_404_001", "User not found");
+
+        } catch (Exception e) {
+            LoggerUtil.warn(logger, "AUTH_ERR_404_002", "User not found", "email", email);
             throw new NotFoundException("AUTH_ERR_404_003", "User not found with email: " + email);
         }
     }
 
     /**
-     * Update last login timestamp
+     * Update last login timestamps of many users (one call, see LastLoginReporter)
+     *
+     * Authenticated with a service credential.
+     *
+     * @param logins Login timestamp per user ID
      */
-    public void updateLastLogin(Long userId) {
+    public void updateLastLogins(Map<Long, LocalDateTime> logins) {
         try {
             restTemplate.exchange(
-                    USER_SERVICE_URL + "/" + userId + "/last-login",
+                    USER_SERVICE_URL + "/last-login",
                     HttpMethod.PUT,
-                    null,
+                    new HttpEntity<>(Map.of("logins", logins), serviceHeaders()),
                     new ParameterizedTypeReference<ApiResponse<Void>>() {}
             );
-        } catch (Exception e) {
-            LoggerUtil.warn(logger, "AUTH_WARN_001", "Failed to update last login", Map.of("userId", userId));
-            // Non-critical
+        } finally {
+            // After the write - a concurrent lookup must not re-cache the old state
+            userLookupCache.invalidateUsers(logins.keySet());
         }
     }
 
@@ -125,6 +176,8 @@ public class UserServiceClient {
         } catch (Exception e) {
             LoggerUtil.error(logger, "AUTH_ERR_500_002", "Failed to verify email", e, Map.of("userId", userId));
             throw new ValidationException("AUTH_ERR_400_003", "Failed to verify email");
+        } finally {
+            userLookupCache.invalidateUser(userId);
         }
     }
 
@@ -132,16 +185,42 @@ public class UserServiceClient {
      * Update password
      */
     public void updatePassword(Long userId, String hashedPassword) {
+        updatePassword(userId, hashedPassword, null);
+    }
+
+    /**
+     * Update password unless the stored hash is no longer expectedHash
+     *
+     * @param expectedHash Hash to replace (null = unconditional)
+     */
+    public void updatePassword(Long userId, String hashedPassword, String expectedHash) {
+        Map<String, String> body = expectedHash == null
+                ? Map.of("password", hashedPassword)
+                : Map.of("password", hashedPassword, "expectedPassword", expectedHash);
         try {
             restTemplate.exchange(
                     USER_SERVICE_URL + "/" + userId + "/password",
                     HttpMethod.PUT,
-                    new HttpEntity<>(Map.of("password", hashedPassword)),
+                    new HttpEntity<>(body),
                     new ParameterizedTypeReference<ApiResponse<Void>>() {}
             );
         } catch (Exception e) {
             LoggerUtil.error(logger, "AUTH_ERR_500_003", "Failed to update password", e, Map.of("userId", userId));
             throw new ValidationException("AUTH_ERR_400_004", "Failed to update password");
+        } finally {
+            userLookupCache.invalidateUser(userId);
         }
     }
+
+    // Private helpers
+
+    /**
+     * Service credential for user-service internal endpoints
+     */
+    private HttpHeaders serviceHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(IdentityHeader.HEADER, identityHeader.encodeService(
+                SERVICE_NAME, System.currentTimeMillis() + SERVICE_CREDENTIAL_TTL_MILLIS));
+        return headers;
+    }
 }
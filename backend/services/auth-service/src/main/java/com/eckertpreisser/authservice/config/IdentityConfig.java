@@ -0,0 +1,25 @@
+package com.eckertpreisser.authservice.config;
+
+import com.eckertpreisser.common.security.IdentityHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * IdentityConfig - Signed identity / service credentials (X-Auth-Identity)
+ *
+ * Properties:
+ * - eckert.security.identity.secret (required, at least 32 bytes, same
+ *   value as the API Gateway and the other services; startup fails without it)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Configuration
+public class IdentityConfig {
+
+    @Bean
+    public IdentityHeader identityHeader(@Value("${eckert.security.identity.secret}") String secret) {
+        return new IdentityHeader(secret);
+    }
+}
@@ -0,0 +1,54 @@
+package com.eckertpreisser.authservice.config;
+
+import com.eckertpreisser.authservice.service.CalibratedPasswordEncoder;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * PasswordEncoderConfig - BCrypt encoder for user passwords
+ *
+ * Only used through PasswordHasher, which runs it on a bounded executor.
+ *
+ * The cost is pinned in the config so every instance hashes alike. To
+ * pick it, start one instance with auth.hashing.calibrate=true on the
+ * production hardware: it logs the recommended cost (AUTH_051) - set
+ * that as auth.hashing.cost for the whole fleet.
+ *
+ * Properties:
+ * - auth.hashing.cost (default 12)
+ * - auth.hashing.calibrate (default false = no benchmark on startup)
+ * - auth.hashing.target-time (default 250ms per hash when calibrating)
+ * - auth.hashing.min-cost / max-cost (default 10 / 16, calibration bounds)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.hashing.cost:12}") int cost,
+            @Value("${auth.hashing.calibrate:false}") boolean calibrate,
+            @Value("${auth.hashing.target-time:250ms}") Duration targetTime,
+            @Value("${auth.hashing.min-cost:10}") int minCost,
+            @Value("${auth.hashing.max-cost:16}") int maxCost) {
+        if (calibrate) {
+            int recommended = CalibratedPasswordEncoder.calibrateCost(targetTime, minCost, maxCost);
+            LoggerUtil.info(logger, "AUTH_051", "Password hash cost calibrated - pin it as auth.hashing.cost",
+                    "recommendedCost", recommended, "configuredCost", cost, "targetTime", targetTime);
+        } else {
+            LoggerUtil.info(logger, "AUTH_051", "Password hash cost configured", "cost", cost);
+        }
+        return new CalibratedPasswordEncoder(cost);
+    }
+}
@@ -0,0 +1,141 @@
+package com.eckertpreisser.authservice.config;
+
+import com.eckertpreisser.authservice.token.ExpiringTokenStore;
+import com.eckertpreisser.authservice.token.RevocationFeed;
+import com.eckertpreisser.authservice.token.RevocationList;
+import com.eckertpreisser.authservice.token.TokenJournal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * TokenStoreConfig - Expiring stores for verification, reset and revoked tokens
+ *
+ * Bean names match the AuthService fields they are injected into.
+ *
+ * Properties:
+ * - auth.tokens.verification-ttl (default 24h)
+ * - auth.tokens.reset-ttl (default 1h)
+ * - auth.tokens.max-entries (default 100000 per store; when full, the
+ *   soonest expiring verification/reset token is evicted)
+ * - auth.tokens.revocation.max-entries (default 500000; when full, logout
+ *   is refused instead - an evicted revocation would re-enable its token)
+ * - auth.tokens.journal-dir (default empty = memory only; set to persist
+ *   tokens across restarts)
+ * - auth.tokens.revocation.bucket-width (default 1h)
+ * - auth.tokens.revocation.bucket-capacity (default 100000 per filter)
+ * - auth.tokens.revocation.feed-size (default 10000 recent revocations the
+ *   API Gateway can poll incrementally)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Configuration
+public class TokenStoreConfig {
+
+    @Value("${auth.tokens.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${auth.tokens.journal-dir:}")
+    private String journalDir;
+
+    @Bean(destroyMethod = "close")
+    public ExpiringTokenStore verificationTokens(
+            @Value("${auth.tokens.verification-ttl:24h}") Duration ttl, MeterRegistry registry) {
+        return create("verification", ttl, maxEntries, ExpiringTokenStore.Overflow.EVICT_SOONEST, registry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ExpiringTokenStore resetTokens(
+            @Value("${auth.tokens.reset-ttl:1h}") Duration ttl, MeterRegistry registry) {
+        return create("reset", ttl, maxEntries, ExpiringTokenStore.Overflow.EVICT_SOONEST, registry);
+    }
+
+    /**
+     * Revoked (logged out) JWT IDs - TTL is the token's remaining lifetime
+     */
+    @Bean(destroyMethod = "close")
+    public ExpiringTokenStore revokedTokens(
+            @Value("${auth.tokens.revocation.max-entries:500000}") int maxRevocations, MeterRegistry registry) {
+        return create("revoked", Duration.ofDays(1), maxRevocations, ExpiringTokenStore.Overflow.REJECT, registry);
+    }
+
+    /**
+     * Bloom filter front for revokedTokens
+     */
+    @Bean
+    public RevocationList revocations(
+            ExpiringTokenStore revokedTokens,
+            @Value("${auth.tokens.revocation.bucket-width:1h}") Duration bucketWidth,
+            @Value("${auth.tokens.revocation.bucket-capacity:100000}") int bucketCapacity,
+            MeterRegistry registry) {
+        RevocationList revocations = new RevocationList(revokedTokens, bucketWidth, bucketCapacity, 0.01);
+
+        Gauge.builder("auth.revocation.buckets", revocations, RevocationList::getBucketCount)
+                .description("Live revocation buckets (one per expiry window)")
+                .register(registry);
+        Gauge.builder("auth.revocation.filter.bytes", revocations, RevocationList::getFilterBytes)
+                .description("Memory used by revocation Bloom filters")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("auth.revocation.checks", revocations, RevocationList::getNegativeCount)
+                .tag("result", "negative")
+                .description("Revocation checks by result")
+                .register(registry);
+        FunctionCounter.builder("auth.revocation.checks", revocations, RevocationList::getConfirmedCount)
+                .tag("result", "revoked")
+                .description("Revocation checks by result")
+                .register(registry);
+        FunctionCounter.builder("auth.revocation.checks", revocations, RevocationList::getFalsePositiveCount)
+                .tag("result", "false_positive")
+                .description("Revocation checks by result")
+                .register(registry);
+
+        return revocations;
+    }
+
+    /**
+     * Recent revocations polled by the API Gateway
+     */
+    @Bean
+    public RevocationFeed revocationFeed(
+            ExpiringTokenStore revokedTokens,
+            @Value("${auth.tokens.revocation.feed-size:10000}") int feedSize) {
+        return new RevocationFeed(revokedTokens, feedSize);
+    }
+
+    // Private helpers
+
+    private ExpiringTokenStore create(String name, Duration ttl, int limit, ExpiringTokenStore.Overflow overflow,
+                                      MeterRegistry registry) {
+        TokenJournal journal = journalDir.isBlank() ? null : new TokenJournal(Path.of(journalDir, name + ".journal"));
+        ExpiringTokenStore store = new ExpiringTokenStore(name, ttl, limit, overflow, journal);
+
+        Gauge.builder("auth.tokens.size", store, ExpiringTokenStore::size)
+                .tag("store", name)
+                .description("Live tokens in the store")
+                .register(registry);
+        FunctionCounter.builder("auth.tokens.removed", store, ExpiringTokenStore::getExpiredCount)
+                .tag("store", name)
+                .tag("reason", "expired")
+                .description("Tokens removed from the store")
+                .register(registry);
+        FunctionCounter.builder("auth.tokens.removed", store, ExpiringTokenStore::getEvictedCount)
+                .tag("store", name)
+                .tag("reason", "evicted")
+                .description("Tokens removed from the store")
+                .register(registry);
+        FunctionCounter.builder("auth.tokens.rejected", store, ExpiringTokenStore::getRejectedCount)
+                .tag("store", name)
+                .description("Puts refused because the store was full")
+                .register(registry);
+
+        return store;
+    }
+}
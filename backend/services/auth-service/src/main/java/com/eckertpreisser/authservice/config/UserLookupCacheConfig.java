@@ -0,0 +1,47 @@
+package com.eckertpreisser.authservice.config;
+
+import com.eckertpreisser.authservice.client.UserLookupCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * UserLookupCacheConfig - Cache of user-service lookups by email
+ *
+ * Properties:
+ * - auth.user-cache.ttl (default 30s)
+ * - auth.user-cache.max-size (default 10000)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Configuration
+public class UserLookupCacheConfig {
+
+    @Bean
+    public UserLookupCache userLookupCache(
+            @Value("${auth.user-cache.ttl:30s}") Duration ttl,
+            @Value("${auth.user-cache.max-size:10000}") int maxSize,
+            MeterRegistry registry) {
+        UserLookupCache cache = new UserLookupCache(ttl.toMillis(), maxSize);
+
+        Gauge.builder("auth.user.cache.size", cache, UserLookupCache::size)
+                .description("Cached user lookups")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", cache, UserLookupCache::getHitCount)
+                .tag("result", "hit")
+                .description("User lookups by cache result")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", cache, UserLookupCache::getMissCount)
+                .tag("result", "miss")
+                .description("User lookups by cache result")
+                .register(registry);
+
+        return cache;
+    }
+}
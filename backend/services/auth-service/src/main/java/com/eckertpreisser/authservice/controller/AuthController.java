@@ -1,9 +1,16 @@
 package com.eckertpreisser.authservice.controller;
 
 import com.eckertpreisser.authservice.dto.*;
+import com.eckertpreisser.authservice.security.ServiceCallVerifier;
 import com.eckertpreisser.authservice.service.AuthService;
+import com.eckertpreisser.authservice.service.LoginRateLimiter;
+import com.eckertpreisser.authservice.token.RevocationFeed;
 import com.eckertpreisser.common.models.dto.ApiResponse;
+import com.eckertpreisser.common.models.exception.NotFoundException;
+import com.eckertpreisser.common.models.exception.ValidationException;
+import com.eckertpreisser.common.security.IdentityHeader;
 import com.eckertpreisser.common.utils.LoggerUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -25,6 +32,8 @@ import java.util.Map;
  * - POST /api/auth/reset-password  - Reset password
  * - GET  /api/auth/me             - Get current user
  * - POST /api/auth/logout         - Logout
+ * - GET  /api/auth/internal/revocations - Revoked tokens (API Gateway only,
+ *   requires a service credential)
  *
  * @author Moritz F. Becker - Helped by Claude AI
  * @version 3.1.0
@@ -36,6 +45,8 @@ public class AuthController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final ServiceCallVerifier serviceCallVerifier;
 
     /**
      * Register new user
@@ -55,10 +66,22 @@ public class AuthController {
      * POST /api/auth/login
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
-        LoggerUtil.info(logger, "AUTH_API_002", "Login endpoint called", Map.of("email", request.getEmail()));
-
-        LoginResponse response = authService.login(request);
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                            HttpServletRequest httpRequest) {
+        LoggerUtil.info(logger, "AUTH_API_002", "Login endpoint called", "email", request.getEmail());
+
+        // Throttle before user lookup & BCrypt (429 if over limit)
+        loginRateLimiter.checkLogin(request.getEmail(), httpRequest);
+
+        LoginResponse response;
+        try {
+            response = authService.login(request);
+        } catch (ValidationException | NotFoundException e) {
+            // Wrong password, unknown or inactive account - counts against the email
+            loginRateLimiter.recordFailure(request.getEmail());
+            throw e;
+        }
+        loginRateLimiter.recordSuccess(request.getEmail());
 
         return ResponseEntity.ok(ApiResponse.success("Login successful", response));
     }
@@ -140,4 +163,18 @@ public class AuthController {
 
         return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
     }
+
+    /**
+     * Revoked tokens since the caller's last poll (service-to-service)
+     * GET /api/auth/internal/revocations?epoch=...&since=...
+     */
+    @GetMapping("/internal/revocations")
+    public ResponseEntity<ApiResponse<RevocationFeed.Page>> getRevocations(
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(defaultValue = "0") long since) {
+        serviceCallVerifier.requireService(identity);
+
+        return ResponseEntity.ok(ApiResponse.success(authService.getRevocations(epoch, since)));
+    }
 }
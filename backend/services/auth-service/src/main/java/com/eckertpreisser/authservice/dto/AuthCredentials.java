@@ -0,0 +1,27 @@
+package com.eckertpreisser.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Auth Credentials
+ *
+ * Copy of AuthCredentialsDTO from user-service (internal login lookup).
+ * Never cached and never returned to clients - the login response uses
+ * the profile from the (cached) lookup by email.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthCredentials {
+    private Long id;
+    private String passwordHash;
+    private Boolean active;
+    private Boolean emailVerified;
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
  * User DTO
  *
  * Copy of UserDTO from user-service for auth-service use.
- * Returned from user-service API calls.
+ * Returned from user-service API calls. Never contains the password hash
+ * (login uses AuthCredentials).
  *
  * @author Moritz F. Becker - Helped by Claude AI
  * @version 3.1.0
@@ -25,7 +26,6 @@ public class UserDTO {
     private String firstName;
     private String lastName;
     private String email;
-    private String password; // Hashed password - needed for login validation
     private String role;
     private Boolean emailVerified;
     private Boolean active;
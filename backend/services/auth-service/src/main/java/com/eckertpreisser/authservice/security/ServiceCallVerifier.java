@@ -0,0 +1,38 @@
+package com.eckertpreisser.authservice.security;
+
+import com.eckertpreisser.common.models.exception.UnauthorizedException;
+import com.eckertpreisser.common.security.IdentityHeader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * ServiceCallVerifier - Guards service-to-service (internal) endpoints
+ *
+ * Internal endpoints are reachable by anyone who can reach the service
+ * port, so they check a signed service credential themselves instead of
+ * relying on the gateway not routing them.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceCallVerifier {
+
+    private final IdentityHeader identityHeader;
+
+    /**
+     * Require a valid service credential
+     *
+     * @param header X-Auth-Identity header value (may be null)
+     * @return Calling service identity
+     * @throws UnauthorizedException if the header is missing, forged, expired or a user identity
+     */
+    public IdentityHeader.Identity requireService(String header) {
+        IdentityHeader.Identity identity = identityHeader.decodeService(header, System.currentTimeMillis());
+        if (identity == null) {
+            throw new UnauthorizedException("AUTH_ERR_401_007", "Service credential required");
+        }
+        return identity;
+    }
+}
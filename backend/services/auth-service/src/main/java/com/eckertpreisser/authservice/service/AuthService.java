@@ -2,22 +2,28 @@ package com.eckertpreisser.authservice.service;
 
 import com.eckertpreisser.authservice.client.UserServiceClient;
 import com.eckertpreisser.authservice.dto.*;
+import com.eckertpreisser.authservice.token.RevocationFeed;
+import com.eckertpreisser.authservice.token.RevocationList;
+import com.eckertpreisser.authservice.token.TokenStore;
+import com.eckertpreisser.authservice.token.TokenStoreFullException;
+import com.eckertpreisser.common.models.exception.TooManyRequestsException;
 import com.eckertpreisser.common.models.exception.ValidationException;
 import com.eckertpreisser.common.security.JwtUtils;
+import com.eckertpreisser.common.security.VerifiedToken;
 import com.eckertpreisser.common.utils.LoggerUtil;
 import com.eckertpreisser.config.client.ConfigClient;
 import com.eckertpreisser.config.client.ServiceConfig;
 import com.eckertpreisser.email.client.EmailClient;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Authentication Service
@@ -32,7 +38,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * - user-service (user data via REST API)
  * - email-service (emails via shared EmailClient)
  * - JwtUtils (JWT token operations)
- * - BCrypt (password hashing)
+ * - PasswordHasher (BCrypt on a dedicated executor)
+ * - SideEffectQueue (emails & password rehash, async with retries)
+ * - LastLoginReporter (last logins, batched)
  *
  * @author Moritz F. Becker - Helped by Claude AI
  * @version 3.1.0
@@ -46,12 +54,15 @@ public class AuthService {
     private final UserServiceClient userServiceClient;
     private final EmailClient emailClient;  // Shared EmailClient (Pure SMTP Utility!)
     private final ConfigClient configClient;  // For email templates!
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;  // BCrypt on a bounded executor
+    private final SideEffectQueue sideEffects;  // Emails & rehash off the request path
+    private final LastLoginReporter lastLogins;  // Last logins, batched per interval
 
-    // In-memory token storage (use Redis in production!)
-    private final Map<String, String> verificationTokens = new ConcurrentHashMap<>();
-    private final Map<String, String> resetTokens = new ConcurrentHashMap<>();
-    private final Map<String, Long> invalidatedTokens = new ConcurrentHashMap<>();
+    // Expiring token stores (TokenStoreConfig - bean names match field names)
+    private final TokenStore verificationTokens;
+    private final TokenStore resetTokens;
+    private final RevocationList revocations;
+    private final RevocationFeed revocationFeed;  // Polled by the API Gateway
 
     /**
      * Register new user
@@ -60,7 +71,7 @@ public class AuthService {
         LoggerUtil.info(logger, "AUTH_010", "Registering new user", Map.of("email", request.getEmail()));
 
         // Hash password with BCrypt
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
+        String hashedPassword = passwordHasher.encode(request.getPassword());
         LoggerUtil.debug(logger, "AUTH_011", "Password hashed successfully");
 
         // Create user via user-service
@@ -77,8 +88,8 @@ public class AuthService {
 
         // Send emails with user's language (NEW v3.2.0: Load templates from Config Server!)
         String language = user.getLanguage() != null ? user.getLanguage() : "de";
-        sendWelcomeEmail(user, language);
-        sendVerificationEmail(user, verificationToken, language);
+        sideEffects.submit("welcome-email", () -> sendWelcomeEmail(user, language));
+        sideEffects.submit("verification-email", () -> sendVerificationEmail(user, verificationToken, language));
 
         LoggerUtil.info(logger, "AUTH_012", "User registered successfully",
                 Map.of("email", user.getEmail(), "userId", user.getId()));
@@ -90,31 +101,39 @@ public class AuthService {
      * Login user and generate JWT
      */
     public LoginResponse login(LoginRequest request) {
-        LoggerUtil.info(logger, "AUTH_013", "User login attempt", Map.of("email", request.getEmail()));
+        LoggerUtil.info(logger, "AUTH_013", "User login attempt", "email", request.getEmail());
 
-        // Find user
-        UserDTO user = userServiceClient.findByEmail(request.getEmail());
+        // Find credentials (hash and flags only)
+        AuthCredentials credentials = userServiceClient.findCredentials(request.getEmail());
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            LoggerUtil.warn(logger, "AUTH_ERR_401_001", "Invalid password", Map.of("email", request.getEmail()));
+        if (!passwordHasher.matches(request.getPassword(), credentials.getPasswordHash())) {
+            LoggerUtil.warn(logger, "AUTH_ERR_401_001", "Invalid password", "email", request.getEmail());
             throw new ValidationException("AUTH_ERR_401_001", "Invalid email or password");
         }
 
         // Check if active
-        if (!user.getActive()) {
+        if (!credentials.getActive()) {
             LoggerUtil.warn(logger, "AUTH_ERR_403_001", "User account inactive", Map.of("email", request.getEmail()));
             throw new ValidationException("AUTH_ERR_403_001", "Account is inactive");
         }
 
-        // Generate JWT
-        String token = JwtUtils.generateToken(user.getEmail());
+        // Rehash weaker hashes with the current cost (async - login succeeds anyway)
+        if (passwordHasher.needsRehash(credentials.getPasswordHash())) {
+            scheduleRehash(credentials.getId(), request.getPassword(), credentials.getPasswordHash());
+        }
+
+        // Profile for the response (cached lookup, only after the password matched)
+        UserDTO user = userServiceClient.findByEmail(request.getEmail());
+
+        // Generate JWT (uid is forwarded by the API Gateway as signed identity)
+        String token = JwtUtils.generateToken(user.getEmail(), Map.of("uid", user.getId()));
 
-        // Update last login
-        userServiceClient.updateLastLogin(user.getId());
+        // Update last login (reported in batches - not needed for the response)
+        lastLogins.record(user.getId());
 
         LoggerUtil.info(logger, "AUTH_014", "User logged in successfully",
-                Map.of("email", user.getEmail(), "userId", user.getId()));
+                "email", user.getEmail(), "userId", user.getId());
 
         return LoginResponse.of(token, user);
     }
@@ -126,20 +145,23 @@ public class AuthService {
         LoggerUtil.debug(logger, "AUTH_015", "Refreshing token");
 
         try {
-            // Check if invalidated
-            if (invalidatedTokens.containsKey(request.getToken())) {
-                throw new ValidationException("AUTH_ERR_401_002", "Token has been invalidated");
+            // Verify once (signature + expiry) & extract
+            VerifiedToken verified;
+            try {
+                verified = JwtUtils.verify(request.getToken());
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new ValidationException("AUTH_ERR_401_003", "Invalid or expired token");
             }
 
-            // Extract & validate
-            String email = JwtUtils.extractUsername(request.getToken());
-            if (!JwtUtils.isTokenValid(request.getToken(), email)) {
-                throw new ValidationException("AUTH_ERR_401_003", "Invalid or expired token");
+            // Check if invalidated
+            if (revocations.isRevoked(tokenId(verified, request.getToken()), verified.getExpiresAtMillis())) {
+                throw new ValidationException("AUTH_ERR_401_002", "Token has been invalidated");
             }
+            String email = verified.getSubject();
 
             // Find user & generate new token
             UserDTO user = userServiceClient.findByEmail(email);
-            String newToken = JwtUtils.generateToken(user.getEmail());
+            String newToken = JwtUtils.generateToken(user.getEmail(), Map.of("uid", user.getId()));
 
             LoggerUtil.debug(logger, "AUTH_016", "Token refreshed successfully");
             return LoginResponse.of(newToken, user);
@@ -187,9 +209,9 @@ public class AuthService {
 
         // Send email with user's language (NEW v3.2.0: Load templates from Config Server!)
         String language = user.getLanguage() != null ? user.getLanguage() : "de";
-        sendPasswordResetEmail(user, resetToken, language);
+        sideEffects.submit("password-reset-email", () -> sendPasswordResetEmail(user, resetToken, language));
 
-        LoggerUtil.info(logger, "AUTH_020", "Password reset email sent", Map.of("email", user.getEmail()));
+        LoggerUtil.info(logger, "AUTH_020", "Password reset email queued", Map.of("email", user.getEmail()));
     }
 
     /**
@@ -205,7 +227,7 @@ public class AuthService {
         }
 
         // Hash new password
-        String hashedPassword = passwordEncoder.encode(request.getNewPassword());
+        String hashedPassword = passwordHasher.encode(request.getNewPassword());
 
         // Update password
         UserDTO user = userServiceClient.findByEmail(email);
@@ -225,12 +247,18 @@ public class AuthService {
 
         try {
             String token = authHeader.replace("Bearer ", "");
-            String email = JwtUtils.extractUsername(token);
-
-            if (!JwtUtils.isTokenValid(token, email)) {
+            VerifiedToken verified;
+            try {
+                verified = JwtUtils.verify(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 throw new ValidationException("AUTH_ERR_401_005", "Invalid or expired token");
             }
 
+            if (revocations.isRevoked(tokenId(verified, token), verified.getExpiresAtMillis())) {
+                throw new ValidationException("AUTH_ERR_401_002", "Token has been invalidated");
+            }
+            String email = verified.getSubject();
+
             UserDTO user = userServiceClient.findByEmail(email);
             LoggerUtil.debug(logger, "AUTH_024", "Current user retrieved", Map.of("email", user.getEmail()));
 
@@ -249,11 +277,74 @@ public class AuthService {
         LoggerUtil.debug(logger, "AUTH_025", "Logging out user");
 
         String token = authHeader.replace("Bearer ", "");
-        invalidatedTokens.put(token, System.currentTimeMillis());
+        try {
+            // Only needs to be remembered until it would expire anyway
+            VerifiedToken verified = JwtUtils.verify(token);
+            String tokenId = tokenId(verified, token);
+            revocations.revoke(tokenId, verified.getExpiresAtMillis());
+            revocationFeed.append(tokenId, verified.getExpiresAtMillis());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid or expired - nothing to revoke
+        } catch (TokenStoreFullException e) {
+            // Never drop a revocation to make room - the token stays valid, so say so
+            LoggerUtil.error(logger, "AUTH_ERR_429_005", "Revocation store full - logout refused", e);
+            throw new TooManyRequestsException("AUTH_ERR_429_005",
+                    "Logout is temporarily unavailable - please try again later", 60);
+        }
+        JwtUtils.invalidate(token);
 
         LoggerUtil.debug(logger, "AUTH_026", "User logged out successfully");
     }
 
+    /**
+     * Revocations after the caller's position (API Gateway, service-to-service)
+     *
+     * @param epoch Epoch from the caller's last page (null on first poll)
+     * @param since Sequence from the caller's last page
+     */
+    public RevocationFeed.Page getRevocations(String epoch, long since) {
+        RevocationFeed.Page page = revocationFeed.since(epoch, since);
+        LoggerUtil.debug(logger, "AUTH_050", "Revocation feed served",
+                "snapshot", page.snapshot(), "entries", page.entries().size());
+        return page;
+    }
+
+    /**
+     * Start hashing with the current cost right after a successful login
+     *
+     * Only the pending hash is queued as side effect - the raw password is
+     * not kept for retries. Hashing busy: skipped, the next login rehashes.
+     */
+    private void scheduleRehash(Long userId, String rawPassword, String oldHash) {
+        CompletableFuture<String> newHash;
+        try {
+            newHash = passwordHasher.encodeAsync(rawPassword);
+        } catch (TooManyRequestsException e) {
+            return;
+        }
+        sideEffects.submit("password-rehash", () -> rehashPassword(userId, newHash, oldHash));
+    }
+
+    /**
+     * Store the new hash
+     *
+     * Only replaces oldHash - a password reset in the meantime wins. Throws
+     * on failure so SideEffectQueue retries it.
+     */
+    private void rehashPassword(Long userId, CompletableFuture<String> newHash, String oldHash) {
+        userServiceClient.updatePassword(userId, newHash.join(), oldHash);
+        LoggerUtil.info(logger, "AUTH_052", "Password rehashed with current cost", "userId", userId);
+    }
+
+    /**
+     * Send email, failing if email-service did not accept it (so it is retried)
+     */
+    private void send(String to, String subject, String body) {
+        if (!emailClient.sendEmail(to, subject, body)) {
+            throw new IllegalStateException("Email not accepted by email-service");
+        }
+    }
+
     /**
      * Send welcome email (NEW v3.2.0 - Templates from Config Server!)
      */
@@ -268,11 +359,12 @@ public class AuthService {
             body = body.replace("{name}", user.getFirstName());
 
             // Send via EmailClient (pure utility!)
-            emailClient.sendEmail(user.getEmail(), subject, body);
+            send(user.getEmail(), subject, body);
 
             LoggerUtil.debug(logger, "AUTH_027", "Welcome email sent", Map.of("email", user.getEmail()));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             LoggerUtil.warn(logger, "AUTH_WARN_001", "Failed to send welcome email (non-critical)", Map.of("email", user.getEmail()));
+            throw e;  // SideEffectQueue retries
         }
     }
 
@@ -294,11 +386,12 @@ public class AuthService {
             String body = bodyTemplate.replace("{link}", link).replace("{name}", user.getFirstName());
 
             // Send via EmailClient (pure utility!)
-            emailClient.sendEmail(user.getEmail(), subject, body);
+            send(user.getEmail(), subject, body);
 
             LoggerUtil.debug(logger, "AUTH_028", "Verification email sent", Map.of("email", user.getEmail()));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             LoggerUtil.warn(logger, "AUTH_WARN_002", "Failed to send verification email (non-critical)", Map.of("email", user.getEmail()));
+            throw e;  // SideEffectQueue retries
         }
     }
 
@@ -320,14 +413,22 @@ public class AuthService {
             String body = bodyTemplate.replace("{link}", link).replace("{name}", user.getFirstName());
 
             // Send via EmailClient (pure utility!)
-            emailClient.sendEmail(user.getEmail(), subject, body);
+            send(user.getEmail(), subject, body);
 
             LoggerUtil.debug(logger, "AUTH_029", "Password reset email sent", Map.of("email", user.getEmail()));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             LoggerUtil.warn(logger, "AUTH_WARN_003", "Failed to send password reset email (non-critical)", Map.of("email", user.getEmail()));
+            throw e;  // SideEffectQueue retries
         }
     }
 
+    /**
+     * Revocation key: jti, or the full token for tokens issued without one
+     */
+    private static String tokenId(VerifiedToken verified, String token) {
+        return verified.getId() != null ? verified.getId() : token;
+    }
+
     /**
      * Generate secure random token
      */
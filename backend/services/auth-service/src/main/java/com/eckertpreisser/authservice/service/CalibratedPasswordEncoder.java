@@ -0,0 +1,106 @@
+package com.eckertpreisser.authservice.service;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CalibratedPasswordEncoder - BCrypt with a fleet-wide cost factor
+ *
+ * The cost is configured (auth.hashing.cost) and the same on every
+ * instance. calibrateCost() measures BCrypt at a low cost on this machine
+ * and derives the highest cost whose hash time stays within a target
+ * (each cost step doubles the time) - it only recommends a value to pin
+ * in the config, it never changes the cost of a running instance.
+ *
+ * The cost is part of every hash ($2a$NN$...), so hashes of any cost keep
+ * verifying. upgradeEncoding() reports hashes weaker than the current
+ * cost - AuthService rehashes those after a successful login, so raising
+ * the cost rolls out without a mass password reset. Stronger hashes are
+ * left alone (no flip-flopping between instances or after lowering it).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_WARMUP = 3;
+    private static final int PROBE_SAMPLES = 5;
+    private static final String PROBE_PASSWORD = "calibration-probe-password";
+
+    private final int cost;
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * Encoder with fixed cost
+     */
+    public CalibratedPasswordEncoder(int cost) {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+    }
+
+    /**
+     * Highest cost whose measured hash time on this machine is within targetTime
+     *
+     * @param targetTime Target time per hash
+     * @param minCost Lower bound (never hash weaker than this)
+     * @param maxCost Upper bound
+     */
+    public static int calibrateCost(Duration targetTime, int minCost, int maxCost) {
+        double probeNanos = medianHashNanos(PROBE_COST);
+        double steps = Math.log(targetTime.toNanos() / probeNanos) / Math.log(2);
+        int cost = PROBE_COST + (int) Math.floor(steps);
+        return Math.max(minCost, Math.min(maxCost, cost));
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * True if the hash was made with a lower cost or is no BCrypt hash
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) < cost;
+    }
+
+    // Private helpers
+
+    private static double medianHashNanos(int cost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(cost);
+        for (int i = 0; i < PROBE_WARMUP; i++) {
+            probe.encode(PROBE_PASSWORD);
+        }
+
+        long[] samples = new long[PROBE_SAMPLES];
+        for (int i = 0; i < PROBE_SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode(PROBE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Math.max(1, samples[PROBE_SAMPLES / 2]);
+    }
+}
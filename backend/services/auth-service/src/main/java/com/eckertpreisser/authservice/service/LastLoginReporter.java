@@ -0,0 +1,127 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.authservice.client.UserServiceClient;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LastLoginReporter - Reports logins to user-service in batches
+ *
+ * A successful login only records its timestamp in memory (latest per
+ * user wins). Every auth.last-login.flush-interval all recorded logins
+ * are sent as ONE PUT /api/users/last-login, which user-service buffers
+ * and writes as one JDBC batch (LastLoginBuffer there).
+ *
+ * A failed report is merged back and sent with the next one (AUTH_WARN_001).
+ * Logins not yet reported when the process dies are lost - acceptable
+ * for last-login timestamps.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class LastLoginReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginReporter.class);
+
+    private final UserServiceClient userServiceClient;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public LastLoginReporter(
+            UserServiceClient userServiceClient,
+            @Value("${auth.last-login.flush-interval:500ms}") Duration flushInterval) {
+        this.userServiceClient = userServiceClient;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a successful login (reported with the next batch)
+     */
+    public void record(Long userId) {
+        merge(userId, LocalDateTime.now());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Send all recorded logins (one user-service call)
+     *
+     * Runs on the report thread, once more on shutdown, and in tests.
+     *
+     * @return Number of users in the batch
+     */
+    int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // remove() hands over each value exactly once; later logins start a new entry
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                batch.put(userId, loginAt);
+            }
+        }
+
+        try {
+            userServiceClient.updateLastLogins(batch);
+        } catch (RuntimeException e) {
+            // Put back (newer logins recorded meanwhile win) - sent with the next batch
+            batch.forEach(this::merge);
+            throw e;
+        }
+
+        LoggerUtil.debug(logger, "AUTH_053", "Last logins reported", "users", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    // Private helpers
+
+    private void merge(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LoggerUtil.warn(logger, "AUTH_WARN_001", "Failed to report last logins - will retry",
+                    "pending", pending.size(), "error", String.valueOf(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.common.models.exception.TooManyRequestsException;
+import com.eckertpreisser.common.security.IdentityHeader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * LoginRateLimiter - Brute-force protection for login
+ *
+ * Checked before the user lookup, so throttled attempts cost neither a
+ * user-service call nor a BCrypt verify. Two sliding windows:
+ * - Per client IP (auth.rate-limit.ip.limit per auth.rate-limit.ip.window),
+ *   counting every attempt
+ * - Per email (auth.rate-limit.email.limit per auth.rate-limit.email.window),
+ *   counting failed attempts only (recordFailure) and cleared by a
+ *   successful login (recordSuccess) - so logging in normally never locks
+ *   an account, and nobody can lock out a known user with valid-looking
+ *   requests they cannot complete
+ *
+ * Client IP: the signed X-Client-Address set by the API Gateway (see
+ * ClientAddressFilter there). X-Forwarded-For is never read - callers
+ * reaching auth-service directly could set it to anything. Without a
+ * valid signed address the peer address is used, so direct callers share
+ * the bucket of their own IP.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final IdentityHeader identityHeader;
+    private final SlidingWindowLimiter emailLimiter;
+    private final SlidingWindowLimiter ipLimiter;
+    private final Counter emailLimited;
+    private final Counter ipLimited;
+
+    public LoginRateLimiter(
+            MeterRegistry registry,
+            IdentityHeader identityHeader,
+            @Value("${auth.rate-limit.email.limit:10}") int emailLimit,
+            @Value("${auth.rate-limit.email.window:5m}") Duration emailWindow,
+            @Value("${auth.rate-limit.ip.limit:50}") int ipLimit,
+            @Value("${auth.rate-limit.ip.window:1m}") Duration ipWindow,
+            @Value("${auth.rate-limit.width:65536}") int width) {
+        this.identityHeader = identityHeader;
+        this.emailLimiter = new SlidingWindowLimiter(emailLimit, emailWindow, width);
+        this.ipLimiter = new SlidingWindowLimiter(ipLimit, ipWindow, width);
+
+        this.emailLimited = Counter.builder("auth.login.rate_limited")
+                .tag("key", "email")
+                .description("Login attempts rejected with 429")
+                .register(registry);
+        this.ipLimited = Counter.builder("auth.login.rate_limited")
+                .tag("key", "ip")
+                .description("Login attempts rejected with 429")
+                .register(registry);
+    }
+
+    /**
+     * Count a login attempt for the client IP and check the email's failures
+     *
+     * @param email Email from the login request
+     * @param request HTTP request (client IP)
+     * @throws TooManyRequestsException if the IP or the email's failures are over their limit
+     */
+    public void checkLogin(String email, HttpServletRequest request) {
+        long now = System.currentTimeMillis();
+
+        long ipRetryAfter = ipLimiter.tryAcquire(clientIp(request, now), now);
+        if (ipRetryAfter > 0) {
+            ipLimited.increment();
+            throw new TooManyRequestsException("AUTH_ERR_429_003",
+                    "Too many login attempts - please try again later", toSeconds(ipRetryAfter));
+        }
+
+        long emailRetryAfter = emailLimiter.check(normalize(email), now);
+        if (emailRetryAfter > 0) {
+            emailLimited.increment();
+            throw new TooManyRequestsException("AUTH_ERR_429_004",
+                    "Too many login attempts - please try again later", toSeconds(emailRetryAfter));
+        }
+    }
+
+    /**
+     * Count a failed login (wrong password, unknown or inactive account)
+     */
+    public void recordFailure(String email) {
+        emailLimiter.record(normalize(email), System.currentTimeMillis());
+    }
+
+    /**
+     * Clear the email's failures after a successful login
+     */
+    public void recordSuccess(String email) {
+        emailLimiter.reset(normalize(email), System.currentTimeMillis());
+    }
+
+    // Private helpers
+
+    /**
+     * Address signed by the API Gateway, else the peer address
+     */
+    private String clientIp(HttpServletRequest request, long now) {
+        String address = identityHeader.decodeClientAddress(
+                request.getHeader(IdentityHeader.CLIENT_ADDRESS_HEADER), now);
+        return address != null ? address : request.getRemoteAddr();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1, (millis + 999) / 1000);
+    }
+}
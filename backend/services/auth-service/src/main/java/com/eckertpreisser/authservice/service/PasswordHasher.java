@@ -0,0 +1,213 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.common.models.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordHasher - Runs BCrypt on a dedicated, bounded executor
+ *
+ * BCrypt is deliberately CPU-heavy. Running it on request threads lets a
+ * login burst occupy every servlet thread and starve all other endpoints.
+ * Here hashing runs on one thread per core (auth.hashing.threads) with a
+ * bounded queue (auth.hashing.queue-capacity):
+ * - Queue full: rejected immediately with 429 (AUTH_ERR_429_001)
+ * - Not done within auth.hashing.timeout: cancelled, 429 (AUTH_ERR_429_002)
+ *
+ * Request threads only wait (no CPU) while their hash is computed.
+ * encodeAsync() does not wait at all - its hash is picked up later
+ * (password rehash after login).
+ *
+ * Metrics: auth.password.hash{operation}, auth.password.queue.wait,
+ * auth.password.queue.depth, auth.password.active,
+ * auth.password.rejected{reason}
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class PasswordHasher {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry registry,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeout.toMillis();
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .description("Password hashing time (excluding queue wait)")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .description("Password hashing time (excluding queue wait)")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time hashing tasks waited for a thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedQueueFull = Counter.builder("auth.password.rejected")
+                .tag("reason", "queue_full")
+                .description("Hashing requests rejected with 429")
+                .register(registry);
+        this.rejectedTimeout = Counter.builder("auth.password.rejected")
+                .tag("reason", "timeout")
+                .description("Hashing requests rejected with 429")
+                .register(registry);
+
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.password.queue.capacity", executor, e -> e.getQueue().size() + e.getQueue().remainingCapacity())
+                .description("Maximum waiting hashing tasks")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks currently running")
+                .register(registry);
+    }
+
+    /**
+     * Hash password
+     *
+     * @throws TooManyRequestsException if hashing is overloaded
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash password without waiting for the result
+     *
+     * The raw password is only held until the hash is computed. The future
+     * fails after auth.hashing.timeout if the hash is not done by then.
+     *
+     * @throws TooManyRequestsException if the hashing queue is full
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(timed(encodeTimer, () -> passwordEncoder.encode(rawPassword)), executor)
+                    .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new TooManyRequestsException("AUTH_ERR_429_001",
+                    "Too many requests - please try again shortly", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    /**
+     * Check password against stored hash
+     *
+     * @throws TooManyRequestsException if hashing is overloaded
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash should be replaced (e.g. hash cost changed)
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Private helpers
+
+    private <T> T run(Timer timer, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(timed(timer, task)::get);
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new TooManyRequestsException("AUTH_ERR_429_001",
+                    "Too many requests - please try again shortly", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimeout.increment();
+            throw new TooManyRequestsException("AUTH_ERR_429_002",
+                    "Too many requests - please try again shortly", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Task that records its queue wait and hashing time
+     */
+    private <T> Supplier<T> timed(Timer timer, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        return () -> {
+            long start = System.nanoTime();
+            queueWaitTimer.record(start - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.get();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SideEffectQueue - Fire-and-forget side effects off the request path
+ *
+ * Register and login respond as soon as the critical work is done; emails
+ * and password rehashes run afterwards on virtual-thread workers
+ * (auth.side-effects.workers) fed by a bounded in-process queue
+ * (auth.side-effects.queue-capacity).
+ *
+ * - Failed tasks are retried with exponential backoff (up to
+ *   auth.side-effects.max-attempts); the final failure is logged
+ *   (AUTH_WARN_005). Backoff waits on its own virtual thread, so workers
+ *   never sleep.
+ * - Queue full: the task runs on the caller's thread (nothing is lost,
+ *   the caller is slowed down instead).
+ * - Shutdown: queued and running tasks and pending retries get
+ *   auth.side-effects.drain-timeout to finish; whatever is left then is
+ *   counted as dropped (AUTH_WARN_006).
+ *
+ * Tasks are in memory only - side effects still queued when the process
+ * dies are lost (acceptable for emails; a lost rehash happens on the
+ * next login).
+ *
+ * Metrics: auth.side_effects.queue.depth, auth.side_effects.tasks{task,outcome},
+ * auth.side_effects.duration{task}
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class SideEffectQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SideEffectQueue.class);
+
+    private record Task(String name, Runnable action, int attempt) {
+    }
+
+    private final BlockingQueue<Task> queue;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long drainTimeoutMillis;
+    private final MeterRegistry registry;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger pendingRetries = new AtomicInteger();
+    private final AtomicInteger unfinished = new AtomicInteger();  // Queued, running or waiting for a retry
+    private volatile boolean running = true;
+
+    public SideEffectQueue(
+            MeterRegistry registry,
+            @Value("${auth.side-effects.workers:4}") int workerCount,
+            @Value("${auth.side-effects.queue-capacity:1000}") int queueCapacity,
+            @Value("${auth.side-effects.max-attempts:3}") int maxAttempts,
+            @Value("${auth.side-effects.initial-backoff:500ms}") Duration initialBackoff,
+            @Value("${auth.side-effects.drain-timeout:5s}") Duration drainTimeout) {
+        this.registry = registry;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.drainTimeoutMillis = drainTimeout.toMillis();
+
+        Gauge.builder("auth.side_effects.queue.depth", queue, BlockingQueue::size)
+                .description("Side effects waiting for a worker")
+                .register(registry);
+        Gauge.builder("auth.side_effects.retries.pending", pendingRetries, AtomicInteger::get)
+                .description("Failed side effects waiting for their retry")
+                .register(registry);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual()
+                    .name("auth-side-effects-" + i)
+                    .start(this::work));
+        }
+    }
+
+    /**
+     * Run action asynchronously
+     *
+     * @param name Task name (metrics tag, keep the set small)
+     * @param action Side effect - throw to have it retried
+     */
+    public void submit(String name, Runnable action) {
+        Task task = new Task(name, action, 1);
+        unfinished.incrementAndGet();
+        if (!running || !queue.offer(task)) {
+            count(name, "inline");
+            run(task);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        while (unfinished.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        running = false;
+        workers.forEach(Thread::interrupt);
+        int dropped = unfinished.get();
+        if (dropped > 0) {
+            LoggerUtil.warn(logger, "AUTH_WARN_006", "Side effects dropped on shutdown",
+                    "count", dropped, "queued", queue.size(), "pendingRetries", pendingRetries.get());
+        }
+    }
+
+    // Private helpers
+
+    private void work() {
+        while (running) {
+            Task task;
+            try {
+                task = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task != null) {
+                run(task);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        long start = System.nanoTime();
+        try {
+            task.action().run();
+            unfinished.decrementAndGet();
+            count(task.name(), "success");
+        } catch (RuntimeException e) {
+            retryOrGiveUp(task, e);
+        } finally {
+            Timer.builder("auth.side_effects.duration")
+                    .tag("task", task.name())
+                    .description("Side effect execution time (per attempt)")
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void retryOrGiveUp(Task task, RuntimeException error) {
+        if (task.attempt() >= maxAttempts || !running) {
+            unfinished.decrementAndGet();
+            count(task.name(), "failed");
+            LoggerUtil.warn(logger, "AUTH_WARN_005", "Side effect failed (non-critical)",
+                    "task", task.name(), "attempts", task.attempt(), "error", error.getMessage());
+            return;
+        }
+
+        count(task.name(), "retry");
+        long backoff = initialBackoffMillis << (task.attempt() - 1);
+        Task next = new Task(task.name(), task.action(), task.attempt() + 1);
+
+        pendingRetries.incrementAndGet();
+        Thread.ofVirtual().name("auth-side-effects-retry").start(() -> {
+            try {
+                Thread.sleep(backoff);
+                if (!running) {
+                    // Shut down meanwhile - already counted as dropped
+                    unfinished.decrementAndGet();
+                } else if (!queue.offer(next)) {
+                    run(next);
+                }
+            } catch (InterruptedException e) {
+                unfinished.decrementAndGet();
+                Thread.currentThread().interrupt();
+            } finally {
+                pendingRetries.decrementAndGet();
+            }
+        });
+    }
+
+    private void count(String name, String outcome) {
+        Counter.builder("auth.side_effects.tasks")
+                .tag("task", name)
+                .tag("outcome", outcome)
+                .description("Side effects by outcome")
+                .register(registry)
+                .increment();
+    }
+}
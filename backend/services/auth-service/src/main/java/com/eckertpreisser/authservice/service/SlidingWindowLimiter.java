@@ -0,0 +1,232 @@
+package com.eckertpreisser.authservice.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * SlidingWindowLimiter - Lock-free, fixed-memory sliding-window rate limiter
+ *
+ * Counts per key in a sliding window, approximated from the current and
+ * previous fixed window (previous count weighted by how much of it still
+ * overlaps the sliding window).
+ *
+ * Counters live in a fixed array of longs (window number, current count,
+ * previous count packed into one long, updated with CAS), so memory never
+ * grows with the number of keys and old windows expire implicitly. Keys
+ * are hashed into two rows with a per-instance random seed; a key's count
+ * is the minimum of both rows (count-min), so collisions can only make
+ * the limiter stricter for a few unlucky keys, never looser.
+ *
+ * reset() subtracts the key's own estimate from both rows instead of
+ * clearing the slots, so other keys sharing one of them keep their
+ * counts. Only a key that collides with it in both rows (and so already
+ * shares its estimate) can lose part of its count.
+ *
+ * tryAcquire() counts every admitted attempt. check() / record() /
+ * reset() count only some outcomes (e.g. failed logins per email).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class SlidingWindowLimiter {
+
+    private static final int ROWS = 2;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final int limit;
+    private final long windowMillis;
+    private final int mask;
+    private final AtomicLongArray slots;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * @param limit Allowed attempts per window
+     * @param window Window length
+     * @param width Counters per row (rounded up to a power of two)
+     */
+    public SlidingWindowLimiter(int limit, Duration window, int width) {
+        if (limit < 1 || limit >= MAX_COUNT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + (MAX_COUNT - 1));
+        }
+        int size = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.mask = size - 1;
+        this.slots = new AtomicLongArray(ROWS * size);
+    }
+
+    /**
+     * Count an attempt if the key is below its limit
+     *
+     * @param key Key (e.g. email or client IP)
+     * @param nowMillis Current time
+     * @return 0 if admitted, otherwise milliseconds until the next attempt would be admitted
+     */
+    public long tryAcquire(String key, long nowMillis) {
+        int[] indexes = indexes(key);
+        long retryAfter = retryAfter(indexes, nowMillis);
+        if (retryAfter == 0) {
+            int window = (int) (nowMillis / windowMillis);
+            for (int index : indexes) {
+                increment(index, window);
+            }
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Whether the key is below its limit, without counting
+     *
+     * @return 0 if below, otherwise milliseconds until it would be below again
+     */
+    public long check(String key, long nowMillis) {
+        return retryAfter(indexes(key), nowMillis);
+    }
+
+    /**
+     * Count an occurrence regardless of the limit
+     */
+    public void record(String key, long nowMillis) {
+        int window = (int) (nowMillis / windowMillis);
+        for (int index : indexes(key)) {
+            increment(index, window);
+        }
+    }
+
+    /**
+     * Forget the key's count (current and previous window)
+     */
+    public void reset(String key, long nowMillis) {
+        int window = (int) (nowMillis / windowMillis);
+        int[] indexes = indexes(key);
+
+        // The key's own counts: per window, the lowest row (count-min)
+        int current = MAX_COUNT;
+        int previous = MAX_COUNT;
+        for (int index : indexes) {
+            long value = slots.get(index);
+            current = Math.min(current, currentCount(value, window));
+            previous = Math.min(previous, previousCount(value, window));
+        }
+
+        for (int index : indexes) {
+            subtract(index, window, current, previous);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // Private helpers
+
+    /**
+     * Slot of the key in each row (package-private for tests)
+     */
+    int[] indexes(String key) {
+        long hash = hash(key);
+        return new int[]{(int) hash & mask, mask + 1 + ((int) (hash >>> 32) & mask)};
+    }
+
+    /**
+     * 0 if the key is below its limit, otherwise the wait until it would be
+     */
+    private long retryAfter(int[] indexes, long nowMillis) {
+        int window = (int) (nowMillis / windowMillis);
+        double elapsed = (double) (nowMillis % windowMillis) / windowMillis;
+
+        // Count-min: the row with the lowest estimate decides
+        int current = MAX_COUNT;
+        int previous = MAX_COUNT;
+        double estimate = Double.MAX_VALUE;
+        for (int index : indexes) {
+            long value = slots.get(index);
+            int rowCurrent = currentCount(value, window);
+            int rowPrevious = previousCount(value, window);
+            double rowEstimate = rowCurrent + rowPrevious * (1 - elapsed);
+            if (rowEstimate < estimate) {
+                estimate = rowEstimate;
+                current = rowCurrent;
+                previous = rowPrevious;
+            }
+        }
+
+        return estimate >= limit ? retryAfterMillis(current, previous, elapsed) : 0;
+    }
+
+    private void increment(int index, int window) {
+        while (true) {
+            long value = slots.get(index);
+            int current = currentCount(value, window);
+            int previous = previousCount(value, window);
+            long updated = pack(window, Math.min(MAX_COUNT, current + 1), previous);
+            if (slots.compareAndSet(index, value, updated)) {
+                return;
+            }
+        }
+    }
+
+    private void subtract(int index, int window, int current, int previous) {
+        while (true) {
+            long value = slots.get(index);
+            long updated = pack(window,
+                    Math.max(0, currentCount(value, window) - current),
+                    Math.max(0, previousCount(value, window) - previous));
+            if (slots.compareAndSet(index, value, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Time until current + previous * (1 - elapsed) drops below the limit
+     *
+     * floor + 1: the estimate must be strictly below the limit, reaching it is not enough.
+     */
+    private long retryAfterMillis(int current, int previous, double elapsed) {
+        long untilWindowEnd = (long) Math.ceil((1 - elapsed) * windowMillis);
+        if (current >= limit || previous == 0) {
+            // Only the next window helps (its previous weight then decays further)
+            double nextFraction = Math.max(0, 1 - (double) limit / Math.max(current, 1));
+            return untilWindowEnd + (long) Math.floor(nextFraction * windowMillis) + 1;
+        }
+        double neededElapsed = 1 - (double) (limit - current) / previous;
+        return Math.max(1, (long) Math.floor((neededElapsed - elapsed) * windowMillis) + 1);
+    }
+
+    private static int currentCount(long value, int window) {
+        return windowOf(value) == window ? (int) (value >>> 16) & MAX_COUNT : 0;
+    }
+
+    private static int previousCount(long value, int window) {
+        int stored = windowOf(value);
+        if (stored == window) {
+            return (int) value & MAX_COUNT;
+        }
+        // Stored window just ended: its current count is now the previous one
+        return stored == window - 1 ? (int) (value >>> 16) & MAX_COUNT : 0;
+    }
+
+    private static int windowOf(long value) {
+        return (int) (value >>> 32);
+    }
+
+    private static long pack(int window, int current, int previous) {
+        return ((long) window << 32) | ((long) current << 16) | previous;
+    }
+
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
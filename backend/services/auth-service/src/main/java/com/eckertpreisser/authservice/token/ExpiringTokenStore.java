@@ -0,0 +1,343 @@
+package com.eckertpreisser.authservice.token;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ExpiringTokenStore - In-memory TokenStore with a timing wheel
+ *
+ * Entries live in a ConcurrentHashMap (lock-free reads). Each entry is
+ * also referenced from a hashed timing wheel slot for its expiry second;
+ * advancing the wheel only visits the slots that became due, so expiring
+ * is O(1) per entry instead of scanning the whole map. Entries expiring
+ * more than one revolution ahead are re-queued once per revolution.
+ *
+ * The wheel is advanced by writes and, if a tick has passed, by reads
+ * (tryLock - readers never wait), so no background thread is needed.
+ *
+ * Every live entry sits in exactly one wheel slot: a re-put moves it to
+ * the slot of its new expiry, a remove takes it out of its slot.
+ *
+ * Memory bound (maxEntries), depending on the Overflow policy:
+ * - EVICT_SOONEST: the entry that expires soonest (approximately - first
+ *   occupied slot) is evicted. For tokens that can be re-issued
+ *   (verification, password reset).
+ * - REJECT: put throws TokenStoreFullException and nothing is dropped.
+ *   For revocations - evicting one would make a revoked token valid again.
+ *
+ * Optional TokenJournal: writes are appended to a local file (under the
+ * same lock as the map change, so the journal order is the map order)
+ * and replayed on startup, so tokens survive restarts.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class ExpiringTokenStore implements TokenStore, Closeable {
+
+    private static final long TICK_MILLIS = 1_000;
+    private static final int WHEEL_SIZE = 4_096; // ~68 minutes per revolution
+
+    record Entry(String value, long expiresAtMillis) {
+    }
+
+    /**
+     * What put does when maxEntries is reached
+     */
+    public enum Overflow {
+        EVICT_SOONEST,
+        REJECT
+    }
+
+    private final String name;
+    private final Duration defaultTtl;
+    private final int maxEntries;
+    private final Overflow overflow;
+    private final TokenJournal journal;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<String>[] wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private volatile long processedTick;
+
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * In-memory store, evicting the soonest expiring entry when full
+     */
+    public ExpiringTokenStore(String name, Duration defaultTtl, int maxEntries) {
+        this(name, defaultTtl, maxEntries, Overflow.EVICT_SOONEST, null);
+    }
+
+    /**
+     * @param name Store name (metrics, journal file)
+     * @param defaultTtl TTL for put(token, value)
+     * @param maxEntries Memory bound
+     * @param overflow What to do when maxEntries is reached
+     * @param journal Persistent journal (null = memory only)
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringTokenStore(String name, Duration defaultTtl, int maxEntries, Overflow overflow,
+                              TokenJournal journal) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.name = name;
+        this.defaultTtl = defaultTtl;
+        this.maxEntries = maxEntries;
+        this.overflow = overflow;
+        this.journal = journal;
+        this.wheel = new ArrayDeque[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+
+        long now = System.currentTimeMillis();
+        this.processedTick = now / TICK_MILLIS - 1;
+
+        if (journal != null) {
+            journal.replay(now, (token, entry) -> {
+                if (entry == null) {
+                    entries.remove(token);
+                } else {
+                    entries.put(token, entry);
+                }
+            });
+            wheelLock.lock();
+            try {
+                entries.forEach((token, entry) -> schedule(token, entry.expiresAtMillis));
+                // REJECT keeps everything it had - the bound only applies to new entries
+                while (overflow == Overflow.EVICT_SOONEST && entries.size() > maxEntries) {
+                    evictSoonest();
+                }
+            } finally {
+                wheelLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void put(String token, String value) {
+        put(token, value, defaultTtl);
+    }
+
+    /**
+     * @throws TokenStoreFullException if the store is full and its policy is REJECT
+     */
+    @Override
+    public void put(String token, String value, Duration ttl) {
+        long ttlMillis = ttl.toMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(value, now + ttlMillis);
+
+        wheelLock.lock();
+        try {
+            advance(now);
+            if (entries.size() >= maxEntries && !entries.containsKey(token)) {
+                if (overflow == Overflow.REJECT) {
+                    rejected.increment();
+                    throw new TokenStoreFullException(name, maxEntries);
+                }
+                evictSoonest();
+            }
+
+            Entry previous = entries.put(token, entry);
+            if (previous == null) {
+                schedule(token, entry.expiresAtMillis);
+            } else if (slotOf(previous.expiresAtMillis / TICK_MILLIS) != slotOf(entry.expiresAtMillis / TICK_MILLIS)) {
+                unschedule(token, previous.expiresAtMillis);
+                schedule(token, entry.expiresAtMillis);
+            }
+            // Same slot: already queued there once
+
+            if (journal != null) {
+                journal.put(token, entry, entries);
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    @Override
+    public String get(String token) {
+        long now = System.currentTimeMillis();
+        maybeAdvance(now);
+
+        Entry entry = entries.get(token);
+        if (entry == null || entry.expiresAtMillis <= now) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public String remove(String token) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+
+        wheelLock.lock();
+        try {
+            entry = entries.remove(token);
+            if (entry == null) {
+                return null;
+            }
+            unschedule(token, entry.expiresAtMillis);
+
+            if (journal != null) {
+                journal.remove(token, entries);
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+        return entry.expiresAtMillis > now ? entry.value : null;
+    }
+
+    @Override
+    public void forEach(EntryVisitor visitor) {
+        long now = System.currentTimeMillis();
+        entries.forEach((token, entry) -> {
+            if (entry.expiresAtMillis > now) {
+                visitor.visit(token, entry.value, entry.expiresAtMillis);
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Entries removed because their TTL elapsed
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * Entries removed early because the store was full (EVICT_SOONEST)
+     */
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * Puts refused because the store was full (REJECT)
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Tokens queued in the wheel (equals size() - for tests)
+     */
+    int scheduledCount() {
+        wheelLock.lock();
+        try {
+            int count = 0;
+            for (ArrayDeque<String> slot : wheel) {
+                count += slot.size();
+            }
+            return count;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    // Private helpers (wheel access requires wheelLock)
+
+    private void maybeAdvance(long now) {
+        if (now / TICK_MILLIS - 1 > processedTick && wheelLock.tryLock()) {
+            try {
+                advance(now);
+            } finally {
+                wheelLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Process all ticks that ended before now (at most one revolution)
+     */
+    private void advance(long now) {
+        long lastDueTick = now / TICK_MILLIS - 1;
+        long tick = Math.max(processedTick + 1, lastDueTick - WHEEL_SIZE + 1);
+
+        for (; tick <= lastDueTick; tick++) {
+            int slot = slotOf(tick);
+            ArrayDeque<String> due = wheel[slot];
+
+            for (int pending = due.size(); pending > 0; pending--) {
+                String token = due.poll();
+                Entry entry = entries.get(token);
+                if (entry == null) {
+                    continue;
+                }
+
+                if (entry.expiresAtMillis <= now) {
+                    if (entries.remove(token, entry)) {
+                        expired.increment();
+                    }
+                } else {
+                    // Expires in a later revolution
+                    due.add(token);
+                }
+            }
+        }
+        processedTick = Math.max(processedTick, lastDueTick);
+    }
+
+    private void schedule(String token, long expiresAtMillis) {
+        wheel[slotOf(expiresAtMillis / TICK_MILLIS)].add(token);
+    }
+
+    /**
+     * Take token out of its slot (linear in the slot size - one second of expiries)
+     */
+    private void unschedule(String token, long expiresAtMillis) {
+        wheel[slotOf(expiresAtMillis / TICK_MILLIS)].remove(token);
+    }
+
+    private void evictSoonest() {
+        for (int i = 1; i <= WHEEL_SIZE; i++) {
+            String token = wheel[slotOf(processedTick + i)].poll();
+            if (token != null && entries.remove(token) != null) {
+                evicted.increment();
+                if (journal != null) {
+                    journal.remove(token, entries);
+                }
+                return;
+            }
+        }
+    }
+
+    private static int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+    }
+}
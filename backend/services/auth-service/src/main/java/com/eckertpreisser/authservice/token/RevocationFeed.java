@@ -0,0 +1,103 @@
+package com.eckertpreisser.authservice.token;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * RevocationFeed - Recent revocations for the API Gateway to poll
+ *
+ * The gateway keeps its own set of revoked token IDs and asks for the
+ * revocations after the last sequence number it has seen. The newest
+ * revocations are kept in a fixed-size ring. A caller that is further
+ * behind than the ring, or that knows a different epoch (auth-service
+ * restarted, sequence numbers start over), gets a full snapshot of the
+ * exact store instead.
+ *
+ * Pages may repeat a revocation (e.g. snapshot + next page) - applying
+ * them is idempotent.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class RevocationFeed {
+
+    /**
+     * Revoked token
+     *
+     * @param tokenId Token ID (jti)
+     * @param expiresAtMillis Token expiry (the revocation can be dropped afterwards)
+     */
+    public record Entry(String tokenId, long expiresAtMillis) {
+    }
+
+    /**
+     * Answer to one poll
+     *
+     * @param epoch Feed instance - pass back with the next poll
+     * @param sequence Newest sequence included - pass back with the next poll
+     * @param snapshot true if entries are all live revocations, not just the new ones
+     * @param entries Revocations (unexpired only)
+     */
+    public record Page(String epoch, long sequence, boolean snapshot, List<Entry> entries) {
+    }
+
+    private final TokenStore exact;
+    private final String epoch = UUID.randomUUID().toString();
+    private final Entry[] ring;
+
+    // Sequence of the newest entry (entry n is at ring[(n - 1) % ring.length])
+    private long sequence;
+
+    /**
+     * @param exact Exact store of revoked token IDs (source for snapshots)
+     * @param capacity Revocations kept for incremental polls
+     */
+    public RevocationFeed(TokenStore exact, int capacity) {
+        this.exact = exact;
+        this.ring = new Entry[Math.max(1, capacity)];
+    }
+
+    /**
+     * Record a revocation (after it was added to the exact store)
+     */
+    public synchronized void append(String tokenId, long expiresAtMillis) {
+        ring[(int) (sequence % ring.length)] = new Entry(tokenId, expiresAtMillis);
+        sequence++;
+    }
+
+    /**
+     * Revocations after the caller's position
+     *
+     * @param callerEpoch Epoch from the caller's last page (null on first poll)
+     * @param callerSequence Sequence from the caller's last page
+     * @return New revocations, or a snapshot if the caller cannot be served incrementally
+     */
+    public Page since(String callerEpoch, long callerSequence) {
+        long now = System.currentTimeMillis();
+        long snapshotSequence;
+
+        synchronized (this) {
+            if (epoch.equals(callerEpoch) && callerSequence <= sequence && callerSequence >= sequence - ring.length) {
+                List<Entry> entries = new ArrayList<>((int) (sequence - callerSequence));
+                for (long next = callerSequence + 1; next <= sequence; next++) {
+                    Entry entry = ring[(int) ((next - 1) % ring.length)];
+                    if (entry.expiresAtMillis() > now) {
+                        entries.add(entry);
+                    }
+                }
+                return new Page(epoch, sequence, false, entries);
+            }
+            snapshotSequence = sequence;
+        }
+
+        // Outside the lock - revocations appended meanwhile are also in the next page
+        List<Entry> entries = new ArrayList<>();
+        exact.forEach((tokenId, value, expiresAtMillis) -> entries.add(new Entry(tokenId, expiresAtMillis)));
+        return new Page(epoch, snapshotSequence, true, entries);
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+}
@@ -0,0 +1,187 @@
+package com.eckertpreisser.authservice.token;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RevocationList - Revoked JWT IDs behind time-bucketed Bloom filters
+ *
+ * Revoked tokens are grouped into buckets by expiry time (default one
+ * hour wide). A check only looks at the bucket of the token's own expiry:
+ * if no bucket exists or its Bloom filter says "no" (the common case),
+ * the token is not revoked - no map lookup, about one bit probe per hash.
+ * Only positives are confirmed against the exact TokenStore, which holds
+ * the token IDs until they expire.
+ *
+ * Once a bucket's end has passed, every token in it is expired, so the
+ * whole bucket is dropped. Filters hold about 1.2 bytes per revoked token
+ * (1% false positives); a full filter gets a sibling instead of degrading.
+ *
+ * The filters are rebuilt from the exact store on startup (see
+ * TokenJournal for persistence).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class RevocationList {
+
+    private final TokenStore exact;
+    private final long bucketMillis;
+    private final int bucketCapacity;
+    private final double falsePositiveRate;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private volatile long nextSweepMillis;
+
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Bloom filters of one expiry window (grows by whole filters)
+     */
+    private final class Bucket {
+
+        private volatile BloomFilter[] filters = {new BloomFilter(bucketCapacity, falsePositiveRate)};
+
+        void add(String tokenId) {
+            BloomFilter[] current = filters;
+            BloomFilter last = current[current.length - 1];
+            if (last.isFull()) {
+                last = grow(current);
+            }
+            last.add(tokenId);
+        }
+
+        boolean mightContain(String tokenId) {
+            for (BloomFilter filter : filters) {
+                if (filter.mightContain(tokenId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long sizeInBytes() {
+            long bytes = 0;
+            for (BloomFilter filter : filters) {
+                bytes += filter.sizeInBytes();
+            }
+            return bytes;
+        }
+
+        private synchronized BloomFilter grow(BloomFilter[] seen) {
+            if (filters != seen) {
+                return filters[filters.length - 1];
+            }
+            BloomFilter[] grown = new BloomFilter[seen.length + 1];
+            System.arraycopy(seen, 0, grown, 0, seen.length);
+            grown[seen.length] = new BloomFilter(bucketCapacity, falsePositiveRate);
+            filters = grown;
+            return grown[seen.length];
+        }
+    }
+
+    /**
+     * @param exact Exact store of revoked token IDs (source of truth)
+     * @param bucketWidth Expiry window per bucket
+     * @param bucketCapacity Expected revocations per bucket and filter
+     * @param falsePositiveRate Target false positive rate per filter
+     */
+    public RevocationList(TokenStore exact, Duration bucketWidth, int bucketCapacity, double falsePositiveRate) {
+        this.exact = exact;
+        this.bucketMillis = bucketWidth.toMillis();
+        this.bucketCapacity = bucketCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+
+        exact.forEach((tokenId, value, expiresAtMillis) -> bucketFor(expiresAtMillis).add(tokenId));
+        this.nextSweepMillis = System.currentTimeMillis() + bucketMillis;
+    }
+
+    /**
+     * Revoke token until it expires
+     *
+     * @param tokenId Token ID (jti)
+     * @param expiresAtMillis Token expiry
+     */
+    public void revoke(String tokenId, long expiresAtMillis) {
+        long remaining = expiresAtMillis - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+
+        // Exact store first - a filter hit must always be confirmable
+        exact.put(tokenId, "", Duration.ofMillis(remaining));
+        bucketFor(expiresAtMillis).add(tokenId);
+    }
+
+    /**
+     * Check whether a (valid, unexpired) token was revoked
+     *
+     * @param tokenId Token ID (jti)
+     * @param expiresAtMillis Token expiry (selects the bucket)
+     */
+    public boolean isRevoked(String tokenId, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (now >= nextSweepMillis) {
+            sweep(now);
+        }
+
+        Bucket bucket = buckets.get(Math.floorDiv(expiresAtMillis, bucketMillis));
+        if (bucket == null || !bucket.mightContain(tokenId)) {
+            negatives.increment();
+            return false;
+        }
+
+        if (exact.contains(tokenId)) {
+            confirmed.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Memory used by all Bloom filters
+     */
+    public long getFilterBytes() {
+        long bytes = 0;
+        for (Bucket bucket : buckets.values()) {
+            bytes += bucket.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    public long getNegativeCount() {
+        return negatives.sum();
+    }
+
+    public long getConfirmedCount() {
+        return confirmed.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    // Private helpers
+
+    private Bucket bucketFor(long expiresAtMillis) {
+        return buckets.computeIfAbsent(Math.floorDiv(expiresAtMillis, bucketMillis), index -> new Bucket());
+    }
+
+    /**
+     * Drop buckets whose window has fully passed (all their tokens expired)
+     */
+    private void sweep(long now) {
+        nextSweepMillis = now + bucketMillis;
+        long currentIndex = Math.floorDiv(now, bucketMillis);
+        buckets.keySet().removeIf(index -> index < currentIndex);
+    }
+}
@@ -0,0 +1,160 @@
+package com.eckertpreisser.authservice.token;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * TokenJournal - Append-only file backing an ExpiringTokenStore
+ *
+ * One line per change: "+ expiresAtMillis token value" or "- token"
+ * (tab-separated). On startup the journal is replayed, skipping expired
+ * entries. Once it holds more than twice as many records as live tokens
+ * it is compacted: the live entries are written to a temp file which
+ * atomically replaces the journal.
+ *
+ * Lines are flushed to the OS on every write (no fsync) - a crash of the
+ * JVM loses nothing, a crash of the machine may lose the last writes.
+ * The file is readable by the owner only (tokens are secrets).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class TokenJournal implements Closeable {
+
+    private static final int COMPACT_MIN_RECORDS = 1_000;
+    private static final char PUT = '+';
+    private static final char REMOVE = '-';
+    private static final char SEPARATOR = '\t';
+
+    private final Path file;
+    private BufferedWriter writer;
+    private long records;
+
+    /**
+     * @param file Journal file (created if missing)
+     */
+    public TokenJournal(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Read journal and open it for appending
+     *
+     * @param nowMillis Entries expiring before this are skipped
+     * @param consumer Receives (token, entry) for puts and (token, null) for removals
+     */
+    synchronized void replay(long nowMillis, BiConsumer<String, ExpiringTokenStore.Entry> consumer) {
+        try {
+            if (Files.exists(file)) {
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        records++;
+                        apply(line, nowMillis, consumer);
+                    }
+                }
+            } else {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                createOwnerOnly(file);
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open token journal " + file, e);
+        }
+    }
+
+    synchronized void put(String token, ExpiringTokenStore.Entry entry, Map<String, ExpiringTokenStore.Entry> live) {
+        append(PUT + "" + SEPARATOR + entry.expiresAtMillis() + SEPARATOR + token + SEPARATOR + entry.value(), live);
+    }
+
+    synchronized void remove(String token, Map<String, ExpiringTokenStore.Entry> live) {
+        append(REMOVE + "" + SEPARATOR + token, live);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    // Private helpers
+
+    private void append(String line, Map<String, ExpiringTokenStore.Entry> live) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+            records++;
+
+            if (records > COMPACT_MIN_RECORDS && records > 2L * live.size()) {
+                compact(live);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write token journal " + file, e);
+        }
+    }
+
+    private void compact(Map<String, ExpiringTokenStore.Entry> live) throws IOException {
+        long now = System.currentTimeMillis();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        createOwnerOnly(temp);
+
+        long written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, ExpiringTokenStore.Entry> e : live.entrySet()) {
+                ExpiringTokenStore.Entry entry = e.getValue();
+                if (entry.expiresAtMillis() > now) {
+                    out.write(PUT + "" + SEPARATOR + entry.expiresAtMillis() + SEPARATOR + e.getKey() + SEPARATOR + entry.value());
+                    out.newLine();
+                    written++;
+                }
+            }
+        }
+
+        writer.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        records = written;
+    }
+
+    private static void apply(String line, long nowMillis, BiConsumer<String, ExpiringTokenStore.Entry> consumer) {
+        String[] parts = line.split(String.valueOf(SEPARATOR), 4);
+        if (parts.length == 4 && parts[0].charAt(0) == PUT) {
+            long expiresAt;
+            try {
+                expiresAt = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                return; // Torn last line after a crash
+            }
+            consumer.accept(parts[2], expiresAt > nowMillis ? new ExpiringTokenStore.Entry(parts[3], expiresAt) : null);
+        } else if (parts.length == 2 && parts[0].charAt(0) == REMOVE) {
+            consumer.accept(parts[1], null);
+        }
+    }
+
+    private static void createOwnerOnly(Path path) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+        }
+    }
+}
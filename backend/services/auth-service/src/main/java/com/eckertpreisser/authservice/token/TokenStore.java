@@ -0,0 +1,65 @@
+package com.eckertpreisser.authservice.token;
+
+import java.time.Duration;
+
+/**
+ * TokenStore - Short-lived tokens with per-entry expiry
+ *
+ * Used for email verification tokens, password reset tokens and revoked
+ * JWTs. Entries disappear once their TTL has elapsed, so the store stays
+ * proportional to live tokens.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public interface TokenStore {
+
+    /**
+     * Receives live entries from forEach()
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(String token, String value, long expiresAtMillis);
+    }
+
+    /**
+     * Store token with the store's default TTL
+     */
+    void put(String token, String value);
+
+    /**
+     * Store token with explicit TTL (ignored if not positive)
+     */
+    void put(String token, String value, Duration ttl);
+
+    /**
+     * Get value of a live token
+     *
+     * @return Value or null if unknown or expired
+     */
+    String get(String token);
+
+    /**
+     * Remove token (e.g. once it was used)
+     *
+     * @return Previous value or null if unknown or expired
+     */
+    String remove(String token);
+
+    /**
+     * Whether the token is stored and not expired
+     */
+    default boolean contains(String token) {
+        return get(token) != null;
+    }
+
+    /**
+     * Visit all live (unexpired) tokens, e.g. to rebuild an index after restart
+     */
+    void forEach(EntryVisitor visitor);
+
+    /**
+     * Number of stored tokens (may include a few expired ones not yet swept)
+     */
+    int size();
+}
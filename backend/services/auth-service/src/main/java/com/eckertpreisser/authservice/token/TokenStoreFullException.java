@@ -0,0 +1,14 @@
+package com.eckertpreisser.authservice.token;
+
+/**
+ * Thrown when a store with Overflow.REJECT has reached its memory bound
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class TokenStoreFullException extends IllegalStateException {
+
+    public TokenStoreFullException(String store, int maxEntries) {
+        super("Token store '" + store + "' is full (" + maxEntries + " entries)");
+    }
+}
@@ -0,0 +1,173 @@
+package com.eckertpreisser.authservice.client;
+
+import com.eckertpreisser.authservice.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-flight loading, TTL and invalidation of loads in flight
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class UserLookupCacheTest {
+
+    private final UserLookupCache cache = new UserLookupCache(60_000, 100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, UserDTO> slowLoader = email -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return user(1L, email);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserDTO>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("max@example.com", slowLoader)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("max@example.com", slowLoader)));
+            }
+            Thread.sleep(50); // Let the followers join the running load
+            release.countDown();
+
+            UserDTO first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<UserDTO> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void emailsAreLoadedAsGiven() {
+        List<String> requested = new ArrayList<>();
+        Function<String, UserDTO> loader = email -> {
+            requested.add(email);
+            return user((long) requested.size(), email);
+        };
+
+        UserDTO stored = cache.get("Max@Example.COM", loader);
+        UserDTO other = cache.get("max@example.com", loader);
+
+        // user-service matches emails as stored - another spelling is another lookup
+        assertEquals(List.of("Max@Example.COM", "max@example.com"), requested);
+        assertEquals(Long.valueOf(1), stored.getId());
+        assertEquals(Long.valueOf(2), other.getId());
+        assertSame(stored, cache.get("Max@Example.COM", loader));
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        Function<String, UserDTO> failing = email -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("user-service down");
+        };
+
+        assertThrows(IllegalStateException.class, () -> cache.get("max@example.com", failing));
+        assertThrows(IllegalStateException.class, () -> cache.get("max@example.com", failing));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void loadInvalidatedWhileInFlightIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread reader = new Thread(() -> cache.get("max@example.com", email -> {
+            loading.countDown();
+            await(release);
+            return user(1L, email); // Read before the write below
+        }));
+        reader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Password change lands while the old state is still being loaded
+        cache.invalidateUser(1L);
+        release.countDown();
+        reader.join(5_000);
+
+        cache.get("max@example.com", this::countingLoader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateUserDropsCachedEntriesOfThatUserOnly() {
+        cache.get("max@example.com", this::countingLoader);
+        cache.get("eva@example.com", email -> user(2L, email));
+
+        cache.invalidateUser(1L);
+
+        assertEquals(1, cache.size());
+        cache.get("max@example.com", this::countingLoader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void ttlCountsFromCompletion() throws Exception {
+        UserLookupCache shortLived = new UserLookupCache(100, 100);
+
+        shortLived.get("max@example.com", email -> {
+            sleep(150); // Longer than the TTL
+            return user(1L, email);
+        });
+        shortLived.get("max@example.com", this::countingLoader);
+
+        assertEquals(0, loads.get());
+    }
+
+    // Private helpers
+
+    private UserDTO countingLoader(String email) {
+        loads.incrementAndGet();
+        return user(1L, email);
+    }
+
+    private static UserDTO user(Long id, String email) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.authservice.client.UserServiceClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Logins are coalesced per user and reported as one batch; failed batches are resent
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class LastLoginReporterTest {
+
+    private final RecordingClient client = new RecordingClient();
+    // Long interval: the tests flush explicitly
+    private final LastLoginReporter reporter = new LastLoginReporter(client, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        reporter.shutdown();
+    }
+
+    @Test
+    void loginsAreReportedAsOneBatch() {
+        reporter.record(1L);
+        reporter.record(2L);
+        reporter.record(1L);
+
+        assertEquals(2, reporter.flush());
+
+        assertEquals(1, client.batches.size());
+        assertEquals(Set.of(1L, 2L), client.batches.get(0).keySet());
+        assertEquals(0, reporter.flush());
+    }
+
+    @Test
+    void failedBatchIsSentWithTheNextOne() {
+        reporter.record(1L);
+        client.fail = true;
+
+        assertThrows(IllegalStateException.class, reporter::flush);
+        assertEquals(1, reporter.getPendingCount());
+
+        client.fail = false;
+        reporter.record(2L);
+        assertEquals(2, reporter.flush());
+        assertEquals(Set.of(1L, 2L), client.batches.get(0).keySet());
+    }
+
+    /**
+     * Records batches instead of calling user-service
+     */
+    private static class RecordingClient extends UserServiceClient {
+
+        private final List<Map<Long, LocalDateTime>> batches = new ArrayList<>();
+        private volatile boolean fail;
+
+        RecordingClient() {
+            super(null, null, null);
+        }
+
+        @Override
+        public void updateLastLogins(Map<Long, LocalDateTime> logins) {
+            if (fail) {
+                throw new IllegalStateException("user-service down");
+            }
+            batches.add(Map.copyOf(logins));
+        }
+    }
+}
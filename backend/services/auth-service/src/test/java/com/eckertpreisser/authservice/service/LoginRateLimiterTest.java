@@ -0,0 +1,98 @@
+package com.eckertpreisser.authservice.service;
+
+import com.eckertpreisser.common.models.exception.TooManyRequestsException;
+import com.eckertpreisser.common.security.IdentityHeader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Per-IP and per-email login throttling
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class LoginRateLimiterTest {
+
+    private static final String SECRET = "test-identity-secret-with-at-least-32-bytes";
+
+    private final IdentityHeader identityHeader = new IdentityHeader(SECRET);
+    private final LoginRateLimiter limiter = new LoginRateLimiter(new SimpleMeterRegistry(), identityHeader,
+            3, Duration.ofMinutes(5), 5, Duration.ofMinutes(1), 1024);
+
+    @Test
+    void successfulLoginsNeverLockTheAccount() {
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("max@example.com", fromGateway("203.0.113.1"));
+            limiter.recordFailure("max@example.com");
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkLogin("Max@Example.com ", fromGateway("203.0.113.2")));
+
+        limiter.recordSuccess("max@example.com");
+
+        assertDoesNotThrow(() -> limiter.checkLogin("max@example.com", fromGateway("203.0.113.3")));
+    }
+
+    @Test
+    void attemptsWithoutFailuresDoNotCountAgainstTheEmail() {
+        // Many clients, one account (e.g. an office behind one login) - none fails
+        for (int i = 0; i < 20; i++) {
+            String client = "203.0.113." + i;
+            assertDoesNotThrow(() -> limiter.checkLogin("max@example.com", fromGateway(client)));
+            limiter.recordSuccess("max@example.com");
+        }
+    }
+
+    @Test
+    void signedClientAddressSeparatesUsersBehindTheProxy() {
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin("user" + i + "@example.com", fromGateway("203.0.113.1"));
+        }
+
+        TooManyRequestsException limited = assertThrows(TooManyRequestsException.class,
+                () -> limiter.checkLogin("other@example.com", fromGateway("203.0.113.1")));
+        assertEquals("AUTH_ERR_429_003", limited.getErrorCode());
+        assertDoesNotThrow(() -> limiter.checkLogin("other@example.com", fromGateway("203.0.113.2")));
+    }
+
+    @Test
+    void forwardedForAndForgedAddressesAreIgnored() {
+        String forged = new IdentityHeader(SECRET + "-other").encodeClientAddress("198.51.100.9",
+                System.currentTimeMillis() + 60_000);
+        for (int i = 0; i < 5; i++) {
+            // Direct caller rotating X-Forwarded-For / a forged signed address
+            limiter.checkLogin("user" + i + "@example.com", request("10.0.0.9", Map.of(
+                    "X-Forwarded-For", "198.51.100." + i,
+                    IdentityHeader.CLIENT_ADDRESS_HEADER, forged)));
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.checkLogin("x@example.com",
+                request("10.0.0.9", Map.of("X-Forwarded-For", "198.51.100.200"))));
+    }
+
+    // Private helpers
+
+    private HttpServletRequest fromGateway(String clientAddress) {
+        String signed = identityHeader.encodeClientAddress(clientAddress, System.currentTimeMillis() + 60_000);
+        return request("172.18.0.5", Map.of(IdentityHeader.CLIENT_ADDRESS_HEADER, signed));
+    }
+
+    private static HttpServletRequest request(String remoteAddr, Map<String, String> headers) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> headers.get((String) args[0]);
+                    case "getRemoteAddr" -> remoteAddr;
+                    default -> null;
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.eckertpreisser.authservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Shutdown drains running tasks and pending retries, not only the queue
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class SideEffectQueueTest {
+
+    @Test
+    void shutdownWaitsForRunningTasks() throws Exception {
+        SideEffectQueue sideEffects = queue(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+
+        sideEffects.submit("email", () -> {
+            started.countDown();
+            sleep(200);
+            done.set(true);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        sideEffects.shutdown();
+
+        assertTrue(done.get());
+    }
+
+    @Test
+    void shutdownWaitsForPendingRetries() throws Exception {
+        SideEffectQueue sideEffects = queue(Duration.ofSeconds(5));
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+
+        sideEffects.submit("welcome-email", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                failed.countDown();
+                throw new IllegalStateException("email-service down");
+            }
+        });
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+        sideEffects.shutdown();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shutdownGivesUpAfterTheDrainTimeout() {
+        SideEffectQueue sideEffects = queue(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        sideEffects.submit("email", () -> await(release));
+
+        long start = System.nanoTime();
+        sideEffects.shutdown();
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(tookMillis < 2_000, "took " + tookMillis + "ms");
+    }
+
+    // Private helpers
+
+    private static SideEffectQueue queue(Duration drainTimeout) {
+        return new SideEffectQueue(new SimpleMeterRegistry(), 2, 10, 3, Duration.ofMillis(200), drainTimeout);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.eckertpreisser.authservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sliding window counting, retry-after and the check/record/reset path
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class SlidingWindowLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    private static final long START = 1_000 * WINDOW; // Start of a window
+
+    private final SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, Duration.ofMillis(WINDOW), 1024);
+
+    @Test
+    void admitsUpToTheLimitPerKey() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a", START + i));
+        }
+
+        assertTrue(limiter.tryAcquire("a", START + 3) > 0);
+        assertEquals(0, limiter.tryAcquire("b", START + 3));
+    }
+
+    @Test
+    void previousWindowDecaysAcrossTheBoundary() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", START + i);
+        }
+
+        // A sixth into the next window: 3 * 5/6 = 2.5 -> one more attempt fits
+        assertEquals(0, limiter.tryAcquire("a", START + WINDOW + WINDOW / 6));
+        assertTrue(limiter.tryAcquire("a", START + WINDOW + WINDOW / 6) > 0);
+        // Two thirds in: 1 + 3 * 1/3 = 2 -> admitted again
+        assertEquals(0, limiter.tryAcquire("a", START + WINDOW + 2 * WINDOW / 3 + 1));
+    }
+
+    @Test
+    void retryAfterPointsToTheFirstAdmittedAttempt() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", START);
+        }
+
+        long retryAfter = limiter.tryAcquire("a", START + 1);
+
+        assertTrue(limiter.check("a", START + retryAfter) > 0);
+        assertEquals(0, limiter.tryAcquire("a", START + 1 + retryAfter));
+    }
+
+    @Test
+    void checkDoesNotCountRecordAndResetDo() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.check("a", START));
+        }
+
+        limiter.record("a", START);
+        limiter.record("a", START);
+        limiter.record("a", START);
+        assertTrue(limiter.check("a", START) > 0);
+
+        limiter.reset("a", START);
+        assertEquals(0, limiter.check("a", START));
+    }
+
+    @Test
+    void resetKeepsCountsOfKeysSharingOneSlot() {
+        // Two counters per row: find a key sharing exactly one slot with "a"
+        SlidingWindowLimiter small = new SlidingWindowLimiter(3, Duration.ofMillis(WINDOW), 2);
+        String other = sharingOneSlot(small, "a");
+        for (int i = 0; i < 3; i++) {
+            small.record(other, START);
+        }
+        small.record("a", START);
+
+        small.reset("a", START);
+
+        assertTrue(small.check(other, START) > 0);
+        assertEquals(0, small.check("a", START));
+    }
+
+    @Test
+    void resetSpansTheWindowBoundary() {
+        limiter.record("a", START);
+        limiter.record("a", START);
+        limiter.record("a", START + WINDOW);
+        assertTrue(limiter.check("a", START + WINDOW) > 0);
+
+        limiter.reset("a", START + WINDOW);
+
+        assertEquals(0, limiter.check("a", START + WINDOW));
+        limiter.record("a", START + WINDOW);
+        limiter.record("a", START + WINDOW);
+        assertEquals(0, limiter.check("a", START + WINDOW));
+    }
+
+    // Private helpers
+
+    private static String sharingOneSlot(SlidingWindowLimiter limiter, String key) {
+        int[] slots = limiter.indexes(key);
+        for (int i = 0; ; i++) {
+            int[] candidate = limiter.indexes("k" + i);
+            if ((candidate[0] == slots[0]) != (candidate[1] == slots[1])) {
+                return "k" + i;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.eckertpreisser.authservice.token;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Timing wheel bookkeeping, overflow policies and journal replay
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class ExpiringTokenStoreTest {
+
+    @TempDir
+    Path journalDir;
+
+    @Test
+    void expiredTokenIsNotReturned() throws InterruptedException {
+        ExpiringTokenStore store = new ExpiringTokenStore("test", Duration.ofHours(1), 10);
+        store.put("short", "a", Duration.ofMillis(1));
+        store.put("long", "b");
+
+        Thread.sleep(5);
+
+        assertNull(store.get("short"));
+        assertEquals("b", store.get("long"));
+    }
+
+    @Test
+    void rePutKeepsOneWheelEntryPerToken() {
+        ExpiringTokenStore store = new ExpiringTokenStore("test", Duration.ofHours(1), 10);
+        for (int i = 1; i <= 100; i++) {
+            store.put("token", "v" + i, Duration.ofSeconds(i * 10L));
+        }
+        store.put("token", "same-slot", Duration.ofSeconds(1000));
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.scheduledCount());
+        assertEquals("same-slot", store.get("token"));
+
+        store.remove("token");
+        assertEquals(0, store.scheduledCount());
+    }
+
+    @Test
+    void evictSoonestDropsTheEarliestExpiry() {
+        ExpiringTokenStore store = new ExpiringTokenStore("test", Duration.ofHours(1), 2);
+        store.put("late", "a", Duration.ofHours(2));
+        store.put("early", "b", Duration.ofMinutes(5));
+
+        store.put("new", "c");
+
+        assertNull(store.get("early"));
+        assertEquals("a", store.get("late"));
+        assertEquals("c", store.get("new"));
+        assertEquals(1, store.getEvictedCount());
+    }
+
+    @Test
+    void rejectNeverDropsExistingEntries() {
+        ExpiringTokenStore store = new ExpiringTokenStore("revoked", Duration.ofHours(1), 2,
+                ExpiringTokenStore.Overflow.REJECT, null);
+        store.put("jti-1", "");
+        store.put("jti-2", "");
+
+        assertThrows(TokenStoreFullException.class, () -> store.put("jti-3", ""));
+        store.put("jti-1", "", Duration.ofHours(2)); // Known key still updatable
+
+        assertEquals("", store.get("jti-1"));
+        assertEquals("", store.get("jti-2"));
+        assertNull(store.get("jti-3"));
+        assertEquals(1, store.getRejectedCount());
+    }
+
+    @Test
+    void journalReplayRestoresPutsAndRemovals() throws Exception {
+        Path file = journalDir.resolve("revoked.journal");
+        ExpiringTokenStore store = new ExpiringTokenStore("revoked", Duration.ofHours(1), 10,
+                ExpiringTokenStore.Overflow.REJECT, new TokenJournal(file));
+        store.put("kept", "a");
+        store.put("removed", "b");
+        store.put("updated", "old");
+        store.put("updated", "new");
+        store.remove("removed");
+        store.close();
+
+        ExpiringTokenStore restored = new ExpiringTokenStore("revoked", Duration.ofHours(1), 10,
+                ExpiringTokenStore.Overflow.REJECT, new TokenJournal(file));
+
+        assertEquals("a", restored.get("kept"));
+        assertNull(restored.get("removed"));
+        assertEquals("new", restored.get("updated"));
+        assertEquals(2, restored.scheduledCount());
+        restored.close();
+    }
+}
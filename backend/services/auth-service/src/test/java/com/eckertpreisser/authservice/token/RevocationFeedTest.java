@@ -0,0 +1,85 @@
+package com.eckertpreisser.authservice.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RevocationFeed incremental pages and snapshot fallback
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class RevocationFeedTest {
+
+    private final ExpiringTokenStore exact = new ExpiringTokenStore("revoked", Duration.ofHours(1), 1000,
+            ExpiringTokenStore.Overflow.REJECT, null);
+    private final RevocationFeed feed = new RevocationFeed(exact, 3);
+
+    @Test
+    void firstPollIsASnapshotOfTheExactStore() {
+        revoke("a");
+        revoke("b");
+
+        RevocationFeed.Page page = feed.since(null, 0);
+
+        assertTrue(page.snapshot());
+        assertEquals(2, page.sequence());
+        assertEquals(List.of("a", "b"), ids(page).stream().sorted().toList());
+    }
+
+    @Test
+    void laterPollsOnlyReturnNewRevocations() {
+        revoke("a");
+        RevocationFeed.Page first = feed.since(null, 0);
+        revoke("b");
+        revoke("c");
+
+        RevocationFeed.Page next = feed.since(first.epoch(), first.sequence());
+
+        assertFalse(next.snapshot());
+        assertEquals(3, next.sequence());
+        assertEquals(List.of("b", "c"), ids(next));
+        assertEquals(List.of(), ids(feed.since(next.epoch(), next.sequence())));
+    }
+
+    @Test
+    void callerBehindTheRingGetsASnapshot() {
+        RevocationFeed.Page first = feed.since(null, 0);
+        for (String id : List.of("a", "b", "c", "d")) {
+            revoke(id);
+        }
+
+        RevocationFeed.Page next = feed.since(first.epoch(), first.sequence());
+
+        assertTrue(next.snapshot());
+        assertEquals(4, ids(next).size());
+    }
+
+    @Test
+    void unknownEpochGetsASnapshot() {
+        revoke("a");
+
+        RevocationFeed.Page page = feed.since("other-instance", 1);
+
+        assertTrue(page.snapshot());
+        assertEquals(feed.getEpoch(), page.epoch());
+    }
+
+    // Private helpers
+
+    private void revoke(String tokenId) {
+        long expiresAtMillis = System.currentTimeMillis() + 60_000;
+        exact.put(tokenId, "", Duration.ofMillis(60_000));
+        feed.append(tokenId, expiresAtMillis);
+    }
+
+    private static List<String> ids(RevocationFeed.Page page) {
+        return page.entries().stream().map(RevocationFeed.Entry::tokenId).toList();
+    }
+}
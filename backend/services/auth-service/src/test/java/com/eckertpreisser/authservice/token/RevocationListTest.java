@@ -0,0 +1,104 @@
+package com.eckertpreisser.authservice.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bloom filter buckets in front of the exact revocation store
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class RevocationListTest {
+
+    private final ExpiringTokenStore exact = new ExpiringTokenStore("revoked", Duration.ofHours(1), 100_000,
+            ExpiringTokenStore.Overflow.REJECT, null);
+
+    @Test
+    void revokedTokenIsDetectedOthersAreNot() {
+        RevocationList list = new RevocationList(exact, Duration.ofHours(1), 1000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        list.revoke("jti-revoked", expiresAt);
+
+        assertTrue(list.isRevoked("jti-revoked", expiresAt));
+        assertFalse(list.isRevoked("jti-valid", expiresAt));
+        assertEquals(1, list.getConfirmedCount());
+    }
+
+    @Test
+    void lookupOnlyProbesTheBucketOfTheTokensExpiry() {
+        RevocationList list = new RevocationList(exact, Duration.ofMinutes(1), 1000, 0.01);
+        long now = System.currentTimeMillis();
+
+        list.revoke("jti", now + 30 * 60_000);
+
+        // Same ID, expiry in another (empty) bucket - answered without the exact store
+        assertFalse(list.isRevoked("jti", now + 90 * 60_000));
+        assertEquals(1, list.getNegativeCount());
+        assertEquals(0, list.getFalsePositiveCount());
+    }
+
+    @Test
+    void fullFilterGetsASiblingWithoutLosingEntries() {
+        RevocationList list = new RevocationList(exact, Duration.ofHours(1), 100, 0.01);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        long singleFilterBytes;
+
+        list.revoke("jti-0", expiresAt);
+        singleFilterBytes = list.getFilterBytes();
+        for (int i = 1; i < 1000; i++) {
+            list.revoke("jti-" + i, expiresAt);
+        }
+
+        assertEquals(1, list.getBucketCount());
+        assertTrue(list.getFilterBytes() >= 10 * singleFilterBytes);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(list.isRevoked("jti-" + i, expiresAt));
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheTarget() {
+        RevocationList list = new RevocationList(exact, Duration.ofHours(1), 10_000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 10_000; i++) {
+            list.revoke("revoked-" + i, expiresAt);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(list.isRevoked("valid-" + i, expiresAt));
+        }
+
+        // 1% target - allow some slack for the hash distribution
+        assertTrue(list.getFalsePositiveCount() < 200, "false positives: " + list.getFalsePositiveCount());
+    }
+
+    @Test
+    void filtersAreRebuiltFromTheExactStore() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        exact.put("jti-before-restart", "", Duration.ofMinutes(1));
+
+        RevocationList list = new RevocationList(exact, Duration.ofHours(1), 1000, 0.01);
+
+        assertTrue(list.isRevoked("jti-before-restart", expiresAt));
+    }
+
+    @Test
+    void passedBucketsAreDropped() throws InterruptedException {
+        RevocationList list = new RevocationList(exact, Duration.ofMillis(20), 1000, 0.01);
+        long expiresAt = System.currentTimeMillis() + 10;
+        list.revoke("jti", expiresAt);
+        assertEquals(1, list.getBucketCount());
+
+        Thread.sleep(50);
+        list.isRevoked("other", System.currentTimeMillis() + 60_000);
+
+        assertEquals(0, list.getBucketCount());
+    }
+}
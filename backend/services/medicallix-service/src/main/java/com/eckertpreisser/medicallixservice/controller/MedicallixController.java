@@ -3,7 +3,9 @@ package com.eckertpreisser.medicallixservice.controller;
 import com.eckertpreisser.medicallixservice.dto.ConversationDTO;
 import com.eckertpreisser.medicallixservice.dto.CreateConversationRequest;
 import com.eckertpreisser.medicallixservice.dto.PatientDTO;
+import com.eckertpreisser.medicallixservice.security.GatewayIdentityResolver;
 import com.eckertpreisser.medicallixservice.service.MedicallixService;
+import com.eckertpreisser.common.security.IdentityHeader;
 import com.eckertpreisser.common.utils.LoggerUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +29,8 @@ import java.util.Map;
  * - GET /api/medicallix/patients - Get all patients for user
  * - GET /api/medicallix/patients/{id}/conversations - Get conversations for patient
  *
- * Auth: JWT required (userId extracted from token)
+ * Auth: JWT verified by the API Gateway, userId taken from the signed
+ * X-Auth-Identity header it forwards (GatewayIdentityResolver)
  */
 @RestController
 @RequestMapping("/api/medicallix")
@@ -38,6 +41,7 @@ public class MedicallixController {
     private static final Logger logger = LoggerFactory.getLogger(MedicallixController.class);
 
     private final MedicallixService medicallixService;
+    private final GatewayIdentityResolver identityResolver;
 
     /**
      * Create new conversation from doctor's speech transcript
@@ -52,14 +56,12 @@ public class MedicallixController {
     @PostMapping("/conversations")
     public ResponseEntity<ConversationDTO> createConversation(
             @Valid @RequestBody CreateConversationRequest request,
-            @RequestHeader(value = "X-User-Id", required = false) Long userId // TODO: Get from JWT token
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        LoggerUtil.info(logger, "MEDICALLIX_API_001", "Create conversation request",
-                Map.of("userId", userId != null ? userId : "null", "transcriptLength", request.getTranscript().length()));
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
-        // TODO: Extract userId from JWT token in production
-        // For demo: use header or default to userId 1
-        Long effectiveUserId = userId != null ? userId : 1L;
+        LoggerUtil.info(logger, "MEDICALLIX_API_001", "Create conversation request",
+                Map.of("userId", effectiveUserId, "transcriptLength", request.getTranscript().length()));
 
         ConversationDTO conversation = medicallixService.createConversation(request, effectiveUserId);
 
@@ -74,9 +76,9 @@ public class MedicallixController {
      */
     @GetMapping("/conversations")
     public ResponseEntity<List<ConversationDTO>> getAllConversations(
-            @RequestHeader(value = "X-User-Id", required = false) Long userId
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        Long effectiveUserId = userId != null ? userId : 1L;
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
         LoggerUtil.info(logger, "MEDICALLIX_API_003", "Get all conversations request",
                 Map.of("userId", effectiveUserId));
@@ -92,9 +94,9 @@ public class MedicallixController {
     @GetMapping("/conversations/{id}")
     public ResponseEntity<ConversationDTO> getConversation(
             @PathVariable Long id,
-            @RequestHeader(value = "X-User-Id", required = false) Long userId
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        Long effectiveUserId = userId != null ? userId : 1L;
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
         LoggerUtil.info(logger, "MEDICALLIX_API_004", "Get conversation by ID request",
                 Map.of("conversationId", id, "userId", effectiveUserId));
@@ -110,9 +112,9 @@ public class MedicallixController {
     @DeleteMapping("/conversations/{id}")
     public ResponseEntity<Void> deleteConversation(
             @PathVariable Long id,
-            @RequestHeader(value = "X-User-Id", required = false) Long userId
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        Long effectiveUserId = userId != null ? userId : 1L;
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
         LoggerUtil.info(logger, "MEDICALLIX_API_005", "Delete conversation request",
                 Map.of("conversationId", id, "userId", effectiveUserId));
@@ -127,9 +129,9 @@ public class MedicallixController {
      */
     @GetMapping("/patients")
     public ResponseEntity<List<PatientDTO>> getAllPatients(
-            @RequestHeader(value = "X-User-Id", required = false) Long userId
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        Long effectiveUserId = userId != null ? userId : 1L;
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
         LoggerUtil.info(logger, "MEDICALLIX_API_006", "Get all patients request",
                 Map.of("userId", effectiveUserId));
@@ -145,9 +147,9 @@ public class MedicallixController {
     @GetMapping("/patients/{patientId}/conversations")
     public ResponseEntity<List<ConversationDTO>> getPatientConversations(
             @PathVariable Long patientId,
-            @RequestHeader(value = "X-User-Id", required = false) Long userId
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String identity
     ) {
-        Long effectiveUserId = userId != null ? userId : 1L;
+        Long effectiveUserId = identityResolver.requireUserId(identity);
 
         LoggerUtil.info(logger, "MEDICALLIX_API_007", "Get patient conversations request",
                 Map.of("patientId", patientId, "userId", effectiveUserId));
@@ -0,0 +1,42 @@
+package com.eckertpreisser.medicallixservice.security;
+
+import com.eckertpreisser.common.models.exception.UnauthorizedException;
+import com.eckertpreisser.common.security.IdentityHeader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * GatewayIdentityResolver - Current user from the API Gateway identity header
+ *
+ * The gateway verifies the JWT and forwards a signed X-Auth-Identity
+ * header; checking it is a single HMAC, no JWT parsing and no call to
+ * auth-service.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class GatewayIdentityResolver {
+
+    private final IdentityHeader identityHeader;
+
+    public GatewayIdentityResolver(
+            @Value("${eckert.security.identity.secret}") String identitySecret) {
+        this.identityHeader = new IdentityHeader(identitySecret);
+    }
+
+    /**
+     * Get user ID of the authenticated caller
+     *
+     * @param header X-Auth-Identity header value (may be null)
+     * @return User ID
+     * @throws UnauthorizedException if the header is missing, forged, expired or has no user ID
+     */
+    public Long requireUserId(String header) {
+        IdentityHeader.Identity identity = identityHeader.decode(header, System.currentTimeMillis());
+        if (identity == null || identity.userId() == null) {
+            throw new UnauthorizedException("MEDICALLIX_ERR_401_001", "Authentication required");
+        }
+        return identity.userId();
+    }
+}
@@ -1,10 +1,14 @@
 package com.eckertpreisser.userservice.controller;
 
 import com.eckertpreisser.common.models.dto.ApiResponse;
+import com.eckertpreisser.common.security.IdentityHeader;
 import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.userservice.dto.AuthCredentialsDTO;
 import com.eckertpreisser.userservice.dto.CreateUserRequest;
+import com.eckertpreisser.userservice.dto.LastLoginBatchRequest;
 import com.eckertpreisser.userservice.dto.UpdateUserRequest;
 import com.eckertpreisser.userservice.dto.UserDTO;
+import com.eckertpreisser.userservice.security.ServiceCallVerifier;
 import com.eckertpreisser.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,11 +30,13 @@ import java.util.Map;
  * - POST   /api/users              - Create user (called by auth-service)
  * - GET    /api/users/{id}         - Get user by ID
  * - GET    /api/users/email/{email} - Get user by email (auth-service)
+ * - GET    /api/users/internal/auth/{email} - Login credentials (auth-service only, blocked at gateway)
  * - GET    /api/users              - Get all users (admin)
  * - PUT    /api/users/{id}         - Update user profile
  * - PUT    /api/users/{id}/password - Update password (auth-service)
  * - PUT    /api/users/{id}/email-verified - Set email verified (auth-service)
  * - PUT    /api/users/{id}/last-login - Update last login (auth-service)
+ * - PUT    /api/users/last-login  - Update last login of many users (auth-service only, batched)
  * - DELETE /api/users/{id}         - Deactivate user (soft delete)
  * - GET    /api/users/email/exists/{email} - Check if email exists (auth-service)
  *
@@ -44,6 +50,7 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final ServiceCallVerifier serviceCallVerifier;
 
     /**
      * Create new user
@@ -93,6 +100,29 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(user));
     }
 
+    /**
+     * Get login credentials by email
+     *
+     * INTERNAL - called by auth-service during login. Contains the password
+     * hash, so it requires a service credential (X-Auth-Identity signed for
+     * a "service:" subject) - not just the gateway refusing /internal/ paths,
+     * since user-service is also reachable directly.
+     * GET /api/users/internal/auth/{email}
+     */
+    @GetMapping("/internal/auth/{email}")
+    public ResponseEntity<ApiResponse<AuthCredentialsDTO>> getAuthCredentials(
+            @PathVariable String email,
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String serviceCredential) {
+        serviceCallVerifier.requireService(serviceCredential);
+
+        LoggerUtil.debug(logger, "USER_API_012", "Get auth credentials request",
+                Map.of("email", email));
+
+        AuthCredentialsDTO credentials = userService.getAuthCredentials(email);
+
+        return ResponseEntity.ok(ApiResponse.success(credentials));
+    }
+
     /**
      * Get all users
      *
@@ -128,6 +158,7 @@ public class UserController {
      * Update user password
      *
      * Called by auth-service. Password must be ALREADY HASHED!
+     * Optional "expectedPassword": only replace this hash (rehash after login).
      * PUT /api/users/{id}/password
      */
     @PutMapping("/{id}/password")
@@ -138,7 +169,7 @@ public class UserController {
                 Map.of("userId", id));
 
         String hashedPassword = request.get("password");
-        UserDTO user = userService.updatePassword(id, hashedPassword);
+        UserDTO user = userService.updatePassword(id, hashedPassword, request.get("expectedPassword"));
 
         return ResponseEntity.ok(ApiResponse.success("Password updated successfully", user));
     }
@@ -178,6 +209,29 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Last login updated", null));
     }
 
+    /**
+     * Update last login timestamps of many users
+     *
+     * INTERNAL - auth-service reports its logins here in batches. Requires
+     * a service credential like /internal/auth (the timestamps are not
+     * checked against real logins). Applied asynchronously in one JDBC
+     * batch (latest timestamp per user wins).
+     * PUT /api/users/last-login
+     */
+    @PutMapping("/last-login")
+    public ResponseEntity<ApiResponse<Void>> updateLastLogins(
+            @Valid @RequestBody LastLoginBatchRequest request,
+            @RequestHeader(value = IdentityHeader.HEADER, required = false) String serviceCredential) {
+        serviceCallVerifier.requireService(serviceCredential);
+
+        LoggerUtil.debug(logger, "USER_API_011", "Update last logins request",
+                Map.of("users", request.getLogins().size()));
+
+        userService.updateLastLogins(request.getLogins());
+
+        return ResponseEntity.accepted().body(ApiResponse.success("Last logins accepted", null));
+    }
+
     /**
      * Deactivate user (soft delete)
      * DELETE /api/users/{id}
@@ -0,0 +1,26 @@
+package com.eckertpreisser.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Auth Credentials DTO
+ *
+ * INTERNAL - returned only to auth-service for login. The only DTO that
+ * carries the password hash; never route it through the API Gateway!
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthCredentialsDTO {
+    private Long id;
+    private String passwordHash;
+    private Boolean active;
+    private Boolean emailVerified;
+}
@@ -0,0 +1,29 @@
+package com.eckertpreisser.userservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Last Login Batch Request DTO
+ *
+ * Login timestamps for many users at once: {"logins": {"42": "2025-01-31T10:15:30"}}.
+ * A missing timestamp means "now".
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LastLoginBatchRequest {
+
+    @NotEmpty(message = "At least one login is required")
+    private Map<Long, LocalDateTime> logins;
+}
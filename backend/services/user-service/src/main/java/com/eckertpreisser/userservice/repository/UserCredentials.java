@@ -0,0 +1,22 @@
+package com.eckertpreisser.userservice.repository;
+
+/**
+ * User Credentials Projection
+ *
+ * The columns login checks - the hash and the status flags - and
+ * nothing else. Nothing is materialized (no entity, no persistence
+ * context entry); the profile comes from the regular lookup by email.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public interface UserCredentials {
+
+    Long getId();
+
+    String getPassword(); // Hashed
+
+    Boolean getActive();
+
+    Boolean getEmailVerified();
+}
@@ -2,6 +2,8 @@ package com.eckertpreisser.userservice.repository;
 
 import com.eckertpreisser.userservice.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -27,4 +29,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Check if email exists
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find login credentials by email (projection - single lookup on idx_email)
+     */
+    @Query("SELECT u.id AS id, u.password AS password, u.active AS active, u.emailVerified AS emailVerified "
+            + "FROM User u WHERE u.email = :email")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
 }
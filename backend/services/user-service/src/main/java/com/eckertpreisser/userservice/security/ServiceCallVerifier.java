@@ -0,0 +1,44 @@
+package com.eckertpreisser.userservice.security;
+
+import com.eckertpreisser.common.models.exception.UnauthorizedException;
+import com.eckertpreisser.common.security.IdentityHeader;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * ServiceCallVerifier - Guards service-to-service (internal) endpoints
+ *
+ * user-service has no Spring Security and is reachable on its own port,
+ * so internal endpoints check a signed service credential themselves
+ * instead of relying on the gateway not routing them.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceCallVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCallVerifier.class);
+
+    private final IdentityHeader identityHeader;
+
+    /**
+     * Require a valid service credential
+     *
+     * @param header X-Auth-Identity header value (may be null)
+     * @return Calling service identity
+     * @throws UnauthorizedException if the header is missing, forged, expired or a user identity
+     */
+    public IdentityHeader.Identity requireService(String header) {
+        IdentityHeader.Identity identity = identityHeader.decodeService(header, System.currentTimeMillis());
+        if (identity == null) {
+            LoggerUtil.warn(logger, "USER_ERR_401_001", "Internal endpoint called without service credential");
+            throw new UnauthorizedException("USER_ERR_401_001", "Service credential required");
+        }
+        return identity;
+    }
+}
@@ -0,0 +1,155 @@
+package com.eckertpreisser.userservice.service;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LastLoginBuffer - Coalesces last-login updates and writes them in batches
+ *
+ * Every successful login used to cost a findById + save. Logins are now
+ * only recorded in memory (latest timestamp per user wins) and written
+ * every users.last-login.flush-interval as ONE JDBC batch of
+ *
+ *   UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)
+ *
+ * The guard keeps an older timestamp from overwriting a newer one (e.g.
+ * a delayed retry). Reaching users.last-login.max-pending triggers an
+ * early flush. A failed flush is merged back and retried next time.
+ *
+ * Trade-offs: last_login_at lags up to one interval, updated_at is not
+ * touched, and timestamps not yet flushed are lost if the process dies.
+ * Unknown user IDs are silently ignored (the UPDATE matches nothing).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class LastLoginBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginBuffer.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPending;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    public LastLoginBuffer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${users.last-login.flush-interval:500ms}") Duration flushInterval,
+            @Value("${users.last-login.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a login (keeps the latest timestamp per user)
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        merge(userId, loginAt);
+
+        if (pending.size() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down - the final flush picks it up
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending timestamps (one JDBC batch)
+     *
+     * Only ever runs on the flush thread (and once more on shutdown).
+     *
+     * @return Number of users in the batch
+     */
+    private int flush() {
+        earlyFlushScheduled.set(false);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // remove() hands over each value exactly once; later logins start a new entry
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                Timestamp timestamp = Timestamp.valueOf(loginAt);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (RuntimeException e) {
+            // Put back (newer logins recorded meanwhile win) - retried on the next interval
+            for (Object[] row : batch) {
+                merge((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            throw e;
+        }
+
+        LoggerUtil.debug(logger, "USER_017", "Last logins flushed", Map.of("users", batch.size()));
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    // Private helpers
+
+    private void merge(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LoggerUtil.warn(logger, "USER_WARN_001", "Last login flush failed - will retry",
+                    Map.of("pending", pending.size(), "error", String.valueOf(e.getMessage())));
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.eckertpreisser.userservice.service;
 import com.eckertpreisser.common.models.exception.NotFoundException;
 import com.eckertpreisser.common.models.exception.ValidationException;
 import com.eckertpreisser.common.utils.LoggerUtil;
+import com.eckertpreisser.userservice.dto.AuthCredentialsDTO;
 import com.eckertpreisser.userservice.dto.CreateUserRequest;
 import com.eckertpreisser.userservice.dto.UpdateUserRequest;
 import com.eckertpreisser.userservice.dto.UserDTO;
 import com.eckertpreisser.userservice.entity.User;
+import com.eckertpreisser.userservice.repository.UserCredentials;
 import com.eckertpreisser.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -37,6 +39,7 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
+    private final LastLoginBuffer lastLoginBuffer;
 
     /**
      * Create new user
@@ -111,6 +114,31 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    /**
+     * Get login credentials by email
+     *
+     * INTERNAL - called by auth-service during login. Reads only the
+     * password hash and status flags (projection, no entity is loaded).
+     */
+    public AuthCredentialsDTO getAuthCredentials(String email) {
+        LoggerUtil.debug(logger, "USER_019", "Getting auth credentials by email",
+                Map.of("email", email));
+
+        UserCredentials credentials = userRepository.findCredentialsByEmail(email)
+                .orElseThrow(() -> {
+                    LoggerUtil.warn(logger, "USER_ERR_404_002", "User not found with email",
+                            Map.of("email", email));
+                    return new NotFoundException("USER_ERR_404_002", "User not found");
+                });
+
+        return AuthCredentialsDTO.builder()
+                .id(credentials.getId())
+                .passwordHash(credentials.getPassword())
+                .active(credentials.getActive())
+                .emailVerified(credentials.getEmailVerified())
+                .build();
+    }
+
     /**
      * Get all users (admin only)
      */
@@ -161,12 +189,32 @@ public class UserService {
      */
     @Transactional
     public UserDTO updatePassword(Long userId, String hashedPassword) {
+        return updatePassword(userId, hashedPassword, null);
+    }
+
+    /**
+     * Update user password unless it was changed meanwhile
+     *
+     * Called by auth-service to rehash with a higher cost after login. The
+     * rehash runs in the background, so a password reset may have happened
+     * in between - then the stored hash differs and is kept.
+     *
+     * @param expectedHash Hash the new one replaces (null = unconditional)
+     */
+    @Transactional
+    public UserDTO updatePassword(Long userId, String hashedPassword, String expectedHash) {
         LoggerUtil.info(logger, "USER_008", "Updating password",
                 Map.of("userId", userId));
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("USER_ERR_404_001", "User not found"));
 
+        if (expectedHash != null && !expectedHash.equals(user.getPassword())) {
+            LoggerUtil.info(logger, "USER_020", "Password changed meanwhile - update skipped",
+                    Map.of("userId", userId));
+            return convertToDTO(user);
+        }
+
         user.setPassword(hashedPassword); // ALREADY HASHED!
         userRepository.save(user);
 
@@ -201,18 +249,31 @@ public class UserService {
     /**
      * Update last login timestamp
      *
-     * Called by auth-service after successful login
+     * Called by auth-service after successful login. Buffered - written in
+     * batches by LastLoginBuffer (no read, no per-login transaction).
      */
-    @Transactional
     public void updateLastLogin(Long userId) {
         LoggerUtil.debug(logger, "USER_012", "Updating last login",
                 Map.of("userId", userId));
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("USER_ERR_404_001", "User not found"));
+        lastLoginBuffer.record(userId, LocalDateTime.now());
+    }
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+    /**
+     * Update last login timestamps of many users (buffered like updateLastLogin)
+     *
+     * Timestamps in the future are capped to now.
+     */
+    public void updateLastLogins(Map<Long, LocalDateTime> logins) {
+        LoggerUtil.debug(logger, "USER_018", "Updating last logins",
+                Map.of("users", logins.size()));
+
+        LocalDateTime now = LocalDateTime.now();
+        logins.forEach((userId, loginAt) -> {
+            if (userId != null) {
+                lastLoginBuffer.record(userId, loginAt == null || loginAt.isAfter(now) ? now : loginAt);
+            }
+        });
     }
 
     /**
@@ -4,6 +4,7 @@ import com.eckertpreisser.common.models.dto.ApiResponse;
 import com.eckertpreisser.common.utils.LoggerUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -40,6 +41,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<ApiResponse<?>> handleUnauthorizedException(UnauthorizedException ex) {
+        LoggerUtil.warn(logger, ex.getErrorCode(), ex.getUserMessage());
+
+        ApiResponse<?> response = ApiResponse.error(ex.getUserMessage(), ex.getErrorCode());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        LoggerUtil.warn(logger, ex.getErrorCode(), ex.getUserMessage());
+
+        ApiResponse<?> response = ApiResponse.error(ex.getUserMessage(), ex.getErrorCode());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (ex.getRetryAfterSeconds() > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+        return builder.body(response);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiResponse<?>> handleBusinessException(BusinessException ex) {
         LoggerUtil.error(logger, ex.getErrorCode(), ex.getUserMessage(), ex);
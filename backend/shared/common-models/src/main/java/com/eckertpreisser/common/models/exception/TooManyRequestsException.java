@@ -0,0 +1,27 @@
+package com.eckertpreisser.common.models.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is rejected due to overload or rate limits
+ *
+ * Error Code Pattern: {SERVICE}_ERR_429_{REASON}
+ * Example: AUTH_ERR_429_001 - Password hashing overloaded
+ *
+ * Mapped to 429 Too Many Requests (with Retry-After if retryAfterSeconds > 0).
+ */
+@Getter
+public class TooManyRequestsException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String errorCode, String message, Object... args) {
+        super(errorCode, message, args);
+        this.retryAfterSeconds = 0;
+    }
+
+    public TooManyRequestsException(String errorCode, String message, long retryAfterSeconds) {
+        super(errorCode, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.eckertpreisser.common.models.exception;
+
+/**
+ * Exception thrown when a request is not authenticated
+ *
+ * Error Code Pattern: {SERVICE}_ERR_401_{REASON}
+ * Example: MEDICALLIX_ERR_401_001 - Missing or invalid identity
+ */
+public class UnauthorizedException extends BaseException {
+
+    public UnauthorizedException(String errorCode, String message, Object... args) {
+        super(errorCode, message, args);
+    }
+}
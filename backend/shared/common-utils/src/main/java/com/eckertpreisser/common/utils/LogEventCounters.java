@@ -0,0 +1,117 @@
+package com.eckertpreisser.common.utils;
+
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LogEventCounters - Occurrences per error code and level
+ *
+ * LoggerUtil counts every INFO, WARN and ERROR call here, whether or not
+ * the level is enabled or the event is throttled, so the counts reflect
+ * what happened rather than what was written. DEBUG/TRACE calls are not
+ * counted (hot-path diagnostics). Counting is one map lookup plus a
+ * striped LongAdder increment, no allocation once a code was seen.
+ *
+ * Exported as log.events{code, level} by LoggerUtilMetrics.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class LogEventCounters {
+
+    /**
+     * Notified once per code and level when the first event is counted
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onNewCounter(String errorCode, Level level, LongAdder counter);
+    }
+
+    // Counted levels, indexed by Level.ordinal() (ERROR, WARN, INFO)
+    private static final Level[] LEVELS = {Level.ERROR, Level.WARN, Level.INFO};
+
+    private static final Map<String, AtomicReferenceArray<LongAdder>> counters = new ConcurrentHashMap<>();
+    private static final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private LogEventCounters() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Count one event
+     *
+     * @param errorCode Error code of the event
+     * @param level ERROR, WARN or INFO (other levels are ignored)
+     */
+    static void increment(String errorCode, Level level) {
+        int index = level.ordinal();
+        if (index >= LEVELS.length) {
+            return;
+        }
+
+        AtomicReferenceArray<LongAdder> byLevel = counters.get(errorCode);
+        if (byLevel == null) {
+            byLevel = counters.computeIfAbsent(errorCode, code -> new AtomicReferenceArray<>(LEVELS.length));
+        }
+
+        LongAdder counter = byLevel.get(index);
+        if (counter == null) {
+            counter = create(errorCode, byLevel, index);
+        }
+        counter.increment();
+    }
+
+    /**
+     * Current count of a code and level (0 if never seen)
+     */
+    public static long count(String errorCode, Level level) {
+        AtomicReferenceArray<LongAdder> byLevel = counters.get(errorCode);
+        if (byLevel == null || level.ordinal() >= LEVELS.length) {
+            return 0;
+        }
+        LongAdder counter = byLevel.get(level.ordinal());
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Visit every existing counter, then get notified of new ones
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+        counters.forEach((code, byLevel) -> {
+            for (int i = 0; i < LEVELS.length; i++) {
+                LongAdder counter = byLevel.get(i);
+                if (counter != null) {
+                    listener.onNewCounter(code, LEVELS[i], counter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove a listener added by addListener
+     */
+    public static void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Private helpers
+
+    private static LongAdder create(String errorCode, AtomicReferenceArray<LongAdder> byLevel, int index) {
+        LongAdder created = new LongAdder();
+        if (!byLevel.compareAndSet(index, null, created)) {
+            return byLevel.get(index);
+        }
+
+        for (Listener listener : listeners) {
+            listener.onNewCounter(errorCode, LEVELS[index], created);
+        }
+        return created;
+    }
+}
@@ -0,0 +1,245 @@
+package com.eckertpreisser.common.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * LogThrottle - Per error code sampling and rate limiting for LoggerUtil
+ *
+ * Policies are keyed by error code and read from the flattened "logging"
+ * app config of the Config Server:
+ * <pre>
+ * default.rate-per-second: 100        # all codes below WARN without own policy
+ * default.burst: 200
+ * codes.CONFIG_SRV_001.sample-rate: 0.01
+ * codes.AUTH_003.rate-per-second: 20
+ * codes.AUTH_003.burst: 40
+ * </pre>
+ *
+ * - sample-rate: share of events kept (0.0 - 1.0)
+ * - rate-per-second / burst: token bucket (GCRA, one CAS per event)
+ * - Code policies apply to every level, the default only below WARN,
+ *   so errors are never dropped by a blanket limit
+ *
+ * Suppressed events are counted per code and reason ("sampled",
+ * "rate_limited") and exported as log.events.suppressed.
+ * Without any configured policy the check is a single volatile read.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class LogThrottle {
+
+    public static final String REASON_SAMPLED = "sampled";
+    public static final String REASON_RATE_LIMITED = "rate_limited";
+
+    private static final String DEFAULT_PREFIX = "default.";
+    private static final String CODES_PREFIX = "codes.";
+
+    private static volatile Map<String, Policy> policies = Map.of();
+    private static volatile Policy defaultPolicy;
+    private static volatile boolean active;
+
+    // Error code -> bucket and suppressed counters (kept across reconfiguration)
+    private static final Map<String, CodeState> states = new ConcurrentHashMap<>();
+    private static final List<BiConsumer<String, CodeState>> listeners = new CopyOnWriteArrayList<>();
+
+    private LogThrottle() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Decide whether an event may be logged
+     *
+     * @param errorCode Error code of the event
+     * @param belowWarn true for INFO/DEBUG/TRACE
+     * @return true if the event should be written
+     */
+    static boolean tryAcquire(String errorCode, boolean belowWarn) {
+        if (!active) {
+            return true;
+        }
+
+        Policy policy = policies.get(errorCode);
+        if (policy == null) {
+            policy = belowWarn ? defaultPolicy : null;
+            if (policy == null) {
+                return true;
+            }
+        }
+
+        if (policy.sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= policy.sampleRate) {
+            state(errorCode).sampled.increment();
+            return false;
+        }
+
+        if (policy.intervalNanos > 0) {
+            CodeState state = state(errorCode);
+            if (!state.tryAcquire(policy)) {
+                state.rateLimited.increment();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Replace all policies
+     *
+     * Malformed entries are skipped. An empty map disables throttling.
+     *
+     * @param settings Flattened "logging" config (see class doc)
+     * @return Number of code policies (plus 1 if a default is set)
+     */
+    public static int configure(Map<String, String> settings) {
+        Map<String, Map<String, String>> byCode = new HashMap<>();
+        Map<String, String> defaults = new HashMap<>();
+
+        settings.forEach((key, value) -> {
+            if (key.startsWith(DEFAULT_PREFIX)) {
+                defaults.put(key.substring(DEFAULT_PREFIX.length()), value);
+            } else if (key.startsWith(CODES_PREFIX)) {
+                int dot = key.lastIndexOf('.');
+                if (dot > CODES_PREFIX.length()) {
+                    byCode.computeIfAbsent(key.substring(CODES_PREFIX.length(), dot), code -> new HashMap<>())
+                            .put(key.substring(dot + 1), value);
+                }
+            }
+        });
+
+        Map<String, Policy> parsed = new HashMap<>();
+        byCode.forEach((code, values) -> {
+            Policy policy = Policy.parse(values);
+            if (policy != null) {
+                parsed.put(code, policy);
+            }
+        });
+        Policy parsedDefault = Policy.parse(defaults);
+
+        policies = Map.copyOf(parsed);
+        defaultPolicy = parsedDefault;
+        active = !parsed.isEmpty() || parsedDefault != null;
+
+        return parsed.size() + (parsedDefault != null ? 1 : 0);
+    }
+
+    /**
+     * Whether any policy is configured
+     */
+    public static boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Visit every code that has suppressed events, now and when new codes appear
+     *
+     * The listener is called once per code with its counters, e.g. to
+     * register metrics. Called on the logging thread for new codes.
+     */
+    public static void addCodeListener(BiConsumer<String, CodeState> listener) {
+        listeners.add(listener);
+        states.forEach(listener);
+    }
+
+    /**
+     * Remove a listener added by addCodeListener
+     */
+    public static void removeCodeListener(BiConsumer<String, CodeState> listener) {
+        listeners.remove(listener);
+    }
+
+    // Private helpers
+
+    private static CodeState state(String errorCode) {
+        CodeState state = states.get(errorCode);
+        if (state != null) {
+            return state;
+        }
+
+        CodeState created = new CodeState();
+        state = states.putIfAbsent(errorCode, created);
+        if (state != null) {
+            return state;
+        }
+
+        for (BiConsumer<String, CodeState> listener : listeners) {
+            listener.accept(errorCode, created);
+        }
+        return created;
+    }
+
+    /**
+     * Sampling/rate limit of one code
+     */
+    private record Policy(double sampleRate, long intervalNanos, long toleranceNanos) {
+
+        static Policy parse(Map<String, String> values) {
+            try {
+                double sampleRate = Double.parseDouble(values.getOrDefault("sample-rate", "1.0"));
+                double ratePerSecond = Double.parseDouble(values.getOrDefault("rate-per-second", "0"));
+
+                long intervalNanos = ratePerSecond > 0 ? (long) (1_000_000_000L / ratePerSecond) : 0;
+                long burst = Long.parseLong(values.getOrDefault("burst",
+                        String.valueOf(Math.max(1, (long) Math.ceil(ratePerSecond)))));
+
+                sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+                if (sampleRate >= 1.0 && intervalNanos == 0) {
+                    return null; // Nothing to throttle
+                }
+                return new Policy(sampleRate, intervalNanos, Math.max(0, burst - 1) * intervalNanos);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Token bucket and suppressed counters of one error code
+     */
+    public static final class CodeState {
+
+        // Theoretical arrival time of the next event (GCRA)
+        private final AtomicLong nextAllowedNanos = new AtomicLong(System.nanoTime());
+        private final LongAdder sampled = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+
+        private CodeState() {
+        }
+
+        private boolean tryAcquire(Policy policy) {
+            long now = System.nanoTime();
+            while (true) {
+                long next = nextAllowedNanos.get();
+                long base = Math.max(next, now);
+                if (base - now > policy.toleranceNanos) {
+                    return false;
+                }
+                if (nextAllowedNanos.compareAndSet(next, base + policy.intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Events dropped by sampling
+         */
+        public long getSampledCount() {
+            return sampled.sum();
+        }
+
+        /**
+         * Events dropped by the rate limit
+         */
+        public long getRateLimitedCount() {
+            return rateLimited.sum();
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.eckertpreisser.common.utils;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
 
 import java.util.Map;
 
@@ -10,111 +11,400 @@ import java.util.Map;
  *
  * Provides structured logging with error codes and context information.
  *
+ * The level is checked before anything is formatted, so calls for a
+ * disabled level cost one boolean check. Prefer the key/value overloads
+ * on hot paths: unlike Map.of(...) they allocate nothing at the call site.
+ * Enabled events then pass the per-code sampling/rate limit (LogThrottle).
+ * INFO/WARN/ERROR calls are counted per code (LogEventCounters) before
+ * any of this, for error-rate metrics without log parsing.
+ *
+ * Key/value varargs must alternate key, value. An odd-length array is a
+ * caller bug; its last element is still logged (as "unpaired=...")
+ * instead of being dropped. Maps of any value type (Map&lt;String, ?&gt;)
+ * bind to the Map overloads, never to the varargs ones.
+ *
  * Usage:
  * <pre>
+ * LoggerUtil.info(logger, "USER_001", "User created successfully", "userId", 123);
+ * LoggerUtil.debug(logger, "AUTH_003", "Finding user by email", "email", email);
  * LoggerUtil.info(logger, "USER_001", "User created successfully", Map.of("userId", 123));
  * LoggerUtil.error(logger, "USER_ERR_001", "Failed to create user", exception, Map.of("email", "test@example.com"));
  * </pre>
+ *
+ * Output format:
+ * - Text (default): "[CODE] message | Context: {key=value, ...}"
+ * - Structured (-Deckert.logging.structured=true or ECKERT_LOGGING_STRUCTURED=true):
+ *   message "[CODE] message", code and context passed as SLF4J key/value
+ *   pairs (rendered by %kvp or a JSON encoder) instead of being concatenated
  */
 public class LoggerUtil {
 
+    private static final boolean STRUCTURED = Boolean.parseBoolean(
+            System.getProperty("eckert.logging.structured", System.getenv("ECKERT_LOGGING_STRUCTURED")));
+
+    private static final Object[] NO_CONTEXT = new Object[0];
+
+    // Key for the last element of an odd-length key/value array (caller bug, but never dropped)
+    static final String UNPAIRED_KEY = "unpaired";
+
     private LoggerUtil() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
+    /**
+     * Whether context is emitted as SLF4J key/value pairs
+     */
+    public static boolean isStructured() {
+        return STRUCTURED;
+    }
+
+    // ========================================
+    // INFO
+    // ========================================
+
     /**
      * Log INFO level message with error code and context
      */
-    public static void info(Logger logger, String errorCode, String message, Map<String, Object> context) {
-        String formattedMessage = formatMessage(errorCode, message, context);
-        logger.info(formattedMessage);
+    public static void info(Logger logger, String errorCode, String message, Map<String, ?> context) {
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null, context);
+        }
     }
 
     /**
      * Log INFO level message with error code
      */
     public static void info(Logger logger, String errorCode, String message) {
-        info(logger, errorCode, message, Map.of());
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null, NO_CONTEXT);
+        }
+    }
+
+    /**
+     * Log INFO level message with error code and one context entry
+     */
+    public static void info(Logger logger, String errorCode, String message, String key, Object value) {
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null, new Object[]{key, value});
+        }
+    }
+
+    /**
+     * Log INFO level message with error code and two context entries
+     */
+    public static void info(Logger logger, String errorCode, String message,
+                            String key1, Object value1, String key2, Object value2) {
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    /**
+     * Log INFO level message with error code and three context entries
+     */
+    public static void info(Logger logger, String errorCode, String message,
+                            String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null,
+                    new Object[]{key1, value1, key2, value2, key3, value3});
+        }
+    }
+
+    /**
+     * Log INFO level message with error code and alternating key/value context
+     */
+    public static void info(Logger logger, String errorCode, String message, Object... keyValues) {
+        if (admitInfo(logger, errorCode)) {
+            log(logger, Level.INFO, errorCode, message, null, keyValues);
+        }
     }
 
+    // ========================================
+    // WARN
+    // ========================================
+
     /**
      * Log WARN level message with error code and context
      */
-    public static void warn(Logger logger, String errorCode, String message, Map<String, Object> context) {
-        String formattedMessage = formatMessage(errorCode, message, context);
-        logger.warn(formattedMessage);
+    public static void warn(Logger logger, String errorCode, String message, Map<String, ?> context) {
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null, context);
+        }
     }
 
     /**
      * Log WARN level message with error code
      */
     public static void warn(Logger logger, String errorCode, String message) {
-        warn(logger, errorCode, message, Map.of());
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null, NO_CONTEXT);
+        }
     }
 
+    /**
+     * Log WARN level message with error code and one context entry
+     */
+    public static void warn(Logger logger, String errorCode, String message, String key, Object value) {
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null, new Object[]{key, value});
+        }
+    }
+
+    /**
+     * Log WARN level message with error code and two context entries
+     */
+    public static void warn(Logger logger, String errorCode, String message,
+                            String key1, Object value1, String key2, Object value2) {
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    /**
+     * Log WARN level message with error code and three context entries
+     */
+    public static void warn(Logger logger, String errorCode, String message,
+                            String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null,
+                    new Object[]{key1, value1, key2, value2, key3, value3});
+        }
+    }
+
+    /**
+     * Log WARN level message with error code and alternating key/value context
+     */
+    public static void warn(Logger logger, String errorCode, String message, Object... keyValues) {
+        if (admitWarn(logger, errorCode)) {
+            log(logger, Level.WARN, errorCode, message, null, keyValues);
+        }
+    }
+
+    // ========================================
+    // ERROR
+    // ========================================
+
     /**
      * Log ERROR level message with error code, exception and context
      */
-    public static void error(Logger logger, String errorCode, String message, Throwable throwable, Map<String, Object> context) {
-        String formattedMessage = formatMessage(errorCode, message, context);
-        logger.error(formattedMessage, throwable);
+    public static void error(Logger logger, String errorCode, String message, Throwable throwable, Map<String, ?> context) {
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, throwable, context);
+        }
     }
 
     /**
      * Log ERROR level message with error code and exception
      */
     public static void error(Logger logger, String errorCode, String message, Throwable throwable) {
-        error(logger, errorCode, message, throwable, Map.of());
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, throwable, NO_CONTEXT);
+        }
+    }
+
+    /**
+     * Log ERROR level message with error code, exception and one context entry
+     */
+    public static void error(Logger logger, String errorCode, String message, Throwable throwable,
+                             String key, Object value) {
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, throwable, new Object[]{key, value});
+        }
+    }
+
+    /**
+     * Log ERROR level message with error code, exception and two context entries
+     */
+    public static void error(Logger logger, String errorCode, String message, Throwable throwable,
+                             String key1, Object value1, String key2, Object value2) {
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, throwable, new Object[]{key1, value1, key2, value2});
+        }
     }
 
     /**
      * Log ERROR level message with error code and context
      */
-    public static void error(Logger logger, String errorCode, String message, Map<String, Object> context) {
-        String formattedMessage = formatMessage(errorCode, message, context);
-        logger.error(formattedMessage);
+    public static void error(Logger logger, String errorCode, String message, Map<String, ?> context) {
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, null, context);
+        }
     }
 
     /**
      * Log ERROR level message with error code
      */
     public static void error(Logger logger, String errorCode, String message) {
-        error(logger, errorCode, message, Map.of());
+        if (admitError(logger, errorCode)) {
+            log(logger, Level.ERROR, errorCode, message, null, NO_CONTEXT);
+        }
     }
 
+    // ========================================
+    // DEBUG
+    // ========================================
+
     /**
      * Log DEBUG level message with error code and context
      */
-    public static void debug(Logger logger, String errorCode, String message, Map<String, Object> context) {
-        String formattedMessage = formatMessage(errorCode, message, context);
-        logger.debug(formattedMessage);
+    public static void debug(Logger logger, String errorCode, String message, Map<String, ?> context) {
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null, context);
+        }
     }
 
     /**
      * Log DEBUG level message with error code
      */
     public static void debug(Logger logger, String errorCode, String message) {
-        debug(logger, errorCode, message, Map.of());
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null, NO_CONTEXT);
+        }
+    }
+
+    /**
+     * Log DEBUG level message with error code and one context entry
+     */
+    public static void debug(Logger logger, String errorCode, String message, String key, Object value) {
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null, new Object[]{key, value});
+        }
+    }
+
+    /**
+     * Log DEBUG level message with error code and two context entries
+     */
+    public static void debug(Logger logger, String errorCode, String message,
+                             String key1, Object value1, String key2, Object value2) {
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    /**
+     * Log DEBUG level message with error code and three context entries
+     */
+    public static void debug(Logger logger, String errorCode, String message,
+                             String key1, Object value1, String key2, Object value2, String key3, Object value3) {
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null,
+                    new Object[]{key1, value1, key2, value2, key3, value3});
+        }
     }
 
     /**
-     * Format log message with error code and context
+     * Log DEBUG level message with error code and alternating key/value context
      */
-    private static String formatMessage(String errorCode, String message, Map<String, Object> context) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[").append(errorCode).append("] ");
-        sb.append(message);
+    public static void debug(Logger logger, String errorCode, String message, Object... keyValues) {
+        if (admitDebug(logger, errorCode)) {
+            log(logger, Level.DEBUG, errorCode, message, null, keyValues);
+        }
+    }
 
+    // ========================================
+    // Admission (count, level check, throttle)
+    // ========================================
+
+    private static boolean admitInfo(Logger logger, String errorCode) {
+        LogEventCounters.increment(errorCode, Level.INFO);
+        return logger.isInfoEnabled() && LogThrottle.tryAcquire(errorCode, true);
+    }
+
+    private static boolean admitWarn(Logger logger, String errorCode) {
+        LogEventCounters.increment(errorCode, Level.WARN);
+        return logger.isWarnEnabled() && LogThrottle.tryAcquire(errorCode, false);
+    }
+
+    private static boolean admitError(Logger logger, String errorCode) {
+        LogEventCounters.increment(errorCode, Level.ERROR);
+        return logger.isErrorEnabled() && LogThrottle.tryAcquire(errorCode, false);
+    }
+
+    // DEBUG is not counted, so disabled DEBUG calls stay a single level check
+    private static boolean admitDebug(Logger logger, String errorCode) {
+        return logger.isDebugEnabled() && LogThrottle.tryAcquire(errorCode, true);
+    }
+
+    // ========================================
+    // Output (level already checked)
+    // ========================================
+
+    private static void log(Logger logger, Level level, String errorCode, String message,
+                            Throwable throwable, Map<String, ?> context) {
+        if (STRUCTURED) {
+            LoggingEventBuilder event = structuredEvent(logger, level, errorCode, throwable);
+            context.forEach(event::addKeyValue);
+            event.log("[{}] {}", errorCode, message);
+            return;
+        }
+
+        StringBuilder sb = header(errorCode, message);
         if (!context.isEmpty()) {
             sb.append(" | Context: {");
-            context.forEach((key, value) ->
-                sb.append(key).append("=").append(value).append(", ")
-            );
+            context.forEach((key, value) -> sb.append(key).append('=').append(value).append(", "));
             // Remove last comma and space
             sb.setLength(sb.length() - 2);
-            sb.append("}");
+            sb.append('}');
+        }
+        emit(logger, level, sb.toString(), throwable);
+    }
+
+    private static void log(Logger logger, Level level, String errorCode, String message,
+                            Throwable throwable, Object[] keyValues) {
+        // Odd length (missing key or value): the dangling element is kept under UNPAIRED_KEY
+        int paired = keyValues.length & ~1;
+
+        if (STRUCTURED) {
+            LoggingEventBuilder event = structuredEvent(logger, level, errorCode, throwable);
+            for (int i = 0; i < paired; i += 2) {
+                event.addKeyValue(String.valueOf(keyValues[i]), keyValues[i + 1]);
+            }
+            if (paired < keyValues.length) {
+                event.addKeyValue(UNPAIRED_KEY, keyValues[paired]);
+            }
+            event.log("[{}] {}", errorCode, message);
+            return;
+        }
+
+        StringBuilder sb = header(errorCode, message);
+        if (keyValues.length > 0) {
+            sb.append(" | Context: {");
+            for (int i = 0; i < paired; i += 2) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(keyValues[i]).append('=').append(keyValues[i + 1]);
+            }
+            if (paired < keyValues.length) {
+                if (paired > 0) {
+                    sb.append(", ");
+                }
+                sb.append(UNPAIRED_KEY).append('=').append(keyValues[paired]);
+            }
+            sb.append('}');
         }
+        emit(logger, level, sb.toString(), throwable);
+    }
+
+    private static LoggingEventBuilder structuredEvent(Logger logger, Level level, String errorCode,
+                                                       Throwable throwable) {
+        LoggingEventBuilder event = logger.atLevel(level).addKeyValue("code", errorCode);
+        return throwable != null ? event.setCause(throwable) : event;
+    }
 
-        return sb.toString();
+    private static StringBuilder header(String errorCode, String message) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append('[').append(errorCode).append("] ").append(message);
+        return sb;
+    }
+
+    private static void emit(Logger logger, Level level, String formattedMessage, Throwable throwable) {
+        switch (level) {
+            case ERROR -> logger.error(formattedMessage, throwable);
+            case WARN -> logger.warn(formattedMessage, throwable);
+            case INFO -> logger.info(formattedMessage, throwable);
+            case DEBUG -> logger.debug(formattedMessage, throwable);
+            case TRACE -> logger.trace(formattedMessage, throwable);
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.eckertpreisser.common.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoggerUtilMetrics - Micrometer metrics for LoggerUtil
+ *
+ * Metrics (all tagged with service):
+ * - log.events (code, level): INFO/WARN/ERROR calls per error code,
+ *   e.g. log.events{code=AUTH_ERR_401_001,level=warn}
+ * - log.events.suppressed (code, reason=sampled|rate_limited): events
+ *   dropped by LogThrottle
+ *
+ * Codes are registered when they first occur.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class LoggerUtilMetrics implements MeterBinder {
+
+    private final String service;
+
+    public LoggerUtilMetrics(String service) {
+        this.service = service;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        LogEventCounters.addListener((code, level, counter) ->
+                FunctionCounter.builder("log.events", counter, LongAdder::sum)
+                        .description("LoggerUtil calls per error code and level")
+                        .tag("service", service)
+                        .tag("code", code)
+                        .tag("level", level.name().toLowerCase(Locale.ROOT))
+                        .register(registry));
+
+        LogThrottle.addCodeListener((code, state) -> {
+            FunctionCounter.builder("log.events.suppressed", state, LogThrottle.CodeState::getSampledCount)
+                    .description("Log events dropped by per-code sampling or rate limiting")
+                    .tag("service", service)
+                    .tag("code", code)
+                    .tag("reason", LogThrottle.REASON_SAMPLED)
+                    .register(registry);
+            FunctionCounter.builder("log.events.suppressed", state, LogThrottle.CodeState::getRateLimitedCount)
+                    .description("Log events dropped by per-code sampling or rate limiting")
+                    .tag("service", service)
+                    .tag("code", code)
+                    .tag("reason", LogThrottle.REASON_RATE_LIMITED)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.eckertpreisser.common.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * LoggerUtilMetricsAutoConfiguration - Registers LoggerUtil metrics
+ *
+ * Active in every service that has Micrometer (actuator) on the classpath.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+public class LoggerUtilMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoggerUtilMetrics loggerUtilMetrics(Environment environment) {
+        return new LoggerUtilMetrics(environment.getProperty("spring.application.name", "unknown"));
+    }
+}
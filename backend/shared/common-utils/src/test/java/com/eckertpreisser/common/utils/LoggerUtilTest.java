@@ -0,0 +1,85 @@
+package com.eckertpreisser.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * LoggerUtil overload binding and key/value rendering (text format)
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class LoggerUtilTest {
+
+    private final List<String> lines = new ArrayList<>();
+    private final Logger logger = capturingLogger(lines);
+
+    @Test
+    void keyValuePairsAreRendered() {
+        LoggerUtil.info(logger, "TEST_001", "Message", "a", 1, "b", 2);
+
+        assertEquals(List.of("[TEST_001] Message | Context: {a=1, b=2}"), lines);
+    }
+
+    @Test
+    void oddLengthKeyValuesKeepTheDanglingElement() {
+        LoggerUtil.info(logger, "TEST_001", "Message", new Object[]{"a", 1, "b"});
+        LoggerUtil.warn(logger, "TEST_002", "Message", new Object[]{"lonely"});
+
+        assertEquals(List.of(
+                "[TEST_001] Message | Context: {a=1, unpaired=b}",
+                "[TEST_002] Message | Context: {unpaired=lonely}"), lines);
+    }
+
+    @Test
+    void mapWithStringValuesBindsToMapOverload() {
+        Map<String, String> context = new LinkedHashMap<>();
+        context.put("category", "homepage");
+        context.put("language", "de");
+
+        LoggerUtil.info(logger, "TEST_001", "Message", context);
+        LoggerUtil.debug(logger, "TEST_002", "Message", context);
+
+        assertEquals(List.of(
+                "[TEST_001] Message | Context: {category=homepage, language=de}",
+                "[TEST_002] Message | Context: {category=homepage, language=de}"), lines);
+    }
+
+    @Test
+    void emptyContextHasNoSuffix() {
+        LoggerUtil.info(logger, "TEST_001", "Message", Map.of());
+        LoggerUtil.info(logger, "TEST_002", "Message");
+
+        assertEquals(List.of("[TEST_001] Message", "[TEST_002] Message"), lines);
+    }
+
+    // Private helpers
+
+    /**
+     * Logger with every level enabled that records the formatted message
+     */
+    private static Logger capturingLogger(List<String> lines) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("is") && name.endsWith("Enabled")) {
+                        return true;
+                    }
+                    if (name.equals("getName")) {
+                        return "test";
+                    }
+                    if (args != null && args.length > 0 && args[0] instanceof String message) {
+                        lines.add(message);
+                    }
+                    return null;
+                });
+    }
+}
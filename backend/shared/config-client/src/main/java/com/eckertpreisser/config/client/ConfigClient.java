@@ -0,0 +1,428 @@
+package com.eckertpreisser.config.client;
+
+import com.eckertpreisser.common.utils.LoggerUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ConfigClient - Client for accessing Config Server API
+ *
+ * Enterprise-level client for microservices to access configurations.
+ * Provides fluent API similar to frontend useConfig hook.
+ *
+ * Usage in microservices:
+ * Config config = configClient.load("email", "de");
+ * String subject = config.get("email.welcome.subject", "Welcome!");
+ *
+ * Feature flags are evaluated locally against a compiled snapshot that
+ * the Config Server pushes on change (long-poll), no request per check:
+ * boolean enabled = configClient.isEnabled("flags", "checkout", userId, Map.of("country", "DE"));
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class ConfigClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigClient.class);
+
+    @Value("${config.server.url:http://config-server:8888}")
+    private String configServerUrl;
+
+    private static final Duration WATCH_READ_TIMEOUT = Duration.ofSeconds(45);
+    private static final Duration WATCH_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final RestTemplate restTemplate;
+    private final RestTemplate watchRestTemplate;
+    private final Map<String, ServiceConfig> cache = new ConcurrentHashMap<>();
+    private final Map<String, FeatureFlags> flags = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> customCache = new ConcurrentHashMap<>();
+    private final Map<String, Thread> flagWatchers = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    public ConfigClient() {
+        this.restTemplate = new RestTemplate();
+
+        // Long-poll requests are held open by the server for up to 30 seconds
+        SimpleClientHttpRequestFactory watchRequestFactory = new SimpleClientHttpRequestFactory();
+        watchRequestFactory.setReadTimeout(WATCH_READ_TIMEOUT);
+        this.watchRestTemplate = new RestTemplate(watchRequestFactory);
+    }
+
+    /**
+     * Load i18n configuration
+     *
+     * Usage:
+     * Config config = configClient.load("email", "de");
+     * String subject = config.get("email.welcome.subject", "Welcome!");
+     *
+     * @param category Config category (e.g., "email", "homepage")
+     * @param language Language code (e.g., "de", "en")
+     * @return ServiceConfig with fluent API
+     */
+    public ServiceConfig load(String category, String language) {
+        return load(category, language, ConfigClientType.I18N, new HashMap<>());
+    }
+
+    /**
+     * Load configuration with defaults
+     *
+     * @param category Config category
+     * @param language Language code (null for non-i18n)
+     * @param type Config type
+     * @param defaults Default values (EN)
+     * @return ServiceConfig with fluent API
+     */
+    public ServiceConfig load(String category, String language, ConfigClientType type, Map<String, String> defaults) {
+        String cacheKey = getCacheKey(category, language, type);
+
+        // Check cache first
+        if (cache.containsKey(cacheKey)) {
+            LoggerUtil.debug(logger, "CONFIG_CLIENT_001", "Config loaded from cache",
+                    "category", category, "language", language != null ? language : "none");
+            return cache.get(cacheKey);
+        }
+
+        // Load from Config Server
+        Map<String, String> values = fetchFromServer(category, language, type, defaults);
+
+        // Create ServiceConfig
+        ServiceConfig config = new ServiceConfig(category, language, values, defaults);
+
+        // Cache it
+        cache.put(cacheKey, config);
+
+        LoggerUtil.info(logger, "CONFIG_CLIENT_002", "Config loaded from server",
+                Map.of("category", category, "language", language != null ? language : "none",
+                        "entries", values.size()));
+
+        return config;
+    }
+
+    /**
+     * Load app configuration
+     *
+     * Usage:
+     * Config config = configClient.loadApp("api-gateway");
+     * int port = config.getInt("server.port", 8080);
+     *
+     * @param category App config category (e.g., "api-gateway")
+     * @return ServiceConfig with fluent API
+     */
+    public ServiceConfig loadApp(String category) {
+        return load(category, null, ConfigClientType.APP, new HashMap<>());
+    }
+
+    /**
+     * Load app configuration with defaults
+     *
+     * @param category App config category
+     * @param defaults Default key-value pairs
+     * @return ServiceConfig with fluent API
+     */
+    public ServiceConfig loadApp(String category, Map<String, String> defaults) {
+        return load(category, null, ConfigClientType.APP, defaults);
+    }
+
+    /**
+     * Load custom structured document
+     *
+     * Returns the typed document tree as served by the Config Server
+     * (lists stay lists, numbers stay numbers). Cached until reloadCustom().
+     *
+     * Usage:
+     * Map<String, Object> routing = configClient.loadCustom("routing");
+     * List<?> endpoints = (List<?>) routing.get("endpoints");
+     *
+     * @param name Document name
+     * @return Read-only document tree (empty if unavailable)
+     */
+    public Map<String, Object> loadCustom(String name) {
+        Map<String, Object> cached = customCache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                    configServerUrl + "/api/config/custom/" + name,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<Map<String, Object>>() {
+                    }
+            );
+
+            Map<String, Object> body = response.getBody();
+            Map<String, Object> content = body != null && body.get("content") instanceof Map<?, ?> map
+                    ? Collections.unmodifiableMap(castContent(map))
+                    : Map.of();
+            customCache.put(name, content);
+
+            LoggerUtil.info(logger, "CONFIG_CLIENT_005", "Custom config loaded from server",
+                    Map.of("name", name, "entries", content.size()));
+
+            return content;
+
+        } catch (Exception e) {
+            LoggerUtil.warn(logger, "CONFIG_CLIENT_WARN_004", "Config Server unavailable, custom config empty",
+                    Map.of("name", name, "error", String.valueOf(e.getMessage())));
+            return Map.of();
+        }
+    }
+
+    /**
+     * Reload custom document from server (bypass cache)
+     *
+     * @param name Document name
+     * @return Fresh document tree
+     */
+    public Map<String, Object> reloadCustom(String name) {
+        customCache.remove(name);
+        return loadCustom(name);
+    }
+
+    /**
+     * Load feature flags
+     *
+     * First call fetches and compiles the category and starts a background
+     * watcher that swaps in a new snapshot whenever the server pushes a change.
+     * Subsequent calls return the current snapshot without network access.
+     *
+     * @param category Flag category (e.g., "flags")
+     * @return Compiled FeatureFlags snapshot
+     */
+    public FeatureFlags loadFlags(String category) {
+        FeatureFlags current = flags.get(category);
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (flags) {
+            current = flags.get(category);
+            if (current == null) {
+                try {
+                    current = fetchFlags(category, -1, restTemplate);
+                } catch (Exception e) {
+                    LoggerUtil.warn(logger, "CONFIG_CLIENT_WARN_002", "Config Server unavailable, all flags disabled",
+                            Map.of("category", category, "error", String.valueOf(e.getMessage())));
+                }
+                flags.put(category, current != null ? current : FeatureFlags.empty(category));
+                startFlagWatcher(category);
+            }
+            return flags.get(category);
+        }
+    }
+
+    /**
+     * Evaluate feature flag locally
+     *
+     * Usage:
+     * if (configClient.isEnabled("flags", "checkout", userId, Map.of("country", "DE"))) { ... }
+     *
+     * @param category Flag category
+     * @param flag Flag name
+     * @param userId User ID (null for anonymous)
+     * @param attributes Targeting attributes
+     * @return true if the flag is enabled for this user
+     */
+    public boolean isEnabled(String category, String flag, String userId, Map<String, String> attributes) {
+        return loadFlags(category).isEnabled(flag, userId, attributes);
+    }
+
+    /**
+     * Evaluate feature flag locally for a user
+     */
+    public boolean isEnabled(String category, String flag, String userId) {
+        return loadFlags(category).isEnabled(flag, userId);
+    }
+
+    /**
+     * Stop feature flag watchers
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        flagWatchers.values().forEach(Thread::interrupt);
+        flagWatchers.clear();
+    }
+
+    /**
+     * Clear cache
+     *
+     * Useful for development or when configs are updated
+     */
+    public void clearCache() {
+        cache.clear();
+        customCache.clear();
+        LoggerUtil.info(logger, "CONFIG_CLIENT_003", "Cache cleared", Map.of());
+    }
+
+    /**
+     * Reload config from server (bypass cache)
+     *
+     * @param category Config category
+     * @param language Language code
+     * @param type Config type
+     * @return Fresh ServiceConfig
+     */
+    public ServiceConfig reload(String category, String language, ConfigClientType type) {
+        String cacheKey = getCacheKey(category, language, type);
+        cache.remove(cacheKey);
+        return load(category, language, type, new HashMap<>());
+    }
+
+    // Private helpers
+
+    /**
+     * Fetch configuration from Config Server API
+     */
+    private Map<String, String> fetchFromServer(String category, String language, ConfigClientType type, Map<String, String> defaults) {
+        try {
+            String url = buildUrl(category, language, type);
+
+            // Registering flags is admin-only - services read and fill in their defaults locally
+            if (type == ConfigClientType.FEATURE_FLAG) {
+                ResponseEntity<Map<String, String>> response = restTemplate.exchange(
+                        url,
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<Map<String, String>>() {
+                        }
+                );
+                Map<String, String> values = new HashMap<>(defaults);
+                if (response.getBody() != null) {
+                    values.putAll(response.getBody());
+                }
+                return values;
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            HttpEntity<Map<String, String>> entity = new HttpEntity<>(defaults, headers);
+
+            ResponseEntity<Map<String, String>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<Map<String, String>>() {
+                    }
+            );
+
+            return response.getBody() != null ? response.getBody() : new HashMap<>();
+
+        } catch (Exception e) {
+            LoggerUtil.warn(logger, "CONFIG_CLIENT_WARN_001", "Config Server unavailable, using defaults",
+                    Map.of("category", category, "error", e.getMessage()));
+            return defaults;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> castContent(Map<?, ?> content) {
+        return (Map<String, Object>) content;
+    }
+
+    /**
+     * Fetch flag snapshot newer than knownVersion (null if unchanged)
+     */
+    private FeatureFlags fetchFlags(String category, long knownVersion, RestTemplate template) {
+        String url = configServerUrl + "/api/config/features/" + category + "/watch?version=" + knownVersion;
+
+        ResponseEntity<Map<String, Object>> response = template.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<Map<String, Object>>() {
+                }
+        );
+
+        Map<String, Object> body = response.getBody();
+        if (response.getStatusCode().value() != 200 || body == null) {
+            return null;
+        }
+
+        long version = ((Number) body.get("version")).longValue();
+        Map<String, String> values = new HashMap<>();
+        if (body.get("flags") instanceof Map<?, ?> definitions) {
+            definitions.forEach((key, value) -> values.put(String.valueOf(key), String.valueOf(value)));
+        }
+
+        LoggerUtil.info(logger, "CONFIG_CLIENT_004", "Feature flags loaded from server",
+                Map.of("category", category, "version", version, "entries", values.size()));
+
+        return FeatureFlags.compile(category, version, values);
+    }
+
+    /**
+     * Start long-poll watcher for a flag category (one virtual thread each)
+     */
+    private void startFlagWatcher(String category) {
+        Thread watcher = Thread.ofVirtual()
+                .name("config-flags-" + category)
+                .unstarted(() -> watchFlags(category));
+        flagWatchers.put(category, watcher);
+        watcher.start();
+    }
+
+    private void watchFlags(String category) {
+        while (running) {
+            try {
+                FeatureFlags updated = fetchFlags(category, flags.get(category).getVersion(), watchRestTemplate);
+                if (updated != null) {
+                    flags.put(category, updated);
+                }
+            } catch (Exception e) {
+                LoggerUtil.warn(logger, "CONFIG_CLIENT_WARN_003", "Feature flag watch failed, keeping current snapshot",
+                        Map.of("category", category, "error", String.valueOf(e.getMessage())));
+                try {
+                    Thread.sleep(WATCH_RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build API URL
+     */
+    private String buildUrl(String category, String language, ConfigClientType type) {
+        if (type == ConfigClientType.I18N && language != null) {
+            return configServerUrl + "/api/config/i18n/" + category + "/" + language;
+        } else if (type == ConfigClientType.APP) {
+            return configServerUrl + "/api/config/app/" + category;
+        } else if (type == ConfigClientType.FEATURE_FLAG) {
+            return configServerUrl + "/api/config/features/" + category;
+        }
+        throw new IllegalArgumentException("Invalid config type: " + type);
+    }
+
+    /**
+     * Generate cache key
+     */
+    private String getCacheKey(String category, String language, ConfigClientType type) {
+        if (type == ConfigClientType.I18N && language != null) {
+            return type + "_" + category + "_" + language;
+        }
+        return type + "_" + category;
+    }
+}
@@ -0,0 +1,24 @@
+package com.eckertpreisser.config.client;
+
+/**
+ * ConfigClientType - Configuration type for client
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public enum ConfigClientType {
+    /**
+     * Internationalization configurations
+     */
+    I18N,
+
+    /**
+     * Application configurations
+     */
+    APP,
+
+    /**
+     * Feature flags
+     */
+    FEATURE_FLAG
+}
@@ -0,0 +1,223 @@
+package com.eckertpreisser.config.client;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FeatureFlags - Compiled, immutable feature flag snapshot
+ *
+ * Flat flag definitions from the Config Server are compiled once per
+ * version into per-flag evaluation nodes, so isEnabled() is a hash lookup
+ * plus a few set checks - no parsing and no network call per evaluation.
+ *
+ * Flag format (config/features/{category}.yml):
+ *   checkout.enabled=true                 - master switch (default: false)
+ *   checkout.rollout=25                   - percentage of users, 0-100 (default: 100)
+ *   checkout.users=42,1337                - users that always get the flag
+ *   checkout.attributes.country=DE,AT     - required attribute values
+ *
+ * Usage:
+ * FeatureFlags flags = configClient.loadFlags("flags");
+ * if (flags.isEnabled("checkout", userId, Map.of("country", "DE"))) { ... }
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class FeatureFlags {
+
+    private static final int FULL_ROLLOUT = 10_000; // basis points
+    private static final String ATTRIBUTES = ".attributes.";
+
+    private final String category;
+    private final long version;
+    private final Map<String, Flag> flags;
+
+    private FeatureFlags(String category, long version, Map<String, Flag> flags) {
+        this.category = category;
+        this.version = version;
+        this.flags = flags;
+    }
+
+    /**
+     * Compile flat flag definitions into an evaluation snapshot
+     *
+     * @param category Flag category
+     * @param version Server version of the definitions (-1 if unknown)
+     * @param values Flat flag definitions
+     * @return Compiled flags
+     */
+    public static FeatureFlags compile(String category, long version, Map<String, String> values) {
+        Map<String, FlagBuilder> builders = new LinkedHashMap<>();
+
+        values.forEach((key, value) -> {
+            if (value == null) {
+                return;
+            }
+
+            int attributesIndex = key.indexOf(ATTRIBUTES);
+            if (attributesIndex > 0) {
+                builders.computeIfAbsent(key.substring(0, attributesIndex), FlagBuilder::new)
+                        .attributes.put(key.substring(attributesIndex + ATTRIBUTES.length()), splitList(value));
+                return;
+            }
+
+            int dot = key.lastIndexOf('.');
+            if (dot <= 0) {
+                return;
+            }
+
+            FlagBuilder builder = builders.computeIfAbsent(key.substring(0, dot), FlagBuilder::new);
+            switch (key.substring(dot + 1)) {
+                case "enabled" -> builder.enabled = Boolean.parseBoolean(value.trim());
+                case "rollout" -> builder.rollout = parseRollout(value);
+                case "users" -> builder.users = splitList(value);
+                default -> {
+                    // Unknown property (e.g. description) - ignored by evaluation
+                }
+            }
+        });
+
+        Map<String, Flag> flags = new HashMap<>(builders.size() * 2);
+        builders.forEach((name, builder) -> flags.put(name, builder.build()));
+        return new FeatureFlags(category, version, flags);
+    }
+
+    /**
+     * Empty snapshot (all flags disabled)
+     */
+    public static FeatureFlags empty(String category) {
+        return new FeatureFlags(category, -1, Map.of());
+    }
+
+    /**
+     * Check flag without user context (only fully rolled out flags)
+     */
+    public boolean isEnabled(String flag) {
+        return isEnabled(flag, null, Map.of());
+    }
+
+    /**
+     * Check flag for a user
+     */
+    public boolean isEnabled(String flag, String userId) {
+        return isEnabled(flag, userId, Map.of());
+    }
+
+    /**
+     * Check flag for a user with targeting attributes
+     *
+     * @param flag Flag name (e.g., "checkout")
+     * @param userId User ID (null for anonymous)
+     * @param attributes Targeting attributes (e.g., country -> "DE")
+     * @return true if the flag is enabled for this user
+     */
+    public boolean isEnabled(String flag, String userId, Map<String, String> attributes) {
+        Flag compiled = flags.get(flag);
+        return compiled != null && compiled.evaluate(userId, attributes);
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Names of all defined flags
+     */
+    public Set<String> getFlagNames() {
+        return Collections.unmodifiableSet(flags.keySet());
+    }
+
+    // Private helpers
+
+    private static Set<String> splitList(String value) {
+        Set<String> items = new HashSet<>();
+        for (String item : value.split(",")) {
+            String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                items.add(trimmed);
+            }
+        }
+        return items;
+    }
+
+    private static int parseRollout(String value) {
+        try {
+            double percent = Double.parseDouble(value.trim());
+            return (int) Math.round(Math.max(0, Math.min(100, percent)) * 100);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Deterministic bucket in [0, 10000) - stable per flag and user
+     */
+    private static int bucket(long salt, String userId) {
+        long h = salt ^ userId.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Long.remainderUnsigned(h, FULL_ROLLOUT);
+    }
+
+    /**
+     * Compiled evaluation node of a single flag
+     */
+    private record Flag(boolean enabled, int rollout, long salt, Set<String> users,
+                        String[] attributeNames, List<Set<String>> attributeValues) {
+
+        boolean evaluate(String userId, Map<String, String> attributes) {
+            if (!enabled) {
+                return false;
+            }
+            if (userId != null && users.contains(userId)) {
+                return true;
+            }
+
+            for (int i = 0; i < attributeNames.length; i++) {
+                String value = attributes != null ? attributes.get(attributeNames[i]) : null;
+                if (value == null || !attributeValues.get(i).contains(value)) {
+                    return false;
+                }
+            }
+
+            if (rollout >= FULL_ROLLOUT) {
+                return true;
+            }
+            return userId != null && bucket(salt, userId) < rollout;
+        }
+    }
+
+    private static final class FlagBuilder {
+        private final String name;
+        private boolean enabled;
+        private int rollout = FULL_ROLLOUT;
+        private Set<String> users = Set.of();
+        private final Map<String, Set<String>> attributes = new LinkedHashMap<>();
+
+        private FlagBuilder(String name) {
+            this.name = name;
+        }
+
+        private Flag build() {
+            String[] attributeNames = attributes.keySet().toArray(new String[0]);
+            List<Set<String>> attributeValues = Arrays.stream(attributeNames)
+                    .map(attributes::get)
+                    .toList();
+            long salt = name.hashCode() * 0x9E3779B97F4A7C15L;
+            return new Flag(enabled, rollout, salt, users, attributeNames, attributeValues);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.eckertpreisser.config.client;
+
+import com.eckertpreisser.common.utils.LogThrottle;
+import com.eckertpreisser.common.utils.LoggerUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * LoggingPolicyRefresher - Applies LoggerUtil sampling/rate limits from the Config Server
+ *
+ * Loads the "logging" app config (config/app/logging.yml) once the
+ * service is ready and re-reads it periodically, so per-code sampling and
+ * rate limits (see LogThrottle) change without a restart.
+ *
+ * An empty result is not applied: the client falls back to empty
+ * defaults while the Config Server is unreachable, and that must not
+ * switch throttling off. To disable a policy, set its sample-rate to 1.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@Component
+public class LoggingPolicyRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingPolicyRefresher.class);
+
+    private final ConfigClient configClient;
+
+    @Value("${config.logging.category:logging}")
+    private String category;
+
+    @Value("${config.logging.refresh-interval:60s}")
+    private Duration refreshInterval;
+
+    private volatile Map<String, String> applied = Map.of();
+    private volatile Thread refresher;
+
+    public LoggingPolicyRefresher(ConfigClient configClient) {
+        this.configClient = configClient;
+    }
+
+    /**
+     * Apply policies and start periodic refresh
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+
+        refresher = Thread.ofVirtual()
+                .name("config-logging-policy")
+                .start(() -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        try {
+                            Thread.sleep(refreshInterval);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        refresh();
+                    }
+                });
+    }
+
+    /**
+     * Stop periodic refresh
+     */
+    @PreDestroy
+    public void stop() {
+        Thread current = refresher;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Re-read policies now
+     */
+    public void refresh() {
+        Map<String, String> settings = configClient.reload(category, null, ConfigClientType.APP).getAll();
+        if (settings.isEmpty() || settings.equals(applied)) {
+            return;
+        }
+
+        int policies = LogThrottle.configure(settings);
+        applied = settings;
+
+        LoggerUtil.info(logger, "CONFIG_CLIENT_006", "Logging policies applied",
+                "category", category, "policies", policies);
+    }
+}
@@ -44,15 +44,21 @@ public class EmailClient {
      * Send generic email (simple API!)
      *
      * Usage: emailClient.sendEmail("user@test.com", "Hello", "Message body");
+     *
+     * @return true if email-service accepted the email
      */
-    public void sendEmail(String to, String subject, String body) {
-        sendEmail(to, subject, body, false);
+    public boolean sendEmail(String to, String subject, String body) {
+        return sendEmail(to, subject, body, false);
     }
 
     /**
      * Send email with HTML option
+     *
+     * Never throws - callers that want to retry check the result.
+     *
+     * @return true if email-service accepted the email
      */
-    public void sendEmail(String to, String subject, String body, boolean html) {
+    public boolean sendEmail(String to, String subject, String body, boolean html) {
         LoggerUtil.debug(logger, "EMAIL_CLIENT_001", "Sending email",
                 Map.of("to", to, "subject", subject));
 
@@ -72,10 +78,12 @@ public class EmailClient {
             );
 
             LoggerUtil.debug(logger, "EMAIL_CLIENT_002", "Email sent successfully", Map.of("to", to));
+            return true;
 
         } catch (Exception e) {
             LoggerUtil.warn(logger, "EMAIL_CLIENT_WARN_001", "Failed to send email", Map.of("to", to));
             // Non-critical - don't throw exception
+            return false;
         }
     }
 }
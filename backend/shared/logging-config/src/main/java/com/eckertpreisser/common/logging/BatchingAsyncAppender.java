@@ -0,0 +1,336 @@
+package com.eckertpreisser.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BatchingAsyncAppender - Asynchronous, batched Logback appender
+ *
+ * Request threads only put the event into a bounded ring buffer; a single
+ * worker thread drains it in batches into the attached appenders and
+ * flushes them once per batch (attached OutputStreamAppenders should use
+ * immediateFlush=false).
+ *
+ * Backpressure policy when the buffer fills up:
+ * - Below WARN: dropped once less than discardingThreshold slots are left
+ * - WARN/ERROR: wait up to maxBlockMillis for a free slot, then dropped
+ *
+ * Dropped events, batches and the current queue depth are exposed for
+ * metrics (see LoggingMetrics).
+ *
+ * Usage (logback-spring.xml):
+ * <pre>
+ * &lt;appender name="ASYNC" class="com.eckertpreisser.common.logging.BatchingAsyncAppender"&gt;
+ *     &lt;queueSize&gt;8192&lt;/queueSize&gt;
+ *     &lt;batchSize&gt;256&lt;/batchSize&gt;
+ *     &lt;appender-ref ref="CONSOLE" /&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class BatchingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public static final int DEFAULT_QUEUE_SIZE = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_MAX_BLOCK_MILLIS = 100;
+    public static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 2000;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int queueSize = DEFAULT_QUEUE_SIZE;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int discardingThreshold = -1; // default: 20% of queueSize
+    private long maxBlockMillis = DEFAULT_MAX_BLOCK_MILLIS;
+    private long shutdownTimeoutMillis = DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+    private boolean includeCallerData = false;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    // Statistics
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to BatchingAsyncAppender [" + getName() + "]");
+            return;
+        }
+        if (queueSize < 1 || batchSize < 1) {
+            addError("queueSize and batchSize must be positive");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = queueSize / 5;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueSize);
+        running = true;
+        worker = new Thread(this::drainLoop, "log-batcher-" + getName());
+        worker.setDaemon(true);
+        worker.start();
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+
+        // Let the worker drain what is left, but never hold up shutdown for long
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMillis);
+            if (worker.isAlive()) {
+                addWarn("Shutdown timeout, " + queue.size() + " queued log events discarded");
+                worker.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+
+        if (!important && queue.remainingCapacity() < discardingThreshold) {
+            discarded.increment();
+            return;
+        }
+
+        // Capture thread-bound data (MDC, formatted message) before handing over
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+
+        if (queue.offer(event)) {
+            appended.increment();
+            return;
+        }
+
+        if (!important) {
+            discarded.increment();
+            return;
+        }
+
+        try {
+            if (queue.offer(event, maxBlockMillis, TimeUnit.MILLISECONDS)) {
+                appended.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflowed.increment();
+    }
+
+    // ========================================
+    // Worker
+    // ========================================
+
+    private void drainLoop() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                ILoggingEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                for (ILoggingEvent event : batch) {
+                    appenders.appendLoopOnAppenders(event);
+                }
+                flushAppenders();
+                batches.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                addError("Failed to write log batch", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushAppenders() {
+        Iterator<Appender<ILoggingEvent>> iterator = appenders.iteratorForAppenders();
+        while (iterator.hasNext()) {
+            if (iterator.next() instanceof OutputStreamAppender<ILoggingEvent> output
+                    && !output.isImmediateFlush() && output.getOutputStream() != null) {
+                try {
+                    output.getOutputStream().flush();
+                } catch (IOException e) {
+                    addError("Failed to flush appender [" + output.getName() + "]", e);
+                }
+            }
+        }
+    }
+
+    // ========================================
+    // Statistics
+    // ========================================
+
+    /**
+     * Events currently waiting in the buffer
+     */
+    public int getQueueDepth() {
+        BlockingQueue<ILoggingEvent> current = queue;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Events accepted into the buffer
+     */
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /**
+     * Events below WARN dropped because the buffer was (nearly) full
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * WARN/ERROR events dropped after waiting maxBlockMillis for a free slot
+     */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    /**
+     * Batches written by the worker
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    // ========================================
+    // Configuration (set by Joran)
+    // ========================================
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public long getMaxBlockMillis() {
+        return maxBlockMillis;
+    }
+
+    public void setMaxBlockMillis(long maxBlockMillis) {
+        this.maxBlockMillis = maxBlockMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    // ========================================
+    // AppenderAttachable
+    // ========================================
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,83 @@
+package com.eckertpreisser.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * LoggingMetrics - Micrometer metrics for BatchingAsyncAppender
+ *
+ * Metrics (tagged by appender name):
+ * - log.appender.queue.depth / log.appender.queue.capacity
+ * - log.appender.events (accepted into the buffer)
+ * - log.appender.events.dropped (reason=discarded|overflow)
+ * - log.appender.batches
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BatchingAsyncAppender appender : findAppenders()) {
+            String name = appender.getName();
+
+            Gauge.builder("log.appender.queue.depth", appender, BatchingAsyncAppender::getQueueDepth)
+                    .description("Log events waiting to be written")
+                    .tag("appender", name)
+                    .register(registry);
+            Gauge.builder("log.appender.queue.capacity", appender, BatchingAsyncAppender::getQueueSize)
+                    .description("Capacity of the log event buffer")
+                    .tag("appender", name)
+                    .register(registry);
+            FunctionCounter.builder("log.appender.events", appender, BatchingAsyncAppender::getAppendedCount)
+                    .description("Log events accepted into the buffer")
+                    .tag("appender", name)
+                    .register(registry);
+            FunctionCounter.builder("log.appender.events.dropped", appender, BatchingAsyncAppender::getDiscardedCount)
+                    .description("Log events below WARN dropped because the buffer was full")
+                    .tag("appender", name)
+                    .tag("reason", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("log.appender.events.dropped", appender, BatchingAsyncAppender::getOverflowCount)
+                    .description("WARN/ERROR log events dropped after waiting for a free slot")
+                    .tag("appender", name)
+                    .tag("reason", "overflow")
+                    .register(registry);
+            FunctionCounter.builder("log.appender.batches", appender, BatchingAsyncAppender::getBatchCount)
+                    .description("Log batches written")
+                    .tag("appender", name)
+                    .register(registry);
+        }
+    }
+
+    // Private helpers
+
+    private Set<BatchingAsyncAppender> findAppenders() {
+        Set<BatchingAsyncAppender> result = new LinkedHashSet<>();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return result;
+        }
+
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof BatchingAsyncAppender appender) {
+                    result.add(appender);
+                }
+            }
+        }
+        return result;
+    }
+}
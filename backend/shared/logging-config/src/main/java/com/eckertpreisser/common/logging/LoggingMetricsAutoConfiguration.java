@@ -0,0 +1,27 @@
+package com.eckertpreisser.common.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * LoggingMetricsAutoConfiguration - Registers log appender metrics
+ *
+ * Active in every service that has Micrometer (actuator) on the classpath.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+@AutoConfiguration
+@ConditionalOnClass({MeterRegistry.class, LoggerContext.class})
+public class LoggingMetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoggingMetrics loggingMetrics() {
+        return new LoggingMetrics();
+    }
+}
@@ -0,0 +1,228 @@
+package com.eckertpreisser.common.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * IdentityHeader - Signed compact identity forwarded by the API Gateway
+ *
+ * The gateway verifies the JWT once and forwards the caller's identity as
+ * a short-lived header signed with a shared secret, so downstream services
+ * check one HMAC over a few bytes instead of parsing the JWT again.
+ *
+ * Format: v1.{userId}.{base64url(subject)}.{expiresAtSeconds}.{base64url(hmac)}
+ * (userId is empty if the token carries no "uid" claim).
+ *
+ * The header is only trustworthy behind the gateway, which strips any
+ * incoming copy before adding its own.
+ *
+ * Service-to-service calls use the same format with the subject
+ * "service:{name}" and no user ID (encodeService / Identity.isService).
+ * The gateway never issues such a subject for an end-user token.
+ *
+ * The client address header (X-Client-Address) carries the end user's IP
+ * as resolved by the gateway, in its own format (a1.{base64url(address)}.
+ * {expiresAtSeconds}.{base64url(hmac)}) so it can never pass as an
+ * identity. Services use it instead of X-Forwarded-For, which anyone
+ * reaching them directly can forge.
+ *
+ * The secret (eckert.security.identity.secret) has no default: every
+ * service that signs or checks the header must be configured with it.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class IdentityHeader {
+
+    public static final String HEADER = "X-Auth-Identity";
+    public static final String SERVICE_PREFIX = "service:";
+    public static final String CLIENT_ADDRESS_HEADER = "X-Client-Address";
+
+    private static final String VERSION = "v1";
+    private static final String ADDRESS_VERSION = "a1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Verified identity
+     *
+     * @param userId User ID (null if unknown)
+     * @param subject Username / email
+     * @param expiresAtMillis Expiry of this header (not of the JWT)
+     */
+    public record Identity(Long userId, String subject, long expiresAtMillis) {
+
+        /**
+         * Whether this identity is a service, not a user
+         */
+        public boolean isService() {
+            return userId == null && subject.startsWith(SERVICE_PREFIX);
+        }
+    }
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param secret Shared secret (UTF-8, at least 32 bytes)
+     * @throws IllegalArgumentException if the secret is missing or too short
+     */
+    public IdentityHeader(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("Identity secret is not configured (eckert.security.identity.secret)");
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalArgumentException("Identity secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Build signed header value
+     *
+     * @param userId User ID (may be null)
+     * @param subject Username / email
+     * @param expiresAtMillis Expiry (rounded down to seconds)
+     * @throws IllegalArgumentException if the subject is null or empty
+     */
+    public String encode(Long userId, String subject, long expiresAtMillis) {
+        if (subject == null || subject.isEmpty()) {
+            throw new IllegalArgumentException("Identity subject must not be empty");
+        }
+        String payload = VERSION
+                + '.' + (userId != null ? userId : "")
+                + '.' + ENCODER.encodeToString(subject.getBytes(StandardCharsets.UTF_8))
+                + '.' + (expiresAtMillis / 1000);
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Build signed service credential
+     *
+     * @param serviceName Calling service (e.g. "api-gateway")
+     * @param expiresAtMillis Expiry (rounded down to seconds)
+     */
+    public String encodeService(String serviceName, long expiresAtMillis) {
+        return encode(null, SERVICE_PREFIX + serviceName, expiresAtMillis);
+    }
+
+    /**
+     * Verify header value
+     *
+     * @param value Header value (may be null)
+     * @param nowMillis Current time
+     * @return Identity or null if missing, malformed, forged or expired
+     */
+    public Identity decode(String value, long nowMillis) {
+        if (value == null) {
+            return null;
+        }
+
+        int signatureStart = value.lastIndexOf('.');
+        String[] parts = value.split("\\.", -1);
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            return null;
+        }
+
+        try {
+            byte[] expected = sign(value.substring(0, signatureStart));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[4]))) {
+                return null;
+            }
+
+            long expiresAtMillis = Long.parseLong(parts[3]) * 1000;
+            if (nowMillis >= expiresAtMillis) {
+                return null;
+            }
+
+            Long userId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+            String subject = new String(DECODER.decode(parts[2]), StandardCharsets.UTF_8);
+            if (subject.isEmpty()) {
+                return null;
+            }
+            return new Identity(userId, subject, expiresAtMillis);
+        } catch (IllegalArgumentException e) {
+            // Bad Base64 or number
+            return null;
+        }
+    }
+
+    /**
+     * Verify a service credential
+     *
+     * @param value Header value (may be null)
+     * @param nowMillis Current time
+     * @return Service identity or null if missing, invalid or a user identity
+     */
+    public Identity decodeService(String value, long nowMillis) {
+        Identity identity = decode(value, nowMillis);
+        return identity != null && identity.isService() ? identity : null;
+    }
+
+    /**
+     * Build signed client address
+     *
+     * @param address Client IP as seen by the gateway
+     * @param expiresAtMillis Expiry (rounded down to seconds)
+     */
+    public String encodeClientAddress(String address, long expiresAtMillis) {
+        String payload = ADDRESS_VERSION
+                + '.' + ENCODER.encodeToString(address.getBytes(StandardCharsets.UTF_8))
+                + '.' + (expiresAtMillis / 1000);
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verify client address
+     *
+     * @param value Header value (may be null)
+     * @param nowMillis Current time
+     * @return Client IP or null if missing, malformed, forged or expired
+     */
+    public String decodeClientAddress(String value, long nowMillis) {
+        if (value == null) {
+            return null;
+        }
+
+        int signatureStart = value.lastIndexOf('.');
+        String[] parts = value.split("\\.", -1);
+        if (parts.length != 4 || !ADDRESS_VERSION.equals(parts[0])) {
+            return null;
+        }
+
+        try {
+            byte[] expected = sign(value.substring(0, signatureStart));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[3]))
+                    || nowMillis >= Long.parseLong(parts[2]) * 1000) {
+                return null;
+            }
+            String address = new String(DECODER.decode(parts[1]), StandardCharsets.UTF_8);
+            return address.isEmpty() ? null : address;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Private helpers
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.eckertpreisser.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JwtTokenVerifier - Thread-safe JWT signing and verification
+ *
+ * Derives the HMAC key and builds the (immutable) parser once, instead
+ * of per call. verify() checks signature and expiry and parses the token
+ * exactly once; callers then read everything from the returned
+ * VerifiedToken. With a cache size, verified tokens are kept until they
+ * expire (VerifiedTokenCache), so repeated requests with the same token
+ * skip verification; call invalidate() on logout.
+ *
+ * Usage:
+ * <pre>
+ * JwtTokenVerifier verifier = new JwtTokenVerifier(secret);
+ * String token = verifier.generateToken("max@example.com", Map.of(), 86400000);
+ * VerifiedToken verified = verifier.verify(token);
+ * String email = verified.getSubject();
+ * </pre>
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class JwtTokenVerifier {
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache cache;
+
+    /**
+     * Verifier without cache
+     *
+     * @param secret HMAC secret (UTF-8, at least 32 bytes)
+     */
+    public JwtTokenVerifier(String secret) {
+        this(secret, 0);
+    }
+
+    /**
+     * @param secret HMAC secret (UTF-8, at least 32 bytes)
+     * @param cacheSize Maximum number of cached verified tokens (0 = no cache)
+     */
+    public JwtTokenVerifier(String secret, int cacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.cache = cacheSize > 0 ? new VerifiedTokenCache(cacheSize) : null;
+    }
+
+    /**
+     * Generate signed token with a unique ID (jti, used for revocation)
+     *
+     * @param subject Subject (username / email)
+     * @param claims Additional claims (may be empty)
+     * @param ttlMillis Validity in milliseconds
+     * @return Compact JWT
+     */
+    public String generateToken(String subject, Map<String, ?> claims, long ttlMillis) {
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .claims(claims)
+                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Verify signature and expiry, parse claims once
+     *
+     * @param token Compact JWT
+     * @return Verified claims view
+     * @throws JwtException if the token is malformed, forged or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public VerifiedToken verify(String token) {
+        if (cache != null) {
+            VerifiedToken cached = cache.get(token, System.currentTimeMillis());
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        VerifiedToken verified = new VerifiedToken(claims);
+
+        if (cache != null) {
+            cache.put(token, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Drop token from the verified-token cache (e.g. on logout)
+     *
+     * Only affects caching - revoked tokens still have to be rejected by
+     * the caller (the signature stays valid until expiry).
+     *
+     * @param token Compact JWT
+     */
+    public void invalidate(String token) {
+        if (cache != null) {
+            cache.invalidate(token);
+        }
+    }
+
+    /**
+     * Verified-token cache (null if caching is disabled)
+     */
+    public VerifiedTokenCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Check token for a specific subject
+     *
+     * @param token Compact JWT
+     * @param subject Expected subject
+     * @return true if the token is valid, unexpired and belongs to subject
+     */
+    public boolean isValid(String token, String subject) {
+        try {
+            return subject != null && subject.equals(verify(token).getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
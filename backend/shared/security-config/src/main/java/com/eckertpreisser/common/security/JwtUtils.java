@@ -1,12 +1,8 @@
 package com.eckertpreisser.common.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
+import java.util.Map;
 import java.util.function.Function;
 
 public class JwtUtils {
@@ -14,50 +10,53 @@ public class JwtUtils {
     private static final String SECRET_KEY = "Eckert-Preisser-Enterprise-Secret-Key-For-JWT-Token-Generation-2024";
     private static final long EXPIRATION_TIME = 86400000; // 24 hours
 
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    // Key, parser and verified tokens are shared (thread-safe)
+    private static final JwtTokenVerifier VERIFIER = new JwtTokenVerifier(SECRET_KEY, VERIFIED_TOKEN_CACHE_SIZE);
+
     private JwtUtils() {
         throw new UnsupportedOperationException("Utility class cannot be instantiated");
     }
 
-    private static SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    public static String generateToken(String username) {
+        return VERIFIER.generateToken(username, Map.of(), EXPIRATION_TIME);
     }
 
-    public static String generateToken(String username) {
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey())
-                .compact();
+    /**
+     * Generate token with custom claims (e.g. "uid" for the API Gateway identity header)
+     */
+    public static String generateToken(String username, Map<String, ?> claims) {
+        return VERIFIER.generateToken(username, claims, EXPIRATION_TIME);
     }
 
-    public static String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Verify token and parse it once - read subject and claims from the result
+     */
+    public static VerifiedToken verify(String token) {
+        return VERIFIER.verify(token);
     }
 
-    public static <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public static String extractUsername(String token) {
+        return verify(token).getSubject();
     }
 
-    private static Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public static <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     public static boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return VERIFIER.isValid(token, username);
     }
 
-    private static boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Drop token from the verified-token cache (call on logout)
+     */
+    public static void invalidate(String token) {
+        VERIFIER.invalidate(token);
     }
 
-    private static Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public static JwtTokenVerifier getVerifier() {
+        return VERIFIER;
     }
 }
@@ -0,0 +1,79 @@
+package com.eckertpreisser.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * VerifiedToken - Read-only view of a verified JWT
+ *
+ * Returned by JwtTokenVerifier after the signature and expiry were
+ * checked, so callers read subject and claims without parsing again.
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class VerifiedToken {
+
+    private final Claims claims;
+    private final long expiresAtMillis;
+
+    VerifiedToken(Claims claims) {
+        this.claims = claims;
+        Date expiration = claims.getExpiration();
+        this.expiresAtMillis = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Subject (username / email)
+     */
+    public String getSubject() {
+        return claims.getSubject();
+    }
+
+    /**
+     * Token ID (jti claim, null for tokens issued without one)
+     */
+    public String getId() {
+        return claims.getId();
+    }
+
+    /**
+     * Issue time (null if the token has none)
+     */
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    /**
+     * Expiry as epoch millis (Long.MAX_VALUE if the token never expires)
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * Whether the token is expired at the given time
+     */
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * Get custom claim
+     *
+     * @param name Claim name
+     * @param type Expected type
+     * @return Claim value or null if absent
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    /**
+     * All claims (read-only)
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+}
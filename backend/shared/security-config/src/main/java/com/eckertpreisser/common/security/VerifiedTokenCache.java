@@ -0,0 +1,137 @@
+package com.eckertpreisser.common.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * VerifiedTokenCache - Bounded cache of verified JWTs
+ *
+ * Repeated requests with the same bearer token skip HMAC verification
+ * and claims parsing. Entries are keyed by the token's signature segment
+ * (already a MAC over header and payload, so no extra hashing) and only
+ * returned if the full token matches, and only until the token expires.
+ *
+ * When full, expired entries are swept first; if that is not enough, an
+ * arbitrary tenth is dropped (no LRU bookkeeping on the read path - a
+ * dropped token is simply verified again on its next use).
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+public final class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private record Entry(String token, VerifiedToken verified) {
+    }
+
+    /**
+     * @param maxSize Maximum number of cached tokens
+     */
+    public VerifiedTokenCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get verified token if cached and not expired
+     *
+     * @param token Compact JWT
+     * @param nowMillis Current time
+     * @return Verified token or null
+     */
+    public VerifiedToken get(String token, long nowMillis) {
+        String key = signature(token);
+        Entry entry = key != null ? entries.get(key) : null;
+
+        if (entry == null || !entry.token.equals(token)) {
+            misses.increment();
+            return null;
+        }
+        if (entry.verified.isExpired(nowMillis)) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.verified;
+    }
+
+    /**
+     * Cache a token that was just verified
+     */
+    public void put(String token, VerifiedToken verified) {
+        String key = signature(token);
+        if (key == null) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict(System.currentTimeMillis());
+        }
+        entries.put(key, new Entry(token, verified));
+    }
+
+    /**
+     * Remove token (e.g. on logout)
+     *
+     * @param token Compact JWT
+     */
+    public void invalidate(String token) {
+        String key = signature(token);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove all tokens
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    // Private helpers
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(entry -> entry.verified.isExpired(nowMillis));
+
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Signature segment of a compact JWS (null if malformed)
+     */
+    private static String signature(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        return dot > 0 && dot < token.length() - 1 ? token.substring(dot + 1) : null;
+    }
+}
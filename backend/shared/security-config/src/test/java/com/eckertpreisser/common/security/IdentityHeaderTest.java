@@ -0,0 +1,78 @@
+package com.eckertpreisser.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * IdentityHeader signing, verification, service credentials and client addresses
+ *
+ * @author Moritz F. Becker
+ * @version 2.0.0
+ */
+class IdentityHeaderTest {
+
+    private static final String SECRET = "test-identity-secret-with-at-least-32-bytes";
+
+    private final IdentityHeader identityHeader = new IdentityHeader(SECRET);
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    void userIdentityRoundTrips() {
+        String header = identityHeader.encode(42L, "max@example.com", now + 60_000);
+
+        IdentityHeader.Identity identity = identityHeader.decode(header, now);
+
+        assertEquals(Long.valueOf(42), identity.userId());
+        assertEquals("max@example.com", identity.subject());
+        assertFalse(identity.isService());
+        assertNull(identityHeader.decodeService(header, now));
+    }
+
+    @Test
+    void serviceCredentialIsRecognized() {
+        String header = identityHeader.encodeService("api-gateway", now + 60_000);
+
+        IdentityHeader.Identity identity = identityHeader.decodeService(header, now);
+
+        assertNotNull(identity);
+        assertTrue(identity.isService());
+        assertEquals("service:api-gateway", identity.subject());
+    }
+
+    @Test
+    void forgedOrExpiredHeadersAreRejected() {
+        String header = identityHeader.encode(42L, "max@example.com", now + 60_000);
+        String otherKey = new IdentityHeader(SECRET + "-other").encode(42L, "max@example.com", now + 60_000);
+
+        assertNull(identityHeader.decode(otherKey, now));
+        assertNull(identityHeader.decode(header, now + 120_000));
+        assertNull(identityHeader.decode(header.replace(".42.", ".43."), now));
+        assertNull(identityHeader.decode(null, now));
+    }
+
+    @Test
+    void clientAddressRoundTripsAndIsNoIdentity() {
+        String header = identityHeader.encodeClientAddress("203.0.113.7", now + 60_000);
+
+        assertEquals("203.0.113.7", identityHeader.decodeClientAddress(header, now));
+        assertNull(identityHeader.decode(header, now));
+        assertNull(identityHeader.decodeClientAddress(header, now + 120_000));
+        assertNull(identityHeader.decodeClientAddress(
+                new IdentityHeader(SECRET + "-other").encodeClientAddress("203.0.113.7", now + 60_000), now));
+        assertNull(identityHeader.decodeClientAddress(identityHeader.encodeService("x", now + 60_000), now));
+    }
+
+    @Test
+    void missingSecretOrSubjectIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IdentityHeader(null));
+        assertThrows(IllegalArgumentException.class, () -> new IdentityHeader(" "));
+        assertThrows(IllegalArgumentException.class, () -> new IdentityHeader("too-short"));
+        assertThrows(IllegalArgumentException.class, () -> identityHeader.encode(42L, null, now + 60_000));
+    }
+}
@@ -16,9 +16,12 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
   const [selectedLanguage, setSelectedLanguage] = useState<string>('')
   const [selectedCategory, setSelectedCategory] = useState<string>('')
   const [config, setConfig] = useState<Record<string, string>>({})
+  const [original, setOriginal] = useState<Record<string, string>>({})
+  const [version, setVersion] = useState<string | null>(null)
+  const [conflicts, setConflicts] = useState<Record<string, string | null>>({})
   const [loading, setLoading] = useState(false)
   const [saving, setSaving] = useState(false)
-  const [saveStatus, setSaveStatus] = useState<'idle' | 'success' | 'error'>('idle')
+  const [saveStatus, setSaveStatus] = useState<'idle' | 'success' | 'error' | 'conflict'>('idle')
 
   // Load available languages on mount
   useEffect(() => {
@@ -93,6 +96,7 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
     try {
       setLoading(true)
       setSaveStatus('idle')
+      setConflicts({})
 
       const response = await fetch(`${API_BASE}/config/i18n/${category}/${language}`)
 
@@ -102,11 +106,15 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
 
       const data: Record<string, string> = await response.json()
       setConfig(data)
+      setOriginal(data)
+      setVersion(response.headers.get('ETag'))
 
       logger.info('CONFIG_EDITOR_003', 'Config loaded', { language, category, keys: Object.keys(data).length })
     } catch (error) {
       logger.error('CONFIG_EDITOR_ERR_003', 'Failed to load config', error as Error)
       setConfig({})
+      setOriginal({})
+      setVersion(null)
     } finally {
       setLoading(false)
     }
@@ -136,33 +144,51 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
         return
       }
 
-      // Save each key individually with auth header
-      const savePromises = Object.entries(config).map(([key, value]) =>
-        fetch(`${API_BASE}/config/i18n/${selectedCategory}/${selectedLanguage}/${key}`, {
-          method: 'PUT',
+      // Only send changed keys, in one write, guarded by the version we loaded
+      const changes = Object.fromEntries(
+        Object.entries(config).filter(([key, value]) => original[key] !== value)
+      )
+
+      if (Object.keys(changes).length > 0) {
+        const response = await fetch(`${API_BASE}/config/i18n/${selectedCategory}/${selectedLanguage}`, {
+          method: 'PATCH',
           headers: {
             'Content-Type': 'application/json',
-            'Authorization': `Bearer ${token}`
+            'Authorization': `Bearer ${token}`,
+            ...(version ? { 'If-Match': version } : {})
           },
-          body: JSON.stringify({ value })
+          body: JSON.stringify(changes)
         })
-      )
 
-      await Promise.all(savePromises)
+        if (response.status === 412) {
+          // Someone else changed some of these keys - show their values, keep our edits for retry
+          const conflict: { currentVersion: number, conflicts: Record<string, string | null> } = await response.json()
+          setConflicts(conflict.conflicts)
+          setOriginal(prev => ({ ...prev, ...conflict.conflicts }) as Record<string, string>)
+          setVersion(response.headers.get('ETag'))
+          setSaveStatus('conflict')
+          logger.warn('CONFIG_EDITOR_005', 'Config save conflict', {
+            language: selectedLanguage,
+            category: selectedCategory,
+            conflicts: Object.keys(conflict.conflicts).length
+          })
+          return
+        }
 
-      // Restart Config Server to ensure changes are loaded (with auth)
-      await fetch(`${API_BASE}/config/restart`, {
-        method: 'POST',
-        headers: {
-          'Authorization': `Bearer ${token}`
+        if (!response.ok) {
+          throw new Error(`Failed to save config: ${response.statusText}`)
         }
-      })
 
+        setVersion(response.headers.get('ETag'))
+      }
+
+      setOriginal(config)
+      setConflicts({})
       setSaveStatus('success')
       logger.info('CONFIG_EDITOR_004', 'Config saved successfully', {
         language: selectedLanguage,
         category: selectedCategory,
-        keys: Object.keys(config).length
+        keys: Object.keys(changes).length
       })
 
       // Call onSave callback if provided
@@ -261,6 +287,11 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
                     className="w-full"
                     placeholder={`Wert für ${key}...`}
                   />
+                  {key in conflicts && (
+                    <p className="text-yellow-400 text-xs mt-1">
+                      Zwischenzeitlich geändert auf: {conflicts[key] ?? '(gelöscht)'}
+                    </p>
+                  )}
                 </div>
               ))}
             </div>
@@ -283,6 +314,11 @@ export const ConfigEditor = ({ onSave }: ConfigEditorProps) => {
                   ✓ Erfolgreich gespeichert!
                 </span>
               )}
+              {saveStatus === 'conflict' && (
+                <span className="text-yellow-400 font-medium">
+                  ⚠ Konflikt: {Object.keys(conflicts).length} Schlüssel wurden zwischenzeitlich geändert. Prüfen und erneut speichern.
+                </span>
+              )}
               {saveStatus === 'error' && (
                 <span className="text-red-400 font-medium">
                   ✗ Fehler beim Speichern
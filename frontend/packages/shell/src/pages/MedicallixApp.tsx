@@ -101,7 +101,7 @@ declare global {
 const MedicallixApp = () => {
   const { language } = useTranslation()
   const config = useConfig('medicallixApp', language)
-  const { user, isAuthenticated } = useAuth()
+  const { token, isAuthenticated } = useAuth()
   const navigate = useNavigate()
 
   // State
@@ -216,7 +216,7 @@ const MedicallixApp = () => {
         method: 'POST',
         headers: {
           'Content-Type': 'application/json',
-          'X-User-Id': user?.id?.toString() || '1' // TODO: Use JWT token
+          'Authorization': `Bearer ${token}` // Verified by the API Gateway
         },
         body: JSON.stringify({
           transcript: text
@@ -249,7 +249,7 @@ const MedicallixApp = () => {
       try {
         const response = await fetch(`${API_BASE_URL}/medicallix/conversations`, {
           headers: {
-            'X-User-Id': user?.id?.toString() || '1'
+            'Authorization': `Bearer ${token}`
           }
         })
 
@@ -266,7 +266,7 @@ const MedicallixApp = () => {
     if (isAuthenticated) {
       loadConversations()
     }
-  }, [isAuthenticated, user])
+  }, [isAuthenticated, token])
 
   if (!isAuthenticated) {
     return null // Will redirect via useEffect